@@ -1,34 +1,80 @@
 package com.itemis.maven.aether;
 
 import com.google.common.base.Objects;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 
 /**
- * Coordinates that identify an artifact uniquely. Coordinates are f.i. used in aether repositories.
+ * Coordinates that identify an artifact uniquely. Coordinates are f.i. used in aether repositories.<br>
+ * <br>
+ * Coordinates are immutable and can only be obtained from the {@code of(...)} factory methods which return canonical
+ * instances from a weak pool. This way equal coordinates share a single instance and map lookups are mostly resolved
+ * by identity. Hash code, canonical string and the GA/GAV keys are computed once when the coordinates are created.
  *
  * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
  * @since 1.0.0
  */
-public class ArtifactCoordinates {
-  private String groupId;
-  private String artifactId;
-  private String version;
-  private String type;
-  private String classifier;
+public final class ArtifactCoordinates {
+  private static final Interner<ArtifactCoordinates> POOL = Interners.newWeakInterner();
 
-  public ArtifactCoordinates(String groupId, String artifactId, String version) {
-    this(groupId, artifactId, version, null, null);
-  }
-
-  public ArtifactCoordinates(String groupId, String artifactId, String version, String type) {
-    this(groupId, artifactId, version, type, null);
-  }
+  private final String groupId;
+  private final String artifactId;
+  private final String version;
+  private final String type;
+  private final String classifier;
+  private final String ga;
+  private final String gav;
+  private final String canonicalString;
+  private final int hash;
 
-  public ArtifactCoordinates(String groupId, String artifactId, String version, String type, String classifier) {
+  private ArtifactCoordinates(String groupId, String artifactId, String version, String type, String classifier) {
     this.groupId = groupId;
     this.artifactId = artifactId;
     this.version = version;
     this.type = type;
     this.classifier = classifier;
+
+    this.ga = toGA(groupId, artifactId);
+    this.gav = this.ga + ':' + version;
+    StringBuilder sb = new StringBuilder(this.ga).append(':');
+    if (type != null) {
+      sb.append(type).append(':');
+    }
+    if (classifier != null) {
+      sb.append(classifier).append(':');
+    }
+    sb.append(version);
+    this.canonicalString = sb.toString();
+    this.hash = Objects.hashCode(groupId, artifactId, type, classifier, version);
+  }
+
+  /**
+   * @return the canonical instance of the passed coordinates.
+   */
+  public static ArtifactCoordinates of(String groupId, String artifactId, String version) {
+    return of(groupId, artifactId, version, null, null);
+  }
+
+  /**
+   * @return the canonical instance of the passed coordinates.
+   */
+  public static ArtifactCoordinates of(String groupId, String artifactId, String version, String type) {
+    return of(groupId, artifactId, version, type, null);
+  }
+
+  /**
+   * @return the canonical instance of the passed coordinates.
+   */
+  public static ArtifactCoordinates of(String groupId, String artifactId, String version, String type,
+      String classifier) {
+    return POOL.intern(new ArtifactCoordinates(groupId, artifactId, version, type, classifier));
+  }
+
+  /**
+   * @return the key that is used for {@link #getGA()} of coordinates having the passed groupId and artifactId.
+   */
+  public static String toGA(String groupId, String artifactId) {
+    return groupId + ':' + artifactId;
   }
 
   public String getGroupId() {
@@ -51,35 +97,45 @@ public class ArtifactCoordinates {
     return this.classifier;
   }
 
+  /**
+   * @return the key of the coordinates consisting of groupId and artifactId ({@code groupId:artifactId}).
+   */
+  public String getGA() {
+    return this.ga;
+  }
+
+  /**
+   * @return the key of the coordinates consisting of groupId, artifactId and version
+   *         ({@code groupId:artifactId:version}).
+   */
+  public String getGAV() {
+    return this.gav;
+  }
+
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
-    sb.append(this.groupId).append(':');
-    sb.append(this.artifactId).append(':');
-    if (this.type != null) {
-      sb.append(this.type).append(':');
-    }
-    if (this.classifier != null) {
-      sb.append(this.classifier).append(':');
-    }
-    sb.append(this.version);
-    return sb.toString();
+    return this.canonicalString;
   }
 
   @Override
   public boolean equals(Object other) {
-    if (other == null) {
-      return false;
+    if (this == other) {
+      return true;
     }
     if (!(other instanceof ArtifactCoordinates)) {
       return false;
     }
-    return Objects.equal(toString(), other.toString());
+
+    ArtifactCoordinates otherCoordinates = (ArtifactCoordinates) other;
+    return this.hash == otherCoordinates.hash && Objects.equal(this.artifactId, otherCoordinates.artifactId)
+        && Objects.equal(this.groupId, otherCoordinates.groupId)
+        && Objects.equal(this.version, otherCoordinates.version) && Objects.equal(this.type, otherCoordinates.type)
+        && Objects.equal(this.classifier, otherCoordinates.classifier);
   }
 
   public boolean equalsGAV(Object other) {
-    if (other == null) {
-      return false;
+    if (this == other) {
+      return true;
     }
     if (!(other instanceof ArtifactCoordinates)) {
       return false;
@@ -93,6 +149,6 @@ public class ArtifactCoordinates {
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(this.groupId, this.artifactId, this.type, this.classifier, this.version);
+    return this.hash;
   }
 }
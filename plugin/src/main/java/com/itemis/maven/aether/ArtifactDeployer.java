@@ -1,12 +1,26 @@
 package com.itemis.maven.aether;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipFile;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
+import org.eclipse.aether.AbstractRepositoryListener;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositoryEvent;
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.deployment.DeployRequest;
@@ -14,17 +28,41 @@ import org.eclipse.aether.deployment.DeployResult;
 import org.eclipse.aether.deployment.DeploymentException;
 import org.eclipse.aether.impl.Deployer;
 import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.listener.ChainedRepositoryListener;
 
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.itemis.maven.plugins.cdi.logging.Logger;
 import com.itemis.maven.plugins.unleash.ReleaseMetadata;
+import com.itemis.maven.plugins.unleash.util.ChecksumUtil;
+import com.itemis.maven.plugins.unleash.util.DeploymentJournal;
+import com.itemis.maven.plugins.unleash.util.ParallelExecutor;
 
 /**
- * Deploys artifacts into the remote Maven repositories.
+ * Deploys artifacts into the remote Maven repositories.<br>
+ * <br>
+ * The artifacts are deployed to the deployment repository of the release and to all additional deployment repositories
+ * concurrently. The artifacts are split into chunks per groupId and artifactId which are deployed using separate
+ * requests, so the upload throughput is not limited by the latency of single uploads. The number of concurrent
+ * requests over all repositories can be configured using the mojo parameter {@code deploymentThreads} (default: number
+ * of available processors, at least one per repository). The progress is logged per repository after each chunk.<br>
+ * <br>
+ * A failing chunk doesn't stop the deployment of the other chunks or to the other repositories, the outcome of each
+ * repository is reported by a {@link DeploymentResult}. Each successfully uploaded artifact is recorded in the
+ * {@link DeploymentJournal} right away which allows aborted deployments to be resumed.
  *
  * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
  * @since 1.0.0
  */
 @Singleton
 public class ArtifactDeployer {
+  private static final String PLUGIN_DESCRIPTOR = "META-INF/maven/plugin.xml";
+
+  @Inject
+  private Logger log;
   @Inject
   private Deployer deployer;
   @Inject
@@ -34,28 +72,337 @@ public class ArtifactDeployer {
   @Inject
   @Named("additionalDeployemntRepositories")
   private Set<RemoteRepository> additonalDeploymentRepositories;
+  @Inject
+  @Named("deploymentThreads")
+  private int threads;
+  @Inject
+  private DeploymentJournal journal;
+
+  public ArtifactDeployer() {
+  }
+
+  ArtifactDeployer(Deployer deployer, RepositorySystemSession repoSession, ReleaseMetadata metadata,
+      Set<RemoteRepository> additionalDeploymentRepositories, int threads, DeploymentJournal journal, Logger log) {
+    this.deployer = deployer;
+    this.repoSession = repoSession;
+    this.metadata = metadata;
+    this.additonalDeploymentRepositories = additionalDeploymentRepositories;
+    this.threads = threads;
+    this.journal = journal;
+    this.log = log;
+  }
+
+  /**
+   * @return the deployment repository of the release followed by the additional deployment repositories.
+   */
+  public List<RemoteRepository> getRepositories() {
+    List<RemoteRepository> repositories = Lists.newArrayList(this.metadata.getDeploymentRepository());
+    repositories.addAll(this.additonalDeploymentRepositories);
+    return repositories;
+  }
 
   /**
-   * Deploys the given artifacts to the configured remote Maven repositories.
+   * Deploys the given artifacts to the configured remote Maven repositories and waits until the deployment to all
+   * repositories has finished.
    *
    * @param artifacts the artifacts to deploy.
-   * @return the artifacts that have been deployed successfully.
-   * @throws DeploymentException if anything goes wrong during the deployment process.
+   * @return the results of the deployment per repository, starting with the deployment repository of the release
+   *         followed by the additional deployment repositories.
+   * @throws DeploymentException if the deployment has been interrupted.
    */
-  public Collection<Artifact> deployArtifacts(Collection<Artifact> artifacts) throws DeploymentException {
-    Collection<Artifact> result = deploy(artifacts, this.metadata.getDeploymentRepository());
-    for (RemoteRepository repo : this.additonalDeploymentRepositories) {
-      deploy(artifacts, repo);
+  public List<DeploymentResult> deployArtifacts(Collection<Artifact> artifacts) throws DeploymentException {
+    Map<RemoteRepository, Collection<Artifact>> artifactsByRepository = Maps.newLinkedHashMap();
+    for (RemoteRepository repo : getRepositories()) {
+      artifactsByRepository.put(repo, artifacts);
     }
-    return result;
+    return deployArtifacts(artifactsByRepository);
   }
 
-  private Collection<Artifact> deploy(Collection<Artifact> artifacts, RemoteRepository repo)
-      throws DeploymentException {
+  /**
+   * Deploys individual sets of artifacts to the passed repositories and waits until the deployment to all repositories
+   * has finished. This is used to resume a deployment that has been aborted.
+   *
+   * @param artifactsByRepository the artifacts to deploy per repository.
+   * @return the results of the deployment per repository in the order of the passed repositories.
+   * @throws DeploymentException if the deployment has been interrupted.
+   */
+  public List<DeploymentResult> deployArtifacts(
+      Map<RemoteRepository, ? extends Collection<Artifact>> artifactsByRepository) throws DeploymentException {
+    Set<RemoteRepository> repositories = artifactsByRepository.keySet();
+    List<Progress> progress = new ArrayList<>(repositories.size());
+    List<List<Chunk>> chunks = new ArrayList<>(repositories.size());
+    int maxChunks = 0;
+    int totalChunks = 0;
+    for (RemoteRepository repo : repositories) {
+      Collection<Artifact> artifacts = artifactsByRepository.get(repo);
+      List<Chunk> repoChunks = split(artifacts);
+      progress.add(new Progress(repo, artifacts));
+      chunks.add(repoChunks);
+      maxChunks = Math.max(maxChunks, repoChunks.size());
+      totalChunks += repoChunks.size();
+    }
+
+    // records each artifact as soon as it has been uploaded, not only complete chunks
+    DefaultRepositorySystemSession session = new DefaultRepositorySystemSession(this.repoSession);
+    session.setRepositoryListener(
+        ChainedRepositoryListener.newInstance(this.repoSession.getRepositoryListener(), new JournalingListener()));
+
+    // interleaving the repositories lets all of them progress evenly
+    List<Callable<Void>> tasks = new ArrayList<>(totalChunks);
+    for (int i = 0; i < maxChunks; i++) {
+      for (int r = 0; r < progress.size(); r++) {
+        if (i < chunks.get(r).size()) {
+          final Chunk chunk = chunks.get(r).get(i);
+          final Progress p = progress.get(r);
+          tasks.add(() -> {
+            deploy(session, chunk, p);
+            return null;
+          });
+        }
+      }
+    }
+
+    int parallelism = Math.min(getParallelism(repositories.size()), tasks.size());
+    if (parallelism > 1) {
+      this.log.debug("\tDeploying " + totalChunks + " chunks to " + repositories.size() + " repositories using "
+          + parallelism + " threads.");
+    }
+    try {
+      ParallelExecutor.invokeAll("deployer", parallelism, tasks);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DeploymentException("The deployment of the release artifacts has been interrupted.", e);
+    } catch (ExecutionException e) {
+      // failures are collected by the tasks themselves, this should never happen
+      throw new DeploymentException("The deployment of the release artifacts failed unexpectedly.", e.getCause());
+    }
+
+    List<DeploymentResult> results = new ArrayList<>(repositories.size());
+    for (Progress p : progress) {
+      results.add(p.getResult());
+    }
+    return results;
+  }
+
+  private void deploy(RepositorySystemSession session, Chunk chunk, Progress progress) {
     DeployRequest request = new DeployRequest();
-    request.setArtifacts(artifacts);
-    request.setRepository(repo);
-    DeployResult result = this.deployer.deploy(this.repoSession, request);
-    return result.getArtifacts();
+    request.setArtifacts(chunk.artifacts);
+    request.setRepository(progress.repository);
+    try {
+      DeployResult result = this.deployer.deploy(session, request);
+      progress.deployed(chunk, result.getArtifacts());
+    } catch (DeploymentException e) {
+      progress.failed(chunk, e);
+    }
+  }
+
+  private void recordDeployment(RemoteRepository repository, Artifact artifact) {
+    try {
+      this.journal.recordDeployment(repository, getChecksums(Collections.singleton(artifact)));
+    } catch (IOException e) {
+      this.log.warn("\tUnable to record the deployment in the journal '" + this.journal.getFile().getAbsolutePath()
+          + "', the deployment cannot be resumed: " + e.getMessage());
+    }
+  }
+
+  private Map<Artifact, String> getChecksums(Collection<Artifact> artifacts) throws IOException {
+    Map<Artifact, String> checksums = Maps.newLinkedHashMap();
+    for (Artifact a : artifacts) {
+      // the checksums have usually been calculated by a previous step already
+      Optional<String> checksum = this.metadata.getReleaseArtifactChecksum(a, ChecksumUtil.SHA1);
+      if (!checksum.isPresent()) {
+        checksum = Optional.of(a.getFile() != null ? ChecksumUtil.calculate(a.getFile(), ChecksumUtil.SHA1) : "");
+      }
+      checksums.put(a, checksum.get());
+    }
+    return checksums;
+  }
+
+  private int getParallelism(int repositories) {
+    return this.threads > 0 ? this.threads : Math.max(Runtime.getRuntime().availableProcessors(), repositories);
+  }
+
+  /**
+   * Splits the artifacts into chunks that can be deployed independently. Each chunk contains all artifacts of a
+   * groupId and artifactId so that the repository metadata of each artifact is updated by a single request. Maven
+   * plugins also update the plugin metadata of their groupId, the plugins of a groupId are therefore deployed together.
+   * The chunks are sorted by size, largest first, to keep the threads busy until the end.
+   */
+  private static List<Chunk> split(Collection<Artifact> artifacts) {
+    Set<String> pluginGAs = Sets.newHashSet();
+    for (Artifact a : artifacts) {
+      if (isMavenPlugin(a)) {
+        pluginGAs.add(ArtifactCoordinates.toGA(a.getGroupId(), a.getArtifactId()));
+      }
+    }
+
+    Map<String, Chunk> chunks = Maps.newLinkedHashMap();
+    for (Artifact a : artifacts) {
+      String ga = ArtifactCoordinates.toGA(a.getGroupId(), a.getArtifactId());
+      String key = pluginGAs.contains(ga) ? "plugins:" + a.getGroupId() : ga;
+      Chunk chunk = chunks.get(key);
+      if (chunk == null) {
+        chunk = new Chunk();
+        chunks.put(key, chunk);
+      }
+      chunk.add(a);
+    }
+
+    List<Chunk> result = Lists.newArrayList(chunks.values());
+    Collections.sort(result, (c1, c2) -> Long.compare(c2.bytes, c1.bytes));
+    return result;
+  }
+
+  private static boolean isMavenPlugin(Artifact artifact) {
+    File f = artifact.getFile();
+    if (!"jar".equals(artifact.getExtension()) || !artifact.getClassifier().isEmpty() || f == null || !f.isFile()) {
+      return false;
+    }
+    try (ZipFile zip = new ZipFile(f)) {
+      return zip.getEntry(PLUGIN_DESCRIPTOR) != null;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private static long size(Artifact artifact) {
+    File f = artifact.getFile();
+    return f != null ? f.length() : 0;
+  }
+
+  private static String toMegaBytes(long bytes) {
+    return String.format(Locale.ENGLISH, "%.1f MB", bytes / (1024d * 1024d));
+  }
+
+  private static class Chunk {
+    private final List<Artifact> artifacts = Lists.newArrayList();
+    private long bytes;
+
+    private void add(Artifact artifact) {
+      this.artifacts.add(artifact);
+      this.bytes += size(artifact);
+    }
+  }
+
+  /**
+   * Records the artifacts in the {@link DeploymentJournal} as soon as their upload (including the checksum files) has
+   * succeeded.
+   */
+  private class JournalingListener extends AbstractRepositoryListener {
+    @Override
+    public void artifactDeployed(RepositoryEvent event) {
+      if (event.getException() == null && event.getRepository() instanceof RemoteRepository) {
+        recordDeployment((RemoteRepository) event.getRepository(), event.getArtifact());
+      }
+    }
+  }
+
+  /**
+   * Tracks the deployment progress of a single repository and logs it after each chunk.
+   */
+  private class Progress {
+    private final RemoteRepository repository;
+    private final int totalArtifacts;
+    private final long totalBytes;
+    private final long start;
+    private final List<Artifact> deployed;
+    private long deployedBytes;
+    private int processedArtifacts;
+    private long end;
+    private DeploymentException failure;
+
+    private Progress(RemoteRepository repository, Collection<Artifact> artifacts) {
+      this.repository = repository;
+      this.totalArtifacts = artifacts.size();
+      long bytes = 0;
+      for (Artifact a : artifacts) {
+        bytes += size(a);
+      }
+      this.totalBytes = bytes;
+      this.start = System.nanoTime();
+      this.deployed = Lists.newArrayList();
+    }
+
+    private synchronized void deployed(Chunk chunk, Collection<Artifact> artifacts) {
+      this.deployed.addAll(artifacts);
+      this.deployedBytes += chunk.bytes;
+      processed(chunk);
+    }
+
+    private synchronized void failed(Chunk chunk, DeploymentException e) {
+      if (this.failure == null) {
+        this.failure = e;
+      } else {
+        this.failure.addSuppressed(e);
+      }
+      processed(chunk);
+    }
+
+    private void processed(Chunk chunk) {
+      this.processedArtifacts += chunk.artifacts.size();
+      this.end = System.nanoTime();
+      long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(this.end - this.start));
+      ArtifactDeployer.this.log.info("\t[" + this.repository.getId() + "] " + this.processedArtifacts + "/"
+          + this.totalArtifacts + " artifacts, " + toMegaBytes(this.deployedBytes) + " of "
+          + toMegaBytes(this.totalBytes) + " (" + toMegaBytes(this.deployedBytes * 1000 / millis) + "/s)");
+    }
+
+    private synchronized DeploymentResult getResult() {
+      long duration = TimeUnit.NANOSECONDS.toMillis(Math.max(this.end, this.start) - this.start);
+      return new DeploymentResult(this.repository, this.deployed, this.deployedBytes, duration, this.failure);
+    }
+  }
+
+  /**
+   * The outcome of the deployment to a single repository.
+   */
+  public static class DeploymentResult {
+    private RemoteRepository repository;
+    private List<Artifact> artifacts;
+    private long bytes;
+    private long duration;
+    private Optional<DeploymentException> failure;
+
+    public DeploymentResult(RemoteRepository repository, Collection<Artifact> artifacts, long bytes, long duration,
+        DeploymentException failure) {
+      this.repository = repository;
+      this.artifacts = ImmutableList.copyOf(artifacts);
+      this.bytes = bytes;
+      this.duration = duration;
+      this.failure = Optional.fromNullable(failure);
+    }
+
+    public RemoteRepository getRepository() {
+      return this.repository;
+    }
+
+    /**
+     * @return the artifacts that have been deployed successfully.
+     */
+    public List<Artifact> getArtifacts() {
+      return this.artifacts;
+    }
+
+    /**
+     * @return the size of the deployed artifacts in bytes.
+     */
+    public long getBytes() {
+      return this.bytes;
+    }
+
+    /**
+     * @return the duration of the deployment in milliseconds.
+     */
+    public long getDuration() {
+      return this.duration;
+    }
+
+    public Optional<DeploymentException> getFailure() {
+      return this.failure;
+    }
+
+    public boolean isSuccessful() {
+      return !this.failure.isPresent();
+    }
   }
 }
@@ -0,0 +1,218 @@
+package com.itemis.maven.aether;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.Versioning;
+import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.metadata.DefaultMetadata;
+import org.eclipse.aether.repository.LocalArtifactRequest;
+import org.eclipse.aether.repository.LocalArtifactResult;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.resolution.MetadataRequest;
+import org.eclipse.aether.resolution.MetadataResult;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.SetMultimap;
+import com.itemis.maven.plugins.cdi.logging.Logger;
+
+/**
+ * Checks whether artifacts exist in the local or remote repositories without downloading them.<br>
+ * <br>
+ * The local repository is queried directly. For all artifacts that have not been downloaded from a remote repository
+ * before the probe requests the {@code maven-metadata.xml} of their groupId and artifactId from each remote repository
+ * once and looks up the version in the versions list of the metadata. Metadata is always fetched fresh, bypassing the
+ * update policy of the repositories, so releases done in the meantime are detected. All metadata requests are sent to
+ * the repository system at once and are resolved concurrently by the metadata resolver.<br>
+ * <br>
+ * The results are {@link ResolutionResult ResolutionResults} without a file for artifacts that have been found in a
+ * remote repository. They are kept in a {@link ResolutionCache} that is configured by the
+ * {@link ResolutionCacheSettings}.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+@Singleton
+public class ArtifactProbe {
+  private static final String METADATA_FILE = "maven-metadata.xml";
+
+  private RepositorySystem repoSystem;
+  private RepositorySystemSession repoSession;
+  private List<RemoteRepository> remoteProjectRepos;
+  private Logger log;
+  private ResolutionCache cache;
+
+  @Inject
+  public ArtifactProbe(RepositorySystem repoSystem, RepositorySystemSession repoSession,
+      @Named("projectRepositories") List<RemoteRepository> remoteProjectRepos, ResolutionCacheSettings cacheSettings,
+      Logger log) {
+    this.repoSystem = repoSystem;
+    this.repoSession = repoSession;
+    this.remoteProjectRepos = remoteProjectRepos;
+    this.log = log;
+    this.cache = new ResolutionCache("probe", ResolutionCache.getScope(remoteProjectRepos), cacheSettings,
+        ResolutionCache.getDefaultFolder(repoSession), new ResolutionCache.Loader() {
+          @Override
+          public Map<ArtifactCoordinates, Optional<ResolutionResult>> load(Collection<ArtifactCoordinates> c) {
+            return probe(c);
+          }
+        }, log);
+  }
+
+  /**
+   * Checks the existence of several artifacts at once.
+   *
+   * @param coordinates the coordinates of the artifacts to look up.
+   * @return the result for each of the passed coordinates. The result is absent if the artifact exists neither
+   *         locally nor in any of the remote repositories. {@link ResolutionResult#isLocal()} tells whether the
+   *         artifact has only been found in the local repository.
+   */
+  public Map<ArtifactCoordinates, Optional<ResolutionResult>> probeAll(Collection<ArtifactCoordinates> coordinates) {
+    return this.cache.getAll(ImmutableSet.copyOf(coordinates));
+  }
+
+  /**
+   * Checks which of the artifacts are listed in the repository metadata of a specific remote repository. The result is
+   * not cached since this is used to verify deployments which change the contents of the repository.
+   *
+   * @param repository the remote repository to query.
+   * @param coordinates the coordinates of the artifacts to look up.
+   * @return the coordinates of all artifacts whose versions are present in the repository.
+   */
+  public Set<ArtifactCoordinates> probeRepository(RemoteRepository repository,
+      Collection<ArtifactCoordinates> coordinates) {
+    SetMultimap<String, ArtifactCoordinates> candidates = LinkedHashMultimap.create();
+    for (ArtifactCoordinates c : coordinates) {
+      candidates.put(c.getGA(), c);
+    }
+    if (candidates.isEmpty()) {
+      return ImmutableSet.of();
+    }
+    return probeRemotely(candidates, ImmutableList.of(repository)).keySet();
+  }
+
+  /**
+   * Logs the cache statistics and persists the cached results if configured.
+   */
+  @PreDestroy
+  public void close() {
+    this.cache.logStatistics();
+    this.cache.save();
+  }
+
+  private Map<ArtifactCoordinates, Optional<ResolutionResult>> probe(Collection<ArtifactCoordinates> coordinates) {
+    Map<ArtifactCoordinates, Optional<ResolutionResult>> results = Maps.newHashMap();
+    Map<ArtifactCoordinates, File> localFiles = Maps.newHashMap();
+    SetMultimap<String, ArtifactCoordinates> remoteCandidates = LinkedHashMultimap.create();
+    for (ArtifactCoordinates c : coordinates) {
+      LocalArtifactResult localResult = findLocally(c);
+      if (localResult.isAvailable() && localResult.getRepository() != null) {
+        // has been downloaded from a remote repository before
+        results.put(c, Optional.of(new ResolutionResult(localResult.getFile(), localResult.getRepository().getId())));
+      } else {
+        if (localResult.getFile() != null) {
+          localFiles.put(c, localResult.getFile());
+        }
+        remoteCandidates.put(c.getGA(), c);
+      }
+    }
+
+    if (!remoteCandidates.isEmpty()) {
+      Map<ArtifactCoordinates, String> remoteRepositoryIds = probeRemotely(remoteCandidates, this.remoteProjectRepos);
+      for (ArtifactCoordinates c : remoteCandidates.values()) {
+        String repositoryId = remoteRepositoryIds.get(c);
+        File localFile = localFiles.get(c);
+        if (repositoryId != null) {
+          results.put(c, Optional.of(new ResolutionResult(null, repositoryId)));
+        } else if (localFile != null) {
+          results.put(c,
+              Optional.of(new ResolutionResult(localFile, this.repoSession.getLocalRepository().getId(), true)));
+        } else {
+          results.put(c, Optional.<ResolutionResult> absent());
+        }
+      }
+    }
+    return results;
+  }
+
+  private LocalArtifactResult findLocally(ArtifactCoordinates coordinates) {
+    DefaultArtifact artifact = new DefaultArtifact(coordinates.getGroupId(), coordinates.getArtifactId(),
+        coordinates.getClassifier(), coordinates.getType() != null ? coordinates.getType() : "jar",
+        coordinates.getVersion());
+    return this.repoSession.getLocalRepositoryManager().find(this.repoSession,
+        new LocalArtifactRequest(artifact, this.remoteProjectRepos, null));
+  }
+
+  private Map<ArtifactCoordinates, String> probeRemotely(SetMultimap<String, ArtifactCoordinates> candidates,
+      List<RemoteRepository> repositories) {
+    List<MetadataRequest> requests = Lists.newArrayList();
+    for (String ga : candidates.keySet()) {
+      ArtifactCoordinates c = candidates.get(ga).iterator().next();
+      for (RemoteRepository repository : repositories) {
+        DefaultMetadata metadata = new DefaultMetadata(c.getGroupId(), c.getArtifactId(), METADATA_FILE,
+            org.eclipse.aether.metadata.Metadata.Nature.RELEASE);
+        requests.add(new MetadataRequest(metadata, repository, null));
+      }
+    }
+
+    // the metadata of previous runs must not hide releases that have been performed in the meantime
+    DefaultRepositorySystemSession session = new DefaultRepositorySystemSession(this.repoSession);
+    session.setUpdatePolicy(RepositoryPolicy.UPDATE_POLICY_ALWAYS);
+    this.log.debug("\tProbing " + candidates.size() + " artifacts using " + requests.size() + " metadata requests.");
+    List<MetadataResult> metadataResults = this.repoSystem.resolveMetadata(session, requests);
+
+    Map<ArtifactCoordinates, String> repositoryIds = Maps.newHashMap();
+    for (MetadataResult result : metadataResults) {
+      if (!result.isResolved()) {
+        continue;
+      }
+      org.eclipse.aether.metadata.Metadata metadata = result.getMetadata();
+      Set<String> versions = readVersions(metadata.getFile());
+      for (ArtifactCoordinates c : candidates.get(ArtifactCoordinates.toGA(metadata.getGroupId(),
+          metadata.getArtifactId()))) {
+        if (versions.contains(c.getVersion()) && !repositoryIds.containsKey(c)) {
+          repositoryIds.put(c, result.getRequest().getRepository().getId());
+        }
+      }
+    }
+    return repositoryIds;
+  }
+
+  private Set<String> readVersions(File metadataFile) {
+    if (metadataFile == null || !metadataFile.isFile()) {
+      return ImmutableSet.of();
+    }
+    try (InputStream in = Files.newInputStream(metadataFile.toPath())) {
+      Metadata metadata = new MetadataXpp3Reader().read(in, false);
+      Versioning versioning = metadata.getVersioning();
+      return versioning != null ? ImmutableSet.copyOf(versioning.getVersions()) : ImmutableSet.<String> of();
+    } catch (IOException | XmlPullParserException e) {
+      this.log.warn("\tUnable to read the repository metadata '" + metadataFile.getAbsolutePath() + "': "
+          + e.getMessage());
+      return ImmutableSet.of();
+    }
+  }
+}
@@ -0,0 +1,323 @@
+package com.itemis.maven.aether;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Optional;
+import com.google.common.base.Splitter;
+import com.google.common.base.Strings;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.itemis.maven.plugins.cdi.logging.Logger;
+
+/**
+ * A bounded cache for the results of artifact lookups with separate time-to-live values for positive (artifact exists
+ * remotely) and negative (artifact doesn't exist or exists locally only) results.<br>
+ * <br>
+ * The cache can optionally be persisted to a small properties file in the folder {@code .unleash} of the local
+ * repository so that subsequent builds within the TTL window don't have to query the repositories again. Since the file
+ * is shared by all projects using the local repository, persisted results are keyed by the coordinates together with
+ * the repositories that have been queried (see {@link #getScope(Collection)}). Persisted positive results that refer to
+ * a file are only reused if the file still exists. The cache records statistics about
+ * hits, misses and load times which can be logged using {@link #logStatistics()}.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+class ResolutionCache {
+  private static final String FOLDER_NAME = ".unleash";
+  private static final char SEPARATOR = '|';
+
+  private final String name;
+  private final String scope;
+  private final long positiveTtl;
+  private final long negativeTtl;
+  private final Optional<File> file;
+  private final Logger log;
+  private final LoadingCache<ArtifactCoordinates, Entry> cache;
+  private final AtomicLong persistentHits;
+  private Map<String, Entry> persistentEntries;
+
+  /**
+   * A loader for the results of artifact lookups.
+   */
+  interface Loader {
+    /**
+     * @param coordinates the coordinates to look up.
+     * @return the results for all passed coordinates. Absent results indicate that the artifact doesn't exist.
+     * @throws Exception if the lookup fails.
+     */
+    Map<ArtifactCoordinates, Optional<ResolutionResult>> load(Collection<ArtifactCoordinates> coordinates)
+        throws Exception;
+  }
+
+  /**
+   * @param name the name of the cache used for logging and as the name of the cache file.
+   * @param scope identifies the repositories the lookups are performed against. Persisted results are only reused
+   *          within the same scope.
+   * @param settings the size, TTL and persistence settings of the cache.
+   * @param folder the folder in which the cache file is stored if the cache shall be persisted.
+   * @param loader the loader that performs the actual lookups.
+   * @param log the logger.
+   */
+  ResolutionCache(String name, String scope, ResolutionCacheSettings settings, File folder, final Loader loader,
+      Logger log) {
+    this.name = name;
+    this.scope = scope;
+    this.positiveTtl = TimeUnit.MINUTES.toMillis(settings.getPositiveTtl());
+    this.negativeTtl = TimeUnit.MINUTES.toMillis(settings.getNegativeTtl());
+    this.file = settings.isPersistent() ? Optional.of(new File(folder, name + "-cache.properties"))
+        : Optional.<File> absent();
+    this.log = log;
+    this.persistentHits = new AtomicLong();
+    this.cache = CacheBuilder.newBuilder().maximumSize(settings.getMaxSize()).recordStats()
+        .build(new CacheLoader<ArtifactCoordinates, Entry>() {
+          @Override
+          public Entry load(ArtifactCoordinates key) throws Exception {
+            return loadAll(Lists.newArrayList(key)).get(key);
+          }
+
+          @Override
+          public Map<ArtifactCoordinates, Entry> loadAll(Iterable<? extends ArtifactCoordinates> keys)
+              throws Exception {
+            Map<ArtifactCoordinates, Entry> entries = Maps.newHashMap();
+            List<ArtifactCoordinates> missing = Lists.newArrayList();
+            for (ArtifactCoordinates key : keys) {
+              Optional<Entry> persisted = getPersistentEntry(key);
+              if (persisted.isPresent()) {
+                entries.put(key, persisted.get());
+              } else {
+                missing.add(key);
+              }
+            }
+            if (!missing.isEmpty()) {
+              long now = System.currentTimeMillis();
+              Map<ArtifactCoordinates, Optional<ResolutionResult>> results = loader.load(missing);
+              for (ArtifactCoordinates key : missing) {
+                Optional<ResolutionResult> result = results.get(key);
+                entries.put(key, new Entry(result != null ? result : Optional.<ResolutionResult> absent(), now));
+              }
+            }
+            return entries;
+          }
+        });
+  }
+
+  /**
+   * @param repoSession the repository session.
+   * @return the folder within the local repository in which the cache files are stored.
+   */
+  static File getDefaultFolder(RepositorySystemSession repoSession) {
+    return new File(repoSession.getLocalRepository().getBasedir(), FOLDER_NAME);
+  }
+
+  /**
+   * Calculates the scope of the lookups against the passed repositories. The scope only depends on the ids and URLs of
+   * the repositories, not on their order.
+   *
+   * @param repositories the repositories the lookups are performed against.
+   * @return a hash of the sorted ids and URLs of the repositories.
+   */
+  static String getScope(Collection<RemoteRepository> repositories) {
+    List<String> ids = Lists.newArrayListWithCapacity(repositories.size());
+    for (RemoteRepository repo : repositories) {
+      ids.add(repo.getId() + "=" + repo.getUrl());
+    }
+    Collections.sort(ids);
+    return Hashing.murmur3_128().hashString(Joiner.on(',').join(ids), StandardCharsets.UTF_8).toString();
+  }
+
+  /**
+   * @param coordinates the coordinates to look up.
+   * @return the cached or freshly loaded result.
+   */
+  Optional<ResolutionResult> get(ArtifactCoordinates coordinates) {
+    return getAll(Lists.newArrayList(coordinates)).get(coordinates);
+  }
+
+  /**
+   * Looks up several coordinates at once. All coordinates that are not cached or whose results have expired are passed
+   * to the loader in a single call.
+   *
+   * @param coordinates the coordinates to look up.
+   * @return the results for all passed coordinates.
+   */
+  Map<ArtifactCoordinates, Optional<ResolutionResult>> getAll(Collection<ArtifactCoordinates> coordinates) {
+    long now = System.currentTimeMillis();
+    for (ArtifactCoordinates c : coordinates) {
+      Entry entry = this.cache.getIfPresent(c);
+      if (entry != null && entry.isExpired(now)) {
+        this.cache.invalidate(c);
+      }
+    }
+
+    Map<ArtifactCoordinates, Entry> entries;
+    try {
+      entries = this.cache.getAll(coordinates);
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      throw new RuntimeException(e.getCause().getMessage(), e.getCause());
+    }
+    Map<ArtifactCoordinates, Optional<ResolutionResult>> results = Maps.newLinkedHashMap();
+    for (ArtifactCoordinates c : coordinates) {
+      results.put(c, entries.get(c).result);
+    }
+    return results;
+  }
+
+  /**
+   * Writes all unexpired results to the cache file if the cache shall be persisted. Failures are only logged since the
+   * cache is just an optimization.
+   */
+  synchronized void save() {
+    if (!this.file.isPresent()) {
+      return;
+    }
+
+    long now = System.currentTimeMillis();
+    Properties properties = new Properties();
+    for (Map.Entry<String, Entry> e : getPersistentEntries().entrySet()) {
+      if (!e.getValue().isExpired(now)) {
+        properties.setProperty(e.getKey(), e.getValue().encode());
+      }
+    }
+    for (Map.Entry<ArtifactCoordinates, Entry> e : this.cache.asMap().entrySet()) {
+      if (!e.getValue().isExpired(now)) {
+        properties.setProperty(getPersistentKey(e.getKey()), e.getValue().encode());
+      }
+    }
+
+    File f = this.file.get();
+    try {
+      Files.createDirectories(f.getParentFile().toPath());
+      File tmp = File.createTempFile(f.getName(), ".tmp", f.getParentFile());
+      try (OutputStream out = Files.newOutputStream(tmp.toPath())) {
+        properties.store(out, "unleash-maven-plugin " + this.name + " cache");
+      }
+      Files.move(tmp.toPath(), f.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      this.log.warn(
+          "Unable to write the " + this.name + " cache file '" + f.getAbsolutePath() + "': " + e.getMessage());
+    }
+  }
+
+  /**
+   * Logs the hit and miss counts as well as the load times of the cache.
+   */
+  void logStatistics() {
+    CacheStats stats = this.cache.stats();
+    if (stats.requestCount() == 0) {
+      return;
+    }
+    this.log.info("\tArtifact " + this.name + " cache: " + stats.hitCount() + " hits, " + stats.missCount()
+        + " misses (" + this.persistentHits.get() + " served from the cache file), "
+        + TimeUnit.NANOSECONDS.toMillis(stats.totalLoadTime()) + " ms total load time, " + stats.evictionCount()
+        + " evictions.");
+  }
+
+  private Optional<Entry> getPersistentEntry(ArtifactCoordinates coordinates) {
+    Entry entry = getPersistentEntries().get(getPersistentKey(coordinates));
+    if (entry != null && !entry.isExpired(System.currentTimeMillis()) && entry.isValid()) {
+      this.persistentHits.incrementAndGet();
+      return Optional.of(entry);
+    }
+    return Optional.absent();
+  }
+
+  private String getPersistentKey(ArtifactCoordinates coordinates) {
+    return this.scope + SEPARATOR + coordinates;
+  }
+
+  private synchronized Map<String, Entry> getPersistentEntries() {
+    if (this.persistentEntries == null) {
+      this.persistentEntries = Maps.newHashMap();
+      if (this.file.isPresent() && this.file.get().isFile()) {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(this.file.get().toPath())) {
+          properties.load(in);
+          for (String key : properties.stringPropertyNames()) {
+            Optional<Entry> entry = decode(properties.getProperty(key));
+            if (entry.isPresent()) {
+              this.persistentEntries.put(key, entry.get());
+            }
+          }
+        } catch (IOException e) {
+          this.log.warn("Unable to read the " + this.name + " cache file '" + this.file.get().getAbsolutePath()
+              + "': " + e.getMessage());
+        }
+      }
+    }
+    return this.persistentEntries;
+  }
+
+  private Optional<Entry> decode(String value) {
+    try {
+      List<String> parts = Splitter.on(SEPARATOR).limit(4).splitToList(value);
+      long timestamp = Long.parseLong(parts.get(0));
+      if (parts.size() == 1) {
+        return Optional.of(new Entry(Optional.<ResolutionResult> absent(), timestamp));
+      } else if (parts.size() == 4) {
+        String path = Strings.emptyToNull(parts.get(3));
+        ResolutionResult result = new ResolutionResult(path != null ? new File(path) : null, parts.get(2),
+            Boolean.parseBoolean(parts.get(1)));
+        return Optional.of(new Entry(Optional.of(result), timestamp));
+      }
+    } catch (NumberFormatException e) {
+      // malformed entries are ignored
+    }
+    return Optional.absent();
+  }
+
+  private class Entry {
+    private final Optional<ResolutionResult> result;
+    private final long timestamp;
+
+    private Entry(Optional<ResolutionResult> result, long timestamp) {
+      this.result = result;
+      this.timestamp = timestamp;
+    }
+
+    private boolean isExpired(long now) {
+      // artifacts that exist only locally might get deployed, thus they expire like missing artifacts
+      boolean remote = this.result.isPresent() && !this.result.get().isLocal();
+      long ttl = remote ? ResolutionCache.this.positiveTtl : ResolutionCache.this.negativeTtl;
+      return now - this.timestamp >= ttl;
+    }
+
+    private boolean isValid() {
+      File f = this.result.isPresent() ? this.result.get().getFile() : null;
+      return f == null || f.exists();
+    }
+
+    private String encode() {
+      if (!this.result.isPresent()) {
+        return String.valueOf(this.timestamp);
+      }
+      ResolutionResult r = this.result.get();
+      return Joiner.on(SEPARATOR).join(this.timestamp, r.isLocal(), r.getRepositoryId(),
+          r.getFile() != null ? r.getFile().getAbsolutePath() : "");
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package com.itemis.maven.aether;
+
+/**
+ * The size, time-to-live and persistence settings of the cache used by the {@link ArtifactProbe}.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+public class ResolutionCacheSettings {
+  private final int maxSize;
+  private final int positiveTtl;
+  private final int negativeTtl;
+  private final boolean persistent;
+
+  /**
+   * @param maxSize the maximum number of cached results.
+   * @param positiveTtl the time in minutes after which the information that an artifact exists expires.
+   * @param negativeTtl the time in minutes after which the information that an artifact doesn't exist expires.
+   * @param persistent {@code true} if the results shall be stored on disk for subsequent builds.
+   */
+  public ResolutionCacheSettings(int maxSize, int positiveTtl, int negativeTtl, boolean persistent) {
+    this.maxSize = maxSize;
+    this.positiveTtl = positiveTtl;
+    this.negativeTtl = negativeTtl;
+    this.persistent = persistent;
+  }
+
+  public int getMaxSize() {
+    return this.maxSize;
+  }
+
+  public int getPositiveTtl() {
+    return this.positiveTtl;
+  }
+
+  public int getNegativeTtl() {
+    return this.negativeTtl;
+  }
+
+  public boolean isPersistent() {
+    return this.persistent;
+  }
+}
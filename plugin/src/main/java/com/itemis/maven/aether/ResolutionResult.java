@@ -0,0 +1,44 @@
+package com.itemis.maven.aether;
+
+import java.io.File;
+
+/**
+ * The result of looking up an artifact in the local or the remote repositories.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+public class ResolutionResult {
+  private File file;
+  private String repositoryId;
+  private boolean local;
+
+  public ResolutionResult(File f, String repositoryId) {
+    this(f, repositoryId, false);
+  }
+
+  public ResolutionResult(File f, String repositoryId, boolean local) {
+    this.file = f;
+    this.repositoryId = repositoryId;
+    this.local = local;
+  }
+
+  /**
+   * @return the file of the artifact or {@code null} if the artifact has only been found in a remote repository but
+   *         hasn't been downloaded.
+   */
+  public File getFile() {
+    return this.file;
+  }
+
+  public String getRepositoryId() {
+    return this.repositoryId;
+  }
+
+  /**
+   * @return {@code true} if the artifact has been found in the local repository.
+   */
+  public boolean isLocal() {
+    return this.local;
+  }
+}
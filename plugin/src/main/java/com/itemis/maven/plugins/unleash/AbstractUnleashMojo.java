@@ -1,6 +1,7 @@
 package com.itemis.maven.plugins.unleash;
 
 import java.io.File;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +40,7 @@ import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 import com.google.common.collect.Maps;
 import com.itemis.maven.aether.ArtifactCoordinates;
+import com.itemis.maven.aether.ResolutionCacheSettings;
 import com.itemis.maven.plugins.cdi.AbstractCDIMojo;
 import com.itemis.maven.plugins.cdi.annotations.MojoInject;
 import com.itemis.maven.plugins.cdi.annotations.MojoProduces;
@@ -213,12 +215,65 @@ public class AbstractUnleashMojo extends AbstractCDIMojo {
   @Parameter(property = "unleash.preserveFixedModuleVersions", required = false, defaultValue = "false")
   private boolean preserveFixedModuleVersions;
 
+  @MojoProduces
+  @Named("compressPomSnapshots")
+  @Parameter(property = "unleash.compressPomSnapshots", required = false, defaultValue = "true")
+  private boolean compressPomSnapshots;
+
+  @MojoProduces
+  @Named("pomRewriteThreads")
+  @Parameter(property = "unleash.pomRewriteThreads", required = false, defaultValue = "0")
+  private int pomRewriteThreads;
+
+  @MojoProduces
+  @Named("checksumThreads")
+  @Parameter(property = "unleash.checksumThreads", required = false, defaultValue = "0")
+  private int checksumThreads;
+
+  @Parameter(property = "unleash.additionalChecksumAlgorithms", required = false)
+  private List<String> additionalChecksumAlgorithms;
+
+  @MojoProduces
+  @Named("dependencyCollectionThreads")
+  @Parameter(property = "unleash.dependencyCollectionThreads", required = false, defaultValue = "0")
+  private int dependencyCollectionThreads;
+
+  @MojoProduces
+  @Named("useCheckCache")
+  @Parameter(property = "unleash.useCheckCache", required = false, defaultValue = "false")
+  private boolean useCheckCache;
+
+  @Parameter(property = "unleash.checkCacheDirectory", required = false)
+  private File checkCacheDirectory;
+
+  @MojoProduces
+  @Named("forceFullCheck")
+  @Parameter(property = "unleash.forceFullCheck", required = false, defaultValue = "false")
+  private boolean forceFullCheck;
+
+  @Parameter(property = "unleash.resolverCacheSize", required = false, defaultValue = "10000")
+  private int resolverCacheSize;
+
+  @Parameter(property = "unleash.resolverCachePositiveTtl", required = false, defaultValue = "1440")
+  private int resolverCachePositiveTtl;
+
+  @Parameter(property = "unleash.resolverCacheNegativeTtl", required = false, defaultValue = "10")
+  private int resolverCacheNegativeTtl;
+
+  @Parameter(property = "unleash.persistResolverCache", required = false, defaultValue = "false")
+  private boolean persistResolverCache;
+
   @Parameter
   private Set<Repository> additionalDeploymentRepositories;
 
+  @MojoProduces
+  @Named("deploymentThreads")
+  @Parameter(property = "unleash.deploymentThreads", required = false, defaultValue = "0")
+  private int deploymentThreads;
+
   @MojoProduces
   @Named("artifactSpyPlugin")
-  private ArtifactCoordinates artifactSpyPluginCoordinates = new ArtifactCoordinates("com.itemis.maven.plugins",
+  private ArtifactCoordinates artifactSpyPluginCoordinates = ArtifactCoordinates.of("com.itemis.maven.plugins",
       "artifact-spy-plugin", "1.0.6", "maven-plugin");
 
   @MojoProduces
@@ -248,6 +303,31 @@ public class AbstractUnleashMojo extends AbstractCDIMojo {
     return folder;
   }
 
+  @MojoProduces
+  @Named("checkCacheFolder")
+  private File getCheckCacheFolder() {
+    return this.checkCacheDirectory != null ? this.checkCacheDirectory : getUnleashOutputFolder();
+  }
+
+  @MojoProduces
+  @Named("additionalChecksumAlgorithms")
+  private List<String> getAdditionalChecksumAlgorithms() {
+    return this.additionalChecksumAlgorithms != null ? this.additionalChecksumAlgorithms
+        : Collections.<String> emptyList();
+  }
+
+  @MojoProduces
+  @Named("resumeDeployment")
+  private boolean isResumeDeployment() {
+    return UnleashResumeDeploymentMojo.GOAL.equals(this.mojoExecution.getGoal());
+  }
+
+  @MojoProduces
+  private ResolutionCacheSettings getResolutionCacheSettings() {
+    return new ResolutionCacheSettings(this.resolverCacheSize, this.resolverCachePositiveTtl,
+        this.resolverCacheNegativeTtl, this.persistResolverCache);
+  }
+
   @MojoProduces
   @Named("releaseArgs")
   @MojoInject
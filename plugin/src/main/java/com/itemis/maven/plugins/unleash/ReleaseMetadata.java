@@ -1,7 +1,12 @@
 package com.itemis.maven.plugins.unleash;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -17,20 +22,24 @@ import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.model.Scm;
 import org.apache.maven.plugin.PluginParameterExpressionEvaluator;
 import org.apache.maven.project.MavenProject;
-import org.apache.maven.settings.Settings;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.w3c.dom.Document;
 
-import com.google.common.base.Objects;
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.itemis.maven.aether.ArtifactCoordinates;
+import com.itemis.maven.plugins.unleash.util.PomDocumentStore;
+import com.itemis.maven.plugins.unleash.util.PomPropertyLayers;
 import com.itemis.maven.plugins.unleash.util.PomPropertyResolver;
+import com.itemis.maven.plugins.unleash.util.PomSnapshot;
+import com.itemis.maven.plugins.unleash.util.PomSnapshotJournal;
 import com.itemis.maven.plugins.unleash.util.PomUtil;
 import com.itemis.maven.plugins.unleash.util.ReleaseUtil;
 import com.itemis.maven.plugins.unleash.util.functions.ProjectToCoordinates;
+import com.itemis.maven.plugins.unleash.util.functions.ProjectToString;
 
 /**
  * Provides global metadata used during the release process. These metadata evolve during the release process.
@@ -41,6 +50,7 @@ import com.itemis.maven.plugins.unleash.util.functions.ProjectToCoordinates;
 @Singleton
 public class ReleaseMetadata {
   private static final String PROPERTIES_KEY_REL_ARTIFACT = "release.artifact.";
+  private static final String PROPERTIES_KEY_REL_ARTIFACT_CHECKSUM = ".checksum.";
   private static final String PROPERTIES_KEY_REL_REPO_URL = "release.deploymentRepository.url";
   private static final String PROPERTIES_KEY_REL_REPO_ID = "release.deploymentRepository.id";
   private static final String PROPERTIES_KEY_SCM_REV_AFTER_DEV = "scm.rev.afterNextDev";
@@ -57,7 +67,7 @@ public class ReleaseMetadata {
   @Inject
   private MavenProject project;
   @Inject
-  private Settings settings;
+  private PomSnapshotJournal snapshotJournal;
   @Inject
   private PluginParameterExpressionEvaluator expressionEvaluator;
   @Inject
@@ -67,32 +77,27 @@ public class ReleaseMetadata {
   @Named("reactorProjects")
   private List<MavenProject> reactorProjects;
   @Inject
-  @Named("profiles")
-  private List<String> profiles;
-  @Inject
-  @Named("releaseArgs")
-  private Properties releaseArgs;
+  private PomPropertyLayers propertyLayers;
 
   private String initialScmRevision;
   private String scmRevisionBeforeNextDevVersion;
   private String scmRevisionAfterNextDevVersion;
   private String scmRevisionBeforeTag;
   private String scmRevisionAfterTag;
-  private Map<ReleasePhase, Set<ArtifactCoordinates>> artifactCoordinates;
+  // indexed by groupId:artifactId since the coordinates are mostly looked up per module
+  private Map<String, Map<ReleasePhase, ArtifactCoordinates>> artifactCoordinates;
   private String scmTagName;
   private RemoteRepository deploymentRepository;
   private Set<Artifact> releaseArtifacts;
+  private Map<Artifact, Map<String, String>> releaseArtifactChecksums;
   private Map<ArtifactCoordinates, Scm> cachedScmSettings;
-  private Map<ArtifactCoordinates, Document> originalPOMs;
+  private Map<ArtifactCoordinates, PomSnapshot> originalPOMs;
 
   private ReleaseMetadata() {
-    int numPhases = ReleasePhase.values().length;
-    this.artifactCoordinates = Maps.newHashMapWithExpectedSize(numPhases);
-    for (ReleasePhase phase : ReleasePhase.values()) {
-      this.artifactCoordinates.put(phase, Sets.<ArtifactCoordinates> newHashSet());
-    }
+    this.artifactCoordinates = Maps.newConcurrentMap();
     this.cachedScmSettings = Maps.newHashMap();
     this.originalPOMs = new HashMap<>();
+    this.releaseArtifactChecksums = Maps.newConcurrentMap();
   }
 
   @PostConstruct
@@ -107,8 +112,7 @@ public class ReleaseMetadata {
     // replace properties in remote repository URL and getting the remote repo
     ArtifactRepository artifactRepository = this.project.getDistributionManagementArtifactRepository();
     if (artifactRepository != null) {
-      PomPropertyResolver propertyResolver = new PomPropertyResolver(this.project, this.settings, this.profiles,
-          this.releaseArgs);
+      PomPropertyResolver propertyResolver = new PomPropertyResolver(this.project, this.propertyLayers);
       artifactRepository.setUrl(propertyResolver.expandPropertyReferences(artifactRepository.getUrl()));
       this.deploymentRepository = RepositoryUtils.toRepo(artifactRepository);
     }
@@ -116,6 +120,8 @@ public class ReleaseMetadata {
     // resetting the artifact version
     projectArtifact.setVersion(oldVersion);
 
+    // documents parsed by a previous release execution in the same JVM must not leak into this release
+    PomDocumentStore.getInstance().clear();
     for (MavenProject p : this.reactorProjects) {
       // puts the initial module artifact coordinates into the cache
       addArtifactCoordinates(ProjectToCoordinates.POM.apply(p), ReleasePhase.PRE_RELEASE);
@@ -123,9 +129,14 @@ public class ReleaseMetadata {
       // caching of SCM settings of every POM in order to go back to it before setting next dev version
       this.cachedScmSettings.put(ProjectToCoordinates.EMPTY_VERSION.apply(p), p.getModel().getScm());
 
-      Optional<Document> parsedPOM = PomUtil.parsePOM(p);
-      if (parsedPOM.isPresent()) {
-        this.originalPOMs.put(ProjectToCoordinates.EMPTY_VERSION.apply(p), parsedPOM.get());
+      try {
+        Optional<PomSnapshot> snapshot = this.snapshotJournal.snapshot(p);
+        if (snapshot.isPresent()) {
+          this.originalPOMs.put(ProjectToCoordinates.EMPTY_VERSION.apply(p), snapshot.get());
+        }
+      } catch (IOException e) {
+        throw new RuntimeException(
+            "Could not take a snapshot of the original POM of module " + ProjectToString.INSTANCE.apply(p), e);
       }
     }
   }
@@ -171,21 +182,25 @@ public class ReleaseMetadata {
   }
 
   public void addArtifactCoordinates(ArtifactCoordinates coordinates, ReleasePhase phase) {
-    this.artifactCoordinates.get(phase).add(coordinates);
+    Map<ReleasePhase, ArtifactCoordinates> coordinatesByPhase = this.artifactCoordinates.computeIfAbsent(
+        coordinates.getGA(),
+        k -> Collections.synchronizedMap(new EnumMap<ReleasePhase, ArtifactCoordinates>(ReleasePhase.class)));
+    coordinatesByPhase.put(phase, coordinates);
   }
 
+  /**
+   * @param groupId the groupId of the module.
+   * @param artifactId the artifactId of the module.
+   * @return an unmodifiable view of the coordinates of the module per release phase. The map is empty if the module is
+   *         not part of the reactor.
+   */
   public Map<ReleasePhase, ArtifactCoordinates> getArtifactCoordinatesByPhase(String groupId, String artifactId) {
-    Map<ReleasePhase, ArtifactCoordinates> result = Maps.newHashMapWithExpectedSize(this.artifactCoordinates.size());
-    for (ReleasePhase phase : this.artifactCoordinates.keySet()) {
-      for (ArtifactCoordinates coordinates : this.artifactCoordinates.get(phase)) {
-        if (Objects.equal(coordinates.getArtifactId(), artifactId)
-            && Objects.equal(coordinates.getGroupId(), groupId)) {
-          result.put(phase, coordinates);
-          break;
-        }
-      }
+    Map<ReleasePhase, ArtifactCoordinates> coordinatesByPhase = this.artifactCoordinates
+        .get(ArtifactCoordinates.toGA(groupId, artifactId));
+    if (coordinatesByPhase == null) {
+      return Collections.emptyMap();
     }
-    return result;
+    return Collections.unmodifiableMap(coordinatesByPhase);
   }
 
   public String getScmTagName() {
@@ -210,12 +225,48 @@ public class ReleaseMetadata {
     return this.releaseArtifacts;
   }
 
+  /**
+   * Stores the precalculated checksums of a release artifact.
+   *
+   * @param artifact the release artifact.
+   * @param checksums the hex encoded checksums of the artifact file indexed by algorithm name.
+   */
+  public void setReleaseArtifactChecksums(Artifact artifact, Map<String, String> checksums) {
+    this.releaseArtifactChecksums.put(artifact, ImmutableMap.copyOf(checksums));
+  }
+
+  /**
+   * @param artifact the release artifact.
+   * @param algorithm the name of the checksum algorithm.
+   * @return the precalculated checksum of the artifact file or {@link Optional#absent()} if the checksum has not been
+   *         calculated.
+   */
+  public Optional<String> getReleaseArtifactChecksum(Artifact artifact, String algorithm) {
+    Map<String, String> checksums = this.releaseArtifactChecksums.get(artifact);
+    return Optional.fromNullable(checksums != null ? checksums.get(algorithm) : null);
+  }
+
   public Scm getCachedScmSettings(MavenProject p) {
     return this.cachedScmSettings.get(ProjectToCoordinates.EMPTY_VERSION.apply(p));
   }
 
+  /**
+   * @param p the project for which to retrieve the original POM.
+   * @return a freshly parsed copy of the POM as it was before the release started or {@code null} if the project
+   *         doesn't have a POM file.
+   */
   public Document getCachedOriginalPOM(MavenProject p) {
-    return this.originalPOMs.get(ProjectToCoordinates.EMPTY_VERSION.apply(p));
+    PomSnapshot snapshot = this.originalPOMs.get(ProjectToCoordinates.EMPTY_VERSION.apply(p));
+    if (snapshot == null) {
+      return null;
+    }
+
+    try {
+      return PomUtil.parsePOM(new ByteArrayInputStream(this.snapshotJournal.read(snapshot)));
+    } catch (IOException e) {
+      throw new RuntimeException(
+          "Could not load the original POM of module " + ProjectToString.INSTANCE.apply(p) + " from the journal.", e);
+    }
   }
 
   public Properties toProperties() {
@@ -275,6 +326,13 @@ public class ReleaseMetadata {
     int index = 0;
     for (Artifact a : this.releaseArtifacts) {
       p.setProperty(PROPERTIES_KEY_REL_ARTIFACT + index, a.toString());
+      Map<String, String> checksums = this.releaseArtifactChecksums.get(a);
+      if (checksums != null) {
+        for (Map.Entry<String, String> checksum : checksums.entrySet()) {
+          p.setProperty(PROPERTIES_KEY_REL_ARTIFACT + index + PROPERTIES_KEY_REL_ARTIFACT_CHECKSUM
+              + checksum.getKey().replace("-", "").toLowerCase(Locale.ENGLISH), checksum.getValue());
+        }
+      }
       index++;
     }
   }
@@ -0,0 +1,24 @@
+package com.itemis.maven.plugins.unleash;
+
+import org.apache.maven.plugins.annotations.Mojo;
+
+import com.itemis.maven.plugins.unleash.util.DeploymentJournal;
+import com.itemis.maven.plugins.unleash.util.PartialDeploymentException;
+
+/**
+ * A Maven {@link Mojo} which resumes the deployment of a release whose deployment has been aborted, f.e. due to network
+ * failures. Such a release is not rolled back once artifacts have been published (see
+ * {@link PartialDeploymentException}), so the SCM tag and the commits of the release are kept.<br>
+ * <br>
+ * The release is not built again. Instead the release artifacts and the progress of the aborted deployment are read
+ * from the {@link DeploymentJournal} in the unleash output folder of the project. Only artifacts that have not been
+ * deployed to a repository before are uploaded. Call this goal on the same project and with the same deployment
+ * repository settings as the aborted release, without cleaning the project in between.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+@Mojo(name = UnleashResumeDeploymentMojo.GOAL, aggregator = true, requiresProject = true)
+public class UnleashResumeDeploymentMojo extends AbstractUnleashMojo {
+  static final String GOAL = "resume-deployment";
+}
@@ -9,22 +9,20 @@ import javax.inject.Named;
 
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.DependencyManagement;
-import org.apache.maven.model.Model;
 import org.apache.maven.model.Parent;
 import org.apache.maven.model.Profile;
 import org.apache.maven.project.MavenProject;
-import org.codehaus.mojo.versions.api.PomHelper;
-import org.w3c.dom.Document;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.itemis.maven.aether.ArtifactCoordinates;
 import com.itemis.maven.plugins.cdi.CDIMojoProcessingStep;
 import com.itemis.maven.plugins.cdi.logging.Logger;
 import com.itemis.maven.plugins.unleash.ReleaseMetadata;
 import com.itemis.maven.plugins.unleash.ReleasePhase;
-import com.itemis.maven.plugins.unleash.util.PomUtil;
+import com.itemis.maven.plugins.unleash.util.PomEditSession;
+import com.itemis.maven.plugins.unleash.util.PomSnapshot;
+import com.itemis.maven.plugins.unleash.util.PomSnapshotJournal;
+import com.itemis.maven.plugins.unleash.util.ReactorIndex;
+import com.itemis.maven.plugins.unleash.util.ReactorPomRewriter;
 
 /**
  * An abstract step for version upgrades in POMs.
@@ -43,44 +41,48 @@ public abstract class AbstractVersionsStep implements CDIMojoProcessingStep {
   @Named("reactorProjects")
   protected List<MavenProject> reactorProjects;
 
-  protected Map<ArtifactCoordinates, Document> cachedPOMs;
+  @Inject
+  protected ReactorPomRewriter pomRewriter;
+
+  @Inject
+  protected PomSnapshotJournal snapshotJournal;
+
+  @Inject
+  protected PomEditSession editSession;
+
+  protected Map<ArtifactCoordinates, PomSnapshot> cachedPOMs;
 
   @Inject
   @Named("updateReactorDependencyVersion")
   protected boolean updateReactorDependencyVersion;
 
-  // Raw models is only used for dependency version updating currently.
-  // This may cause inconsistencies between reactorProjects and updated POMs.
-  // However, I have no confidence in spread it out of this step.
-  // TODO make the whole plugin work on raw models? (after having integration tests...)
-  private LoadingCache<MavenProject, Model> rawModels = CacheBuilder.newBuilder()
-      .build(new CacheLoader<MavenProject, Model>() {
-        @Override
-        public Model load(MavenProject project) throws Exception {
-          return PomHelper.getRawModel(project);
-        }
-      });
-
-  protected Document loadAndProcess(MavenProject project) {
-    Document document = PomUtil.parsePOM(project).get();
-    setProjectVersion(project, document);
-    setParentVersion(project, document);
+  @Inject
+  protected ReactorIndex reactorIndex;
+
+  /**
+   * Records the version updates of the POM of the passed project in the {@link #editSession}. The in-memory model of
+   * the project is updated immediately while the POM file is written when the step commits the session.
+   *
+   * @param project the project whose POM shall be updated.
+   */
+  protected void recordVersionUpdates(MavenProject project) {
+    setProjectVersion(project);
+    setParentVersion(project);
     if (this.updateReactorDependencyVersion) {
-      setProjectReactorDependenciesVersion(project, document);
-      setProjectReactorDependencyManagementVersion(project, document);
-      setProfilesReactorDependenciesVersion(project, document);
-      setProfilesReactorDependencyManagementVersion(project, document);
+      setProjectReactorDependenciesVersion(project);
+      setProjectReactorDependencyManagementVersion(project);
+      setProfilesReactorDependenciesVersion(project);
+      setProfilesReactorDependencyManagementVersion(project);
     }
-    return document;
   }
 
-  private void setProjectVersion(MavenProject project, Document document) {
+  private void setProjectVersion(MavenProject project) {
     Map<ReleasePhase, ArtifactCoordinates> coordinatesByPhase = this.metadata
         .getArtifactCoordinatesByPhase(project.getGroupId(), project.getArtifactId());
     String oldVersion = coordinatesByPhase.get(previousReleasePhase()).getVersion();
     String newVersion = coordinatesByPhase.get(currentReleasePhase()).getVersion();
     logProjectVersionUpdate(project, oldVersion, newVersion);
-    PomUtil.setProjectVersion(project.getModel(), document, newVersion);
+    this.editSession.setProjectVersion(project, newVersion);
   }
 
   protected void logProjectVersionUpdate(MavenProject project, String oldVersion, String newVersion) {
@@ -90,7 +92,7 @@ public abstract class AbstractVersionsStep implements CDIMojoProcessingStep {
     }
   }
 
-  private void setParentVersion(MavenProject project, Document document) {
+  private void setParentVersion(MavenProject project) {
     Parent parent = project.getModel().getParent();
     if (parent != null) {
       Map<ReleasePhase, ArtifactCoordinates> coordinatesByPhase = this.metadata
@@ -102,7 +104,7 @@ public abstract class AbstractVersionsStep implements CDIMojoProcessingStep {
       // for it
       if (newCoordinates != null) {
         logParentVersionUpdate(project, oldCoordinates, newCoordinates);
-        PomUtil.setParentVersion(project.getModel(), document, newCoordinates.getVersion());
+        this.editSession.setParentVersion(project, newCoordinates.getVersion());
       }
     }
   }
@@ -115,45 +117,45 @@ public abstract class AbstractVersionsStep implements CDIMojoProcessingStep {
     }
   }
 
-  private void setProjectReactorDependenciesVersion(MavenProject project, Document document) {
+  private void setProjectReactorDependenciesVersion(MavenProject project) {
     final String dependenciesPath = "/";
-    List<Dependency> dependencies = this.rawModels.getUnchecked(project).getDependencies();
+    List<Dependency> dependencies = this.reactorIndex.getRawModel(project).getDependencies();
     for (Dependency dependency : dependencies) {
-      trySetDependencyVersionFromReactorProjects(project, document, dependenciesPath, dependency);
+      trySetDependencyVersionFromReactorProjects(project, dependenciesPath, dependency);
     }
   }
 
-  private void setProjectReactorDependencyManagementVersion(MavenProject project, Document document) {
-    DependencyManagement dependencyManagement = this.rawModels.getUnchecked(project).getDependencyManagement();
+  private void setProjectReactorDependencyManagementVersion(MavenProject project) {
+    DependencyManagement dependencyManagement = this.reactorIndex.getRawModel(project).getDependencyManagement();
     if (dependencyManagement != null) {
       String dependenciesPath = "/dependencyManagement";
       List<Dependency> dependencies = dependencyManagement.getDependencies();
       for (Dependency dependency : dependencies) {
-        trySetDependencyVersionFromReactorProjects(project, document, dependenciesPath, dependency);
+        trySetDependencyVersionFromReactorProjects(project, dependenciesPath, dependency);
       }
     }
   }
 
-  private void setProfilesReactorDependenciesVersion(MavenProject project, Document document) {
-    List<Profile> profiles = this.rawModels.getUnchecked(project).getProfiles();
+  private void setProfilesReactorDependenciesVersion(MavenProject project) {
+    List<Profile> profiles = this.reactorIndex.getRawModel(project).getProfiles();
     for (Profile profile : profiles) {
       final String dependenciesPath = "/profiles/profile[id[text()='" + profile.getId() + "']]";
       List<Dependency> dependencies = profile.getDependencies();
       for (Dependency dependency : dependencies) {
-        trySetDependencyVersionFromReactorProjects(project, document, dependenciesPath, dependency);
+        trySetDependencyVersionFromReactorProjects(project, dependenciesPath, dependency);
       }
     }
   }
 
-  private void setProfilesReactorDependencyManagementVersion(MavenProject project, Document document) {
-    List<Profile> profiles = this.rawModels.getUnchecked(project).getProfiles();
+  private void setProfilesReactorDependencyManagementVersion(MavenProject project) {
+    List<Profile> profiles = this.reactorIndex.getRawModel(project).getProfiles();
     for (Profile profile : profiles) {
       final String dependenciesPath = "/profiles/profile[id[text()='" + profile.getId() + "']]/dependencyManagement";
       DependencyManagement dependencyManagement = profile.getDependencyManagement();
       if (dependencyManagement != null) {
         List<Dependency> dependencies = dependencyManagement.getDependencies();
         for (Dependency dependency : dependencies) {
-          trySetDependencyVersionFromReactorProjects(project, document, dependenciesPath, dependency);
+          trySetDependencyVersionFromReactorProjects(project, dependenciesPath, dependency);
         }
       }
     }
@@ -163,40 +165,26 @@ public abstract class AbstractVersionsStep implements CDIMojoProcessingStep {
 
   protected abstract ReleasePhase currentReleasePhase();
 
-  private void trySetDependencyVersionFromReactorProjects(MavenProject project, Document document,
-      String dependenciesPath, Dependency dependency) {
-    for (MavenProject reactorProject : this.reactorProjects) {
-      if (isReactorDependency(reactorProject, dependency)) {
-        Map<ReleasePhase, ArtifactCoordinates> coordinatesByPhase = this.metadata
-            .getArtifactCoordinatesByPhase(dependency.getGroupId(), dependency.getArtifactId());
-        ArtifactCoordinates oldCoordinates = coordinatesByPhase.get(previousReleasePhase());
-        ArtifactCoordinates newCoordinates = coordinatesByPhase.get(currentReleasePhase());
-
-        if (newCoordinates == null || oldCoordinates == null) {
-          // the dependency is not part of the reactor projects since no release version had been calculated for it
-
-        } else if (dependency.getVersion() == null) {
-          // version was managed somewhere
-
-        } else if (Objects.equals(dependency.getVersion(), oldCoordinates.getVersion())) {
-          this.log.debug(
-              "\tUpdate of dependency '" + dependency.getGroupId() + ":" + dependency.getArtifactId() + "' version in '"
-                  + dependenciesPath + "' of module '" + project.getGroupId() + ":" + project.getArtifact() + "' ["
-                  + oldCoordinates.getVersion() + " => " + newCoordinates.getVersion() + "]");
-          PomUtil.setDependencyVersion(dependency, document, dependenciesPath, newCoordinates.getVersion());
-        }
-      }
+  private void trySetDependencyVersionFromReactorProjects(MavenProject project, String dependenciesPath,
+      Dependency dependency) {
+    // the metadata only contain coordinates of reactor modules
+    Map<ReleasePhase, ArtifactCoordinates> coordinatesByPhase = this.metadata
+        .getArtifactCoordinatesByPhase(dependency.getGroupId(), dependency.getArtifactId());
+    ArtifactCoordinates oldCoordinates = coordinatesByPhase.get(previousReleasePhase());
+    ArtifactCoordinates newCoordinates = coordinatesByPhase.get(currentReleasePhase());
+
+    if (newCoordinates == null || oldCoordinates == null) {
+      // the dependency is not part of the reactor projects since no release version had been calculated for it
+
+    } else if (dependency.getVersion() == null) {
+      // version was managed somewhere
+
+    } else if (Objects.equals(dependency.getVersion(), oldCoordinates.getVersion())) {
+      this.log.debug(
+          "\tUpdate of dependency '" + dependency.getGroupId() + ":" + dependency.getArtifactId() + "' version in '"
+              + dependenciesPath + "' of module '" + project.getGroupId() + ":" + project.getArtifact() + "' ["
+              + oldCoordinates.getVersion() + " => " + newCoordinates.getVersion() + "]");
+      this.editSession.setDependencyVersion(project, dependency, dependenciesPath, newCoordinates.getVersion());
     }
   }
-
-  private boolean isReactorDependency(MavenProject project, Dependency dependency) {
-    String groupId = dependency.getGroupId();
-    String artifactId = dependency.getArtifactId();
-
-    Model model = this.rawModels.getUnchecked(project);
-    String reactorGroupId = model.getGroupId() != null ? model.getGroupId() : model.getParent().getGroupId();
-    String reactorArtifactId = model.getArtifactId();
-
-    return Objects.equals(groupId, reactorGroupId) && Objects.equals(artifactId, reactorArtifactId);
-  }
 }
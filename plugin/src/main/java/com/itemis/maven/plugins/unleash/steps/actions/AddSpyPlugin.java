@@ -1,9 +1,7 @@
 package com.itemis.maven.plugins.unleash.steps.actions;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -11,7 +9,6 @@ import javax.inject.Named;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.project.MavenProject;
-import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 
 import com.google.common.base.Optional;
@@ -22,7 +19,13 @@ import com.itemis.maven.plugins.cdi.ExecutionContext;
 import com.itemis.maven.plugins.cdi.annotations.ProcessingStep;
 import com.itemis.maven.plugins.cdi.annotations.RollbackOnError;
 import com.itemis.maven.plugins.cdi.logging.Logger;
+import com.itemis.maven.plugins.unleash.util.PartialDeploymentException;
+import com.itemis.maven.plugins.unleash.util.PomEditSession;
+import com.itemis.maven.plugins.unleash.util.PomSnapshot;
+import com.itemis.maven.plugins.unleash.util.PomSnapshotJournal;
 import com.itemis.maven.plugins.unleash.util.PomUtil;
+import com.itemis.maven.plugins.unleash.util.ReactorPomRewriteException;
+import com.itemis.maven.plugins.unleash.util.ReactorPomRewriter;
 
 /**
  * Adds the artifact-spy-plugin to the reactor pom of the project.<br>
@@ -43,52 +46,52 @@ public class AddSpyPlugin implements CDIMojoProcessingStep {
   @Inject
   @Named("artifactSpyPlugin")
   private ArtifactCoordinates artifactSpyPluginCoordinates;
-  private Map<MavenProject, Document> cachedPOMs;
+  @Inject
+  private ReactorPomRewriter pomRewriter;
+  @Inject
+  private PomSnapshotJournal snapshotJournal;
+  @Inject
+  private PomEditSession editSession;
+  private Map<MavenProject, PomSnapshot> cachedPOMs;
 
   @Override
   public void execute(ExecutionContext context) throws MojoExecutionException, MojoFailureException {
     this.log.info(
         "Adding artifact-spy-plugin to the build configuration. This plugin is required to detect all artifacts that are produced by the release build for later installation and deployment.");
-    this.cachedPOMs = Maps.newHashMap();
-    for (MavenProject p : this.reactorProjects) {
-      Optional<Document> parsedPOM = PomUtil.parsePOM(p);
-      if (parsedPOM.isPresent()) {
-        this.cachedPOMs.put(p, parsedPOM.get());
-      }
-    }
+    this.cachedPOMs = Maps.newConcurrentMap();
 
     try {
-      for (MavenProject p : this.reactorProjects) {
-        Optional<Document> document = PomUtil.parsePOM(p);
-        if (document.isPresent()) {
-          Node plugin = PomUtil.createPlugin(document.get(), this.artifactSpyPluginCoordinates.getGroupId(),
-              this.artifactSpyPluginCoordinates.getArtifactId(), this.artifactSpyPluginCoordinates.getVersion());
-          PomUtil.createPluginExecution(plugin, "spy", Optional.of("verify"), "spy");
-          PomUtil.writePOM(document.get(), p);
+      this.pomRewriter.rewrite(this.reactorProjects, p -> {
+        Optional<PomSnapshot> snapshot = this.snapshotJournal.snapshot(p);
+        if (snapshot.isPresent()) {
+          this.cachedPOMs.put(p, snapshot.get());
+          this.editSession.edit(p, document -> {
+            Node plugin = PomUtil.createPlugin(document, this.artifactSpyPluginCoordinates.getGroupId(),
+                this.artifactSpyPluginCoordinates.getArtifactId(), this.artifactSpyPluginCoordinates.getVersion());
+            PomUtil.createPluginExecution(plugin, "spy", Optional.of("verify"), "spy");
+          }, PomUtil.NODE_NAME_BUILD + "/" + PomUtil.NODE_NAME_PLUGINS);
         }
-      }
-    } catch (Throwable t) {
+      });
+      this.editSession.commit();
+    } catch (ReactorPomRewriteException e) {
       throw new MojoFailureException(
           "Could not add the artifact-spy-plugin to the POM. This plugin is required to determine the artifacts that are produced by the build for later installation and deployment.",
-          t);
+          e);
     }
   }
 
   @RollbackOnError
-  public void rollback() throws MojoExecutionException {
-    this.log.info("Rollback of artifact-spy-plugin addition to the build configuration.");
-
-    List<Throwable> errors = new ArrayList<>();
-    for (Entry<MavenProject, Document> entry : this.cachedPOMs.entrySet()) {
-      try {
-        PomUtil.writePOM(entry.getValue(), entry.getKey());
-      } catch (Throwable t) {
-        errors.add(t);
-      }
+  public void rollback(Throwable cause) throws MojoExecutionException {
+    if (PartialDeploymentException.isCause(cause)) {
+      return;
     }
+    this.log.info("Rollback of artifact-spy-plugin addition to the build configuration.");
+    this.editSession.discard();
 
-    if (!errors.isEmpty()) {
-      throw new MojoExecutionException("Could not remove artifact-spy-plugin from the POM.", errors.get(0));
+    try {
+      this.pomRewriter.rewrite(this.cachedPOMs.keySet(), p -> this.snapshotJournal.restore(this.cachedPOMs.get(p)));
+    } catch (ReactorPomRewriteException e) {
+      throw new MojoExecutionException("Could not remove artifact-spy-plugin from the POM.", e);
     }
   }
 }
@@ -27,6 +27,8 @@ import com.itemis.maven.plugins.cdi.CDIMojoProcessingStep;
 import com.itemis.maven.plugins.cdi.ExecutionContext;
 import com.itemis.maven.plugins.cdi.annotations.ProcessingStep;
 import com.itemis.maven.plugins.cdi.logging.Logger;
+import com.itemis.maven.plugins.unleash.util.PomEditSession;
+import com.itemis.maven.plugins.unleash.util.ReactorPomRewriteException;
 import com.itemis.maven.plugins.unleash.util.ReleaseUtil;
 
 /**
@@ -64,11 +66,20 @@ public class BuildProject implements CDIMojoProcessingStep {
   private Map<String, String> releaseEnvironmentVariables;
   @Inject
   private MavenSession session;
+  @Inject
+  private PomEditSession editSession;
 
   @Override
   public void execute(ExecutionContext context) throws MojoExecutionException, MojoFailureException {
     this.log.info("Starting release build.");
 
+    try {
+      // the forked build must see all POM modifications of the previous steps
+      this.editSession.commit();
+    } catch (ReactorPomRewriteException e) {
+      throw new MojoFailureException("Could not write the modified POMs prior to the release build.", e);
+    }
+
     try {
       InvocationRequest request = setupInvocationRequest();
       Invoker invoker = setupInvoker();
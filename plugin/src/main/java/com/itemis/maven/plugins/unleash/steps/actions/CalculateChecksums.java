@@ -0,0 +1,124 @@
+package com.itemis.maven.plugins.unleash.steps.actions;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.eclipse.aether.artifact.Artifact;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.itemis.maven.plugins.cdi.CDIMojoProcessingStep;
+import com.itemis.maven.plugins.cdi.ExecutionContext;
+import com.itemis.maven.plugins.cdi.annotations.ProcessingStep;
+import com.itemis.maven.plugins.cdi.logging.Logger;
+import com.itemis.maven.plugins.unleash.ReleaseMetadata;
+import com.itemis.maven.plugins.unleash.util.ChecksumUtil;
+import com.itemis.maven.plugins.unleash.util.ParallelExecutor;
+
+/**
+ * Calculates the checksums of all release artifacts once and stores them in the release metadata. The checksums are
+ * serialized together with the release metadata and are reused when recording and verifying the deployment of the
+ * artifacts.<br>
+ * <br>
+ * SHA-1 and MD5 checksums are always calculated, further algorithms (f.e. SHA-256 or SHA-512) can be added using the
+ * mojo parameter {@code additionalChecksumAlgorithms}. All checksums of a file are calculated in a single pass. The
+ * files are processed on a bounded pool of threads whose parallelism can be configured using the mojo parameter
+ * {@code checksumThreads} (default: number of available processors).
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+@ProcessingStep(id = "calculateChecksums", description = "Calculates the checksums of all release artifacts and stores them in the release metadata.", requiresOnline = false)
+public class CalculateChecksums implements CDIMojoProcessingStep {
+  @Inject
+  private Logger log;
+  @Inject
+  private ReleaseMetadata metadata;
+  @Inject
+  @Named("additionalChecksumAlgorithms")
+  private List<String> additionalAlgorithms;
+  @Inject
+  @Named("checksumThreads")
+  private int threads;
+
+  @Override
+  public void execute(ExecutionContext context) throws MojoExecutionException, MojoFailureException {
+    this.log.info("Calculating the checksums of the release artifacts.");
+
+    final Set<String> algorithms = Sets.newLinkedHashSet();
+    algorithms.add(ChecksumUtil.SHA1);
+    algorithms.add(ChecksumUtil.MD5);
+    for (String algorithm : this.additionalAlgorithms) {
+      if (!ChecksumUtil.isSupported(algorithm)) {
+        throw new MojoExecutionException("The checksum algorithm '" + algorithm + "' is not supported.");
+      }
+      algorithms.add(algorithm);
+    }
+
+    Collection<Artifact> artifacts = this.metadata.getReleaseArtifacts();
+    if (artifacts == null || artifacts.isEmpty()) {
+      return;
+    }
+
+    final Map<Artifact, IOException> failures = Maps.newConcurrentMap();
+    final AtomicLong bytes = new AtomicLong();
+    List<Callable<Void>> tasks = new ArrayList<>(artifacts.size());
+    for (final Artifact a : artifacts) {
+      if (a.getFile() == null || !a.getFile().isFile()) {
+        continue;
+      }
+      tasks.add(() -> {
+        try {
+          this.metadata.setReleaseArtifactChecksums(a, ChecksumUtil.calculate(a.getFile(), algorithms));
+          bytes.addAndGet(a.getFile().length());
+        } catch (IOException e) {
+          failures.put(a, e);
+        }
+        return null;
+      });
+    }
+
+    long start = System.nanoTime();
+    int parallelism = Math.max(1, Math.min(getParallelism(), tasks.size()));
+    try {
+      ParallelExecutor.invokeAll("checksums", parallelism, tasks);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MojoExecutionException("The calculation of the artifact checksums has been interrupted.", e);
+    } catch (ExecutionException e) {
+      // failures are collected by the tasks themselves, this should never happen
+      throw new MojoExecutionException("The calculation of the artifact checksums failed unexpectedly.",
+          e.getCause());
+    }
+
+    if (!failures.isEmpty()) {
+      for (Map.Entry<Artifact, IOException> failure : failures.entrySet()) {
+        this.log.error("\tUnable to calculate the checksums of artifact " + failure.getKey() + ": "
+            + failure.getValue().getMessage());
+      }
+      throw new MojoExecutionException("Unable to calculate the checksums of " + failures.size() + " artifacts.",
+          failures.values().iterator().next());
+    }
+
+    this.log.debug("\tCalculated " + algorithms + " checksums of " + tasks.size() + " files (" + bytes.get()
+        + " bytes) using " + parallelism + " threads in "
+        + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms.");
+  }
+
+  private int getParallelism() {
+    return this.threads > 0 ? this.threads : Runtime.getRuntime().availableProcessors();
+  }
+}
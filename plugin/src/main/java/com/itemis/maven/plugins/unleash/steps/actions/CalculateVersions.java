@@ -73,13 +73,13 @@ public class CalculateVersions implements CDIMojoProcessingStep {
           : Optional.<Prompter> absent();
 
       String releaseVersion = calculateReleaseVersion(project.getVersion(), prompterToUse);
-      ArtifactCoordinates releaseCoordinates = new ArtifactCoordinates(project.getGroupId(), project.getArtifactId(),
+      ArtifactCoordinates releaseCoordinates = ArtifactCoordinates.of(project.getGroupId(), project.getArtifactId(),
           releaseVersion, PomUtil.ARTIFACT_TYPE_POM);
       this.metadata.addArtifactCoordinates(releaseCoordinates, ReleasePhase.RELEASE);
       this.log.info("\t\t" + ReleasePhase.RELEASE + " = " + releaseVersion);
 
       String nextDevVersion = calculateDevelopmentVersion(project.getVersion(), prompterToUse);
-      ArtifactCoordinates postReleaseCoordinates = new ArtifactCoordinates(project.getGroupId(),
+      ArtifactCoordinates postReleaseCoordinates = ArtifactCoordinates.of(project.getGroupId(),
           project.getArtifactId(), nextDevVersion, PomUtil.ARTIFACT_TYPE_POM);
       this.metadata.addArtifactCoordinates(postReleaseCoordinates, ReleasePhase.POST_RELEASE);
       this.log.info("\t\t" + ReleasePhase.POST_RELEASE + " = " + nextDevVersion);
@@ -1,7 +1,11 @@
 package com.itemis.maven.plugins.unleash.steps.actions;
 
+import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -11,17 +15,36 @@ import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.project.MavenProject;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.deployment.DeploymentException;
+import org.eclipse.aether.repository.RemoteRepository;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.itemis.maven.aether.ArtifactCoordinates;
 import com.itemis.maven.aether.ArtifactDeployer;
+import com.itemis.maven.aether.ArtifactDeployer.DeploymentResult;
+import com.itemis.maven.aether.ArtifactProbe;
 import com.itemis.maven.plugins.cdi.CDIMojoProcessingStep;
 import com.itemis.maven.plugins.cdi.ExecutionContext;
 import com.itemis.maven.plugins.cdi.annotations.ProcessingStep;
 import com.itemis.maven.plugins.cdi.logging.Logger;
 import com.itemis.maven.plugins.unleash.ReleaseMetadata;
+import com.itemis.maven.plugins.unleash.util.ChecksumUtil;
+import com.itemis.maven.plugins.unleash.util.DeploymentJournal;
+import com.itemis.maven.plugins.unleash.util.PartialDeploymentException;
 
 /**
  * Deploys all release artifacts to the remote repository without invoking a Maven build process. Since this step cannot
- * be rolled back it is recommended to execute this step at the very last position of the processing workflow.
+ * be rolled back it is recommended to execute this step at the very last position of the processing workflow.<br>
+ * <br>
+ * The artifacts are deployed to all repositories concurrently. The outcome is logged per repository and the step fails
+ * after all repositories have been processed if the deployment to any of them failed.<br>
+ * <br>
+ * The progress of the deployment is recorded in the {@link DeploymentJournal}. If the deployment fails after some
+ * artifacts have been published, the step fails with a {@link PartialDeploymentException} which keeps the previous
+ * steps from rolling back the release. When executed by the goal {@code resume-deployment} the step then deploys the
+ * release artifacts recorded in the journal instead of the ones of the current release. Artifacts whose deployment has
+ * been journaled are skipped.
  *
  * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
  * @since 1.0.0
@@ -37,21 +60,181 @@ public class DeployArtifacts implements CDIMojoProcessingStep {
   private ArtifactDeployer deployer;
   @Inject
   private ReleaseMetadata metadata;
+  @Inject
+  private DeploymentJournal journal;
+  @Inject
+  private ArtifactProbe probe;
+  @Inject
+  @Named("resumeDeployment")
+  private boolean resume;
+
+  public DeployArtifacts() {
+  }
+
+  DeployArtifacts(ArtifactDeployer deployer, ReleaseMetadata metadata, DeploymentJournal journal, ArtifactProbe probe,
+      boolean resume, Logger log) {
+    this.deployer = deployer;
+    this.metadata = metadata;
+    this.journal = journal;
+    this.probe = probe;
+    this.resume = resume;
+    this.log = log;
+  }
 
   @Override
   public void execute(ExecutionContext context) throws MojoExecutionException, MojoFailureException {
-    this.log.info("Deploying the release artifacts into the distribution repository");
-
+    List<DeploymentResult> results;
+    Collection<Artifact> artifacts;
     try {
-      Collection<Artifact> deployedArtifacts = this.deployer.deployArtifacts(this.metadata.getReleaseArtifacts());
-      if (!deployedArtifacts.isEmpty()) {
-        this.log.debug("\tDeployed the following release artifacts to the remote repository:");
-        for (Artifact a : deployedArtifacts) {
-          this.log.debug("\t\t" + a);
-        }
+      if (this.resume) {
+        this.log.info("Resuming the deployment of the release artifacts into the distribution repositories");
+        DeploymentJournal.State state = readJournal();
+        artifacts = state.getArtifacts();
+        results = this.deployer.deployArtifacts(getMissingArtifacts(state));
+      } else {
+        this.log.info("Deploying the release artifacts into the distribution repositories");
+        artifacts = this.metadata.getReleaseArtifacts() != null ? this.metadata.getReleaseArtifacts()
+            : Collections.<Artifact> emptySet();
+        startJournal(artifacts);
+        results = this.deployer.deployArtifacts(artifacts);
       }
     } catch (DeploymentException e) {
       throw new MojoFailureException("Unable to deploy artifacts into remote repository.", e);
     }
+
+    List<String> failedRepositories = Lists.newArrayList();
+    DeploymentException failure = null;
+    for (DeploymentResult result : results) {
+      RemoteRepository repo = result.getRepository();
+      if (result.isSuccessful()) {
+        this.log.info("\tDeployed " + result.getArtifacts().size() + " artifacts (" + result.getBytes()
+            + " bytes) to repository '" + repo.getId() + "' (" + repo.getUrl() + ") in " + result.getDuration()
+            + " ms.");
+        for (Artifact a : result.getArtifacts()) {
+          this.log.debug("\t\t" + a);
+        }
+      } else {
+        this.log.error("\tDeployment to repository '" + repo.getId() + "' (" + repo.getUrl() + ") failed after "
+            + result.getDuration() + " ms, " + result.getArtifacts().size() + " of " + artifacts.size()
+            + " artifacts have been deployed: " + result.getFailure().get().getMessage());
+        failedRepositories.add(repo.getId());
+        if (failure == null) {
+          failure = result.getFailure().get();
+        } else {
+          failure.addSuppressed(result.getFailure().get());
+        }
+      }
+    }
+
+    if (failure != null) {
+      String message = "Unable to deploy artifacts into remote repositories " + failedRepositories + ".";
+      if (this.resume || isPublished(results)) {
+        // published artifacts cannot be withdrawn, the release must be kept to allow resuming the deployment
+        this.log.error("\tSome release artifacts have already been published, the release is therefore not rolled "
+            + "back. The deployment can be resumed without rebuilding the release by calling the goal "
+            + "'unleash:resume-deployment' on this project.");
+        throw new PartialDeploymentException(message, failure);
+      }
+      throw new MojoFailureException(message, failure);
+    }
+  }
+
+  /**
+   * Checks whether any artifact has been uploaded. Artifacts of chunks that failed partway are not part of the results
+   * but have been recorded in the journal.
+   */
+  private boolean isPublished(List<DeploymentResult> results) {
+    for (DeploymentResult result : results) {
+      if (!result.getArtifacts().isEmpty()) {
+        return true;
+      }
+    }
+
+    try {
+      DeploymentJournal.State state = this.journal.read();
+      for (RemoteRepository repo : this.deployer.getRepositories()) {
+        if (!state.getDeployedArtifacts(repo.getId()).isEmpty()) {
+          return true;
+        }
+      }
+      return false;
+    } catch (IOException e) {
+      // without a journal it is unknown what has been uploaded, keeping the release is the safe choice
+      return true;
+    }
+  }
+
+  private void startJournal(Collection<Artifact> artifacts) {
+    try {
+      this.journal.start(artifacts);
+    } catch (IOException e) {
+      this.log.warn("\tUnable to write the deployment journal '" + this.journal.getFile().getAbsolutePath()
+          + "', the deployment cannot be resumed: " + e.getMessage());
+    }
+  }
+
+  private DeploymentJournal.State readJournal() throws MojoFailureException {
+    DeploymentJournal.State state;
+    try {
+      state = this.journal.read();
+    } catch (IOException e) {
+      throw new MojoFailureException("Unable to resume the deployment since the deployment journal cannot be read.",
+          e);
+    }
+
+    for (Artifact a : state.getArtifacts()) {
+      if (a.getFile() == null || !a.getFile().isFile()) {
+        throw new MojoFailureException("Unable to resume the deployment since the file of release artifact " + a
+            + " doesn't exist anymore: " + a.getFile());
+      }
+    }
+    return state;
+  }
+
+  /**
+   * Determines the artifacts that still need to be deployed to each of the repositories. An artifact is skipped if the
+   * journal records its deployment to the repository, which happens as soon as its upload has succeeded. If the
+   * repository metadata doesn't list the version of a journaled artifact yet, the deployment of its groupId and
+   * artifactId has been aborted before the metadata has been uploaded. In this case the artifacts without classifier
+   * (POM and main artifact) are deployed again to update the metadata.
+   */
+  private Map<RemoteRepository, List<Artifact>> getMissingArtifacts(DeploymentJournal.State state)
+      throws MojoFailureException {
+    Map<RemoteRepository, List<Artifact>> missingArtifacts = Maps.newLinkedHashMap();
+    for (RemoteRepository repo : this.deployer.getRepositories()) {
+      Map<String, String> deployed = state.getDeployedArtifacts(repo.getId());
+      Set<ArtifactCoordinates> journaled = Sets.newHashSet();
+      for (Artifact a : state.getArtifacts()) {
+        String checksum = deployed.get(a.toString());
+        if (checksum != null) {
+          verifyChecksum(a, checksum);
+          journaled.add(ArtifactCoordinates.of(a.getGroupId(), a.getArtifactId(), a.getVersion()));
+        }
+      }
+      Set<ArtifactCoordinates> verified = this.probe.probeRepository(repo, journaled);
+
+      List<Artifact> missing = Lists.newArrayList();
+      for (Artifact a : state.getArtifacts()) {
+        if (!deployed.containsKey(a.toString()) || (a.getClassifier().isEmpty()
+            && !verified.contains(ArtifactCoordinates.of(a.getGroupId(), a.getArtifactId(), a.getVersion())))) {
+          missing.add(a);
+        }
+      }
+      this.log.info("\t" + (state.getArtifacts().size() - missing.size()) + " of " + state.getArtifacts().size()
+          + " artifacts have already been deployed to repository '" + repo.getId() + "'.");
+      missingArtifacts.put(repo, missing);
+    }
+    return missingArtifacts;
+  }
+
+  private void verifyChecksum(Artifact artifact, String checksum) throws MojoFailureException {
+    try {
+      if (!checksum.equals(ChecksumUtil.calculate(artifact.getFile(), ChecksumUtil.SHA1))) {
+        throw new MojoFailureException("Unable to resume the deployment since the file of release artifact "
+            + artifact + " has changed since it has been deployed: " + artifact.getFile());
+      }
+    } catch (IOException e) {
+      throw new MojoFailureException("Unable to calculate the checksum of file " + artifact.getFile(), e);
+    }
   }
 }
@@ -24,6 +24,7 @@ import com.itemis.maven.plugins.cdi.annotations.ProcessingStep;
 import com.itemis.maven.plugins.cdi.annotations.RollbackOnError;
 import com.itemis.maven.plugins.cdi.logging.Logger;
 import com.itemis.maven.plugins.unleash.ReleaseMetadata;
+import com.itemis.maven.plugins.unleash.util.PartialDeploymentException;
 import com.itemis.maven.plugins.unleash.util.functions.AetherToMavenArtifact;
 
 /**
@@ -66,7 +67,10 @@ public class InstallArtifacts implements CDIMojoProcessingStep {
   }
 
   @RollbackOnError
-  public void rollback() {
+  public void rollback(Throwable cause) {
+    if (PartialDeploymentException.isCause(cause)) {
+      return;
+    }
     this.log.info("Rolling back local artifact installation due to a processing exception.");
 
     Collection<org.apache.maven.artifact.Artifact> artifacts = Collections2.transform(this.installedArtifacts,
@@ -8,16 +8,15 @@ import javax.inject.Named;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.project.MavenProject;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
 
-import com.google.common.base.Optional;
 import com.itemis.maven.aether.ArtifactCoordinates;
 import com.itemis.maven.plugins.cdi.CDIMojoProcessingStep;
 import com.itemis.maven.plugins.cdi.ExecutionContext;
 import com.itemis.maven.plugins.cdi.annotations.ProcessingStep;
 import com.itemis.maven.plugins.cdi.logging.Logger;
+import com.itemis.maven.plugins.unleash.util.PomEditSession;
 import com.itemis.maven.plugins.unleash.util.PomUtil;
+import com.itemis.maven.plugins.unleash.util.ReactorPomRewriteException;
 
 /**
  * Removes the artifact-spy-plugin from the reactor pom of the project.<br>
@@ -38,34 +37,22 @@ public class RemoveSpyPlugin implements CDIMojoProcessingStep {
   @Inject
   @Named("artifactSpyPlugin")
   private ArtifactCoordinates artifactSpyPluginCoordinates;
+  @Inject
+  private PomEditSession editSession;
 
   @Override
   public void execute(ExecutionContext context) throws MojoExecutionException, MojoFailureException {
     this.log.info("Removing artifact-spy-plugin from build configuration.");
-    try {
-      for (MavenProject p : this.reactorProjects) {
-        Optional<Document> document = PomUtil.parsePOM(p);
-
-        if (document.isPresent()) {
-          Node plugin = PomUtil.getPlugin(document.get(), this.artifactSpyPluginCoordinates.getGroupId(),
-              this.artifactSpyPluginCoordinates.getArtifactId());
-          if (plugin != null) {
-            Node plugins = plugin.getParentNode();
-            plugins.removeChild(plugin);
-            if (plugins.getChildNodes().getLength() == 0) {
-              Node build = plugins.getParentNode();
-              build.removeChild(plugins);
-              if (build.getChildNodes().getLength() == 0) {
-                build.getParentNode().removeChild(build);
-              }
-            }
+    for (MavenProject p : this.reactorProjects) {
+      this.editSession.edit(p, document -> PomUtil.removePlugin(document,
+          this.artifactSpyPluginCoordinates.getGroupId(), this.artifactSpyPluginCoordinates.getArtifactId()),
+          PomUtil.NODE_NAME_BUILD + "/" + PomUtil.NODE_NAME_PLUGINS);
+    }
 
-            PomUtil.writePOM(document.get(), p);
-          }
-        }
-      }
-    } catch (Throwable t) {
-      throw new MojoFailureException("Could not remove the artifact-spy-plugin from the POM.", t);
+    try {
+      this.editSession.commit();
+    } catch (ReactorPomRewriteException e) {
+      throw new MojoFailureException("Could not remove the artifact-spy-plugin from the POM.", e);
     }
   }
 }
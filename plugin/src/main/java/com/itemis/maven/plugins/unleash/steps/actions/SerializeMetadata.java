@@ -16,6 +16,7 @@ import com.itemis.maven.plugins.cdi.annotations.ProcessingStep;
 import com.itemis.maven.plugins.cdi.annotations.RollbackOnError;
 import com.itemis.maven.plugins.cdi.logging.Logger;
 import com.itemis.maven.plugins.unleash.ReleaseMetadata;
+import com.itemis.maven.plugins.unleash.util.PartialDeploymentException;
 
 /**
  * Serializes the release metadata into a properties file located in the output directory of the project.<br/>
@@ -49,7 +50,10 @@ public class SerializeMetadata implements CDIMojoProcessingStep {
   }
 
   @RollbackOnError
-  public void rollback() {
+  public void rollback(Throwable cause) {
+    if (PartialDeploymentException.isCause(cause)) {
+      return;
+    }
     this.log.info("Rolling back release metadata serialization due to a processing exception.");
     if (this.metadataOutputFile.exists()) {
       this.log.debug("\tDeleting metadata output file '" + this.metadataOutputFile.getAbsolutePath() + "'");
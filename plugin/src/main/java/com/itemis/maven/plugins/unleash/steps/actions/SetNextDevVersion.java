@@ -7,8 +7,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.project.MavenProject;
-import org.w3c.dom.Document;
 
+import com.google.common.base.Optional;
 import com.google.common.collect.Maps;
 import com.itemis.maven.aether.ArtifactCoordinates;
 import com.itemis.maven.plugins.cdi.ExecutionContext;
@@ -18,7 +18,9 @@ import com.itemis.maven.plugins.unleash.ReleasePhase;
 import com.itemis.maven.plugins.unleash.scm.ScmProvider;
 import com.itemis.maven.plugins.unleash.scm.requests.RevertCommitsRequest;
 import com.itemis.maven.plugins.unleash.util.DevVersionUtil;
-import com.itemis.maven.plugins.unleash.util.PomUtil;
+import com.itemis.maven.plugins.unleash.util.PartialDeploymentException;
+import com.itemis.maven.plugins.unleash.util.PomSnapshot;
+import com.itemis.maven.plugins.unleash.util.ReactorPomRewriteException;
 import com.itemis.maven.plugins.unleash.util.VersionUpgradeStrategy;
 import com.itemis.maven.plugins.unleash.util.functions.ProjectToCoordinates;
 import com.itemis.maven.plugins.unleash.util.functions.ProjectToString;
@@ -34,8 +36,6 @@ import com.itemis.maven.plugins.unleash.util.scm.ScmProviderRegistry;
  */
 @ProcessingStep(id = "setDevVersion", description = "Updates the projects with the next development versions, reverts previous SCM path changes and finally commits the changes to the current branch.", requiresOnline = true)
 public class SetNextDevVersion extends AbstractVersionsStep {
-  @Inject
-  MavenProject project;
   @Inject
   private ScmProviderRegistry scmProviderRegistry;
   @Inject
@@ -52,28 +52,29 @@ public class SetNextDevVersion extends AbstractVersionsStep {
     this.log.info("Preparing project modules for next development cycle.");
 
     this.scmProvider = this.scmProviderRegistry.getProvider();
-    this.cachedPOMs = Maps.newHashMap();
-
-    for (MavenProject project : this.reactorProjects) {
-      this.log.debug("\tPreparing module '" + ProjectToString.INSTANCE.apply(project) + "'.");
-      this.cachedPOMs.put(ProjectToCoordinates.EMPTY_VERSION.apply(project), PomUtil.parsePOM(project).get());
-
-      try {
-        Document document = loadAndProcess(project);
-        PomUtil.writePOM(document, project);
-      } catch (Throwable t) {
-        throw new MojoFailureException("Could not update versions for next development cycle.", t);
-      }
+    this.cachedPOMs = Maps.newConcurrentMap();
+
+    try {
+      this.pomRewriter.rewrite(this.reactorProjects, project -> {
+        this.log.debug("\tPreparing module '" + ProjectToString.INSTANCE.apply(project) + "'.");
+        Optional<PomSnapshot> snapshot = this.snapshotJournal.snapshot(project);
+        if (snapshot.isPresent()) {
+          this.cachedPOMs.put(ProjectToCoordinates.EMPTY_VERSION.apply(project), snapshot.get());
+        }
+        recordVersionUpdates(project);
+      });
+      this.editSession.commit();
+    } catch (ReactorPomRewriteException e) {
+      throw new MojoFailureException("Could not update versions for next development cycle.", e);
     }
 
     this.util.commitChanges(true);
   }
 
   @Override
-  protected Document loadAndProcess(MavenProject project) {
-    Document document = super.loadAndProcess(project);
-    this.util.revertScmSettings(project, document);
-    return document;
+  protected void recordVersionUpdates(MavenProject project) {
+    super.recordVersionUpdates(project);
+    this.editSession.edit(project, this.util.revertScmSettings(project));
   }
 
   @Override
@@ -104,9 +105,13 @@ public class SetNextDevVersion extends AbstractVersionsStep {
   }
 
   @RollbackOnError
-  public void rollback() throws MojoExecutionException {
+  public void rollback(Throwable cause) throws MojoExecutionException {
+    if (PartialDeploymentException.isCause(cause)) {
+      return;
+    }
     this.log.info(
         "Rollback of all pom changes necessary for setting of the development version as well as reverting any made SCM commits.");
+    this.editSession.discard();
 
     StringBuilder message = new StringBuilder(
         "Reversion of failed release build (step: setting of next snapshot version).");
@@ -124,16 +129,16 @@ public class SetNextDevVersion extends AbstractVersionsStep {
       this.scmProvider.revertCommits(revertCommitsRequest);
     }
 
-    for (MavenProject project : this.reactorProjects) {
-      Document document = this.cachedPOMs.get(ProjectToCoordinates.EMPTY_VERSION.apply(project));
-      if (document != null) {
-        try {
-          PomUtil.writePOM(document, this.project);
-        } catch (Throwable t) {
-          throw new MojoExecutionException(
-              "Could not revert the setting of development versions after a failed release build.", t);
+    try {
+      this.pomRewriter.rewrite(this.reactorProjects, project -> {
+        PomSnapshot snapshot = this.cachedPOMs.get(ProjectToCoordinates.EMPTY_VERSION.apply(project));
+        if (snapshot != null) {
+          this.snapshotJournal.restore(snapshot);
         }
-      }
+      });
+    } catch (ReactorPomRewriteException e) {
+      throw new MojoExecutionException(
+          "Could not revert the setting of development versions after a failed release build.", e);
     }
   }
 }
@@ -2,8 +2,6 @@ package com.itemis.maven.plugins.unleash.steps.actions;
 
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
-import org.apache.maven.project.MavenProject;
-import org.w3c.dom.Document;
 
 import com.google.common.base.Optional;
 import com.google.common.collect.Maps;
@@ -11,7 +9,9 @@ import com.itemis.maven.plugins.cdi.ExecutionContext;
 import com.itemis.maven.plugins.cdi.annotations.ProcessingStep;
 import com.itemis.maven.plugins.cdi.annotations.RollbackOnError;
 import com.itemis.maven.plugins.unleash.ReleasePhase;
-import com.itemis.maven.plugins.unleash.util.PomUtil;
+import com.itemis.maven.plugins.unleash.util.PartialDeploymentException;
+import com.itemis.maven.plugins.unleash.util.PomSnapshot;
+import com.itemis.maven.plugins.unleash.util.ReactorPomRewriteException;
 import com.itemis.maven.plugins.unleash.util.functions.ProjectToCoordinates;
 import com.itemis.maven.plugins.unleash.util.functions.ProjectToString;
 
@@ -28,20 +28,19 @@ public class SetReleaseVersions extends AbstractVersionsStep {
   @Override
   public void execute(ExecutionContext context) throws MojoExecutionException, MojoFailureException {
     this.log.info("Updating project modules with release versions");
-    this.cachedPOMs = Maps.newHashMap();
+    this.cachedPOMs = Maps.newConcurrentMap();
 
-    for (MavenProject project : this.reactorProjects) {
-      Optional<Document> parsedPOM = PomUtil.parsePOM(project);
-      if (parsedPOM.isPresent()) {
-        this.cachedPOMs.put(ProjectToCoordinates.EMPTY_VERSION.apply(project), parsedPOM.get());
-
-        try {
-          Document document = loadAndProcess(project);
-          PomUtil.writePOM(document, project);
-        } catch (Throwable t) {
-          throw new MojoFailureException("Could not update versions for release.", t);
+    try {
+      this.pomRewriter.rewrite(this.reactorProjects, project -> {
+        Optional<PomSnapshot> snapshot = this.snapshotJournal.snapshot(project);
+        if (snapshot.isPresent()) {
+          this.cachedPOMs.put(ProjectToCoordinates.EMPTY_VERSION.apply(project), snapshot.get());
+          recordVersionUpdates(project);
         }
-      }
+      });
+      this.editSession.commit();
+    } catch (ReactorPomRewriteException e) {
+      throw new MojoFailureException("Could not update versions for release.", e);
     }
   }
 
@@ -56,21 +55,25 @@ public class SetReleaseVersions extends AbstractVersionsStep {
   }
 
   @RollbackOnError
-  public void rollback() throws MojoExecutionException {
+  public void rollback(Throwable cause) throws MojoExecutionException {
+    if (PartialDeploymentException.isCause(cause)) {
+      return;
+    }
     this.log.info("Rollback of release version updating for all project modules");
+    this.editSession.discard();
 
-    for (MavenProject project : this.reactorProjects) {
-      this.log.debug("\tRolling back modifications on POM of module '" + ProjectToString.INSTANCE.apply(project) + "'");
-
-      Document document = this.cachedPOMs.get(ProjectToCoordinates.EMPTY_VERSION.apply(project));
-      if (document != null) {
-        try {
-          PomUtil.writePOM(document, project);
-        } catch (Throwable t) {
-          throw new MojoExecutionException(
-              "Could not revert the setting of release versions after a failed release build.", t);
+    try {
+      this.pomRewriter.rewrite(this.reactorProjects, project -> {
+        PomSnapshot snapshot = this.cachedPOMs.get(ProjectToCoordinates.EMPTY_VERSION.apply(project));
+        if (snapshot != null) {
+          this.log.debug(
+              "\tRolling back modifications on POM of module '" + ProjectToString.INSTANCE.apply(project) + "'");
+          this.snapshotJournal.restore(snapshot);
         }
-      }
+      });
+    } catch (ReactorPomRewriteException e) {
+      throw new MojoExecutionException(
+          "Could not revert the setting of release versions after a failed release build.", e);
     }
   }
 }
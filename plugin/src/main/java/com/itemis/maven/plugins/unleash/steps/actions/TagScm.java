@@ -1,5 +1,6 @@
 package com.itemis.maven.plugins.unleash.steps.actions;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -33,7 +34,13 @@ import com.itemis.maven.plugins.unleash.scm.requests.PushRequest;
 import com.itemis.maven.plugins.unleash.scm.requests.RevertCommitsRequest;
 import com.itemis.maven.plugins.unleash.scm.requests.TagRequest;
 import com.itemis.maven.plugins.unleash.scm.requests.TagRequest.Builder;
+import com.itemis.maven.plugins.unleash.util.PartialDeploymentException;
+import com.itemis.maven.plugins.unleash.util.PomEditSession;
+import com.itemis.maven.plugins.unleash.util.PomSnapshot;
+import com.itemis.maven.plugins.unleash.util.PomSnapshotJournal;
 import com.itemis.maven.plugins.unleash.util.PomUtil;
+import com.itemis.maven.plugins.unleash.util.ReactorPomRewriteException;
+import com.itemis.maven.plugins.unleash.util.ReactorPomRewriter;
 import com.itemis.maven.plugins.unleash.util.functions.ProjectToCoordinates;
 import com.itemis.maven.plugins.unleash.util.functions.ProjectToString;
 import com.itemis.maven.plugins.unleash.util.scm.ScmPomVersionsMergeClient;
@@ -64,10 +71,16 @@ public class TagScm implements CDIMojoProcessingStep {
   @Inject
   @Named("commitBeforeTagging")
   private boolean commitBeforeTagging;
+  @Inject
+  private ReactorPomRewriter pomRewriter;
   private ScmProvider scmProvider;
   private String globalReleaseVersion;
   private boolean tagWasPresent;
-  private Map<ArtifactCoordinates, Document> cachedPOMs;
+  @Inject
+  private PomSnapshotJournal snapshotJournal;
+  @Inject
+  private PomEditSession editSession;
+  private Map<ArtifactCoordinates, PomSnapshot> cachedPOMs;
 
   private void init() {
     this.scmProvider = this.scmProviderRegistry.getProvider();
@@ -75,7 +88,7 @@ public class TagScm implements CDIMojoProcessingStep {
         .getArtifactCoordinatesByPhase(this.project.getGroupId(), this.project.getArtifactId());
     ArtifactCoordinates postReleaseCoordinates = coordinates.get(ReleasePhase.RELEASE);
     this.globalReleaseVersion = postReleaseCoordinates.getVersion();
-    this.cachedPOMs = Maps.newHashMap();
+    this.cachedPOMs = Maps.newConcurrentMap();
   }
 
   @Override
@@ -124,56 +137,62 @@ public class TagScm implements CDIMojoProcessingStep {
   }
 
   private void updateScmConnections(String scmTagName) throws MojoFailureException {
-    for (MavenProject p : this.reactorProjects) {
-      Scm scm = p.getModel().getScm();
-      if (scm != null) {
-        this.log.debug("\tUpdating SCM connection tags in POM of module '" + ProjectToString.INSTANCE.apply(p) + "'");
-
-        Optional<Document> parsedPOM = PomUtil.parsePOM(p);
-        if (parsedPOM.isPresent()) {
-          this.cachedPOMs.put(ProjectToCoordinates.EMPTY_VERSION.apply(p), parsedPOM.get());
-
-          try {
-            // parse again to not modify the cached object
-            Document document = PomUtil.parsePOM(p).get();
-            Node scmNode = PomUtil.getOrCreateScmNode(document, false);
-
-            if (scmNode != null) {
-              Optional<String> connection = PomUtil.getChildNodeTextContent(scmNode, PomUtil.NODE_NAME_SCM_CONNECTION);
-              if (connection.isPresent()) {
-                PomUtil.setNodeTextContent(scmNode, PomUtil.NODE_NAME_SCM_CONNECTION,
-                    this.scmProvider.calculateTagConnectionString(connection.get(), scmTagName), false);
-              }
-
-              Optional<String> devConnection = PomUtil.getChildNodeTextContent(scmNode,
-                  PomUtil.NODE_NAME_SCM_DEV_CONNECTION);
-              if (devConnection.isPresent()) {
-                PomUtil.setNodeTextContent(scmNode, PomUtil.NODE_NAME_SCM_DEV_CONNECTION,
-                    this.scmProvider.calculateTagConnectionString(devConnection.get(), scmTagName), false);
-              }
-
-              Optional<String> url = PomUtil.getChildNodeTextContent(scmNode, PomUtil.NODE_NAME_SCM_URL);
-              if (url.isPresent()) {
-                PomUtil.setNodeTextContent(scmNode, PomUtil.NODE_NAME_SCM_URL,
-                    this.scmProvider.calculateTagConnectionString(url.get(), scmTagName), false);
-              }
-
-              if (!this.scmProvider.isTagInfoIncludedInConnection()) {
-                PomUtil.setNodeTextContent(scmNode, PomUtil.NODE_NAME_SCM_TAG, scmTagName, true);
-              }
-              PomUtil.writePOM(document, p);
-            }
-          } catch (Throwable t) {
-            throw new MojoFailureException("Could not update scm information for release.", t);
-          }
+    try {
+      this.pomRewriter.rewrite(this.reactorProjects, p -> {
+        Scm scm = p.getModel().getScm();
+        if (scm != null) {
+          updateScmConnections(p, scmTagName);
         }
+      });
+      this.editSession.commit();
+    } catch (ReactorPomRewriteException e) {
+      throw new MojoFailureException("Could not update scm information for release.", e);
+    }
+  }
+
+  private void updateScmConnections(MavenProject p, String scmTagName) throws IOException {
+    Optional<PomSnapshot> snapshot = this.snapshotJournal.snapshot(p);
+    if (snapshot.isPresent()) {
+      this.log.debug("\tUpdating SCM connection tags in POM of module '" + ProjectToString.INSTANCE.apply(p) + "'");
+      this.cachedPOMs.put(ProjectToCoordinates.EMPTY_VERSION.apply(p), snapshot.get());
+      this.editSession.edit(p, document -> updateScmConnections(document, scmTagName), PomUtil.NODE_NAME_SCM);
+    }
+  }
+
+  private void updateScmConnections(Document document, String scmTagName) {
+    Node scmNode = PomUtil.getOrCreateScmNode(document, false);
+    if (scmNode != null) {
+      Optional<String> connection = PomUtil.getChildNodeTextContent(scmNode, PomUtil.NODE_NAME_SCM_CONNECTION);
+      if (connection.isPresent()) {
+        PomUtil.setNodeTextContent(scmNode, PomUtil.NODE_NAME_SCM_CONNECTION,
+            this.scmProvider.calculateTagConnectionString(connection.get(), scmTagName), false);
+      }
+
+      Optional<String> devConnection = PomUtil.getChildNodeTextContent(scmNode, PomUtil.NODE_NAME_SCM_DEV_CONNECTION);
+      if (devConnection.isPresent()) {
+        PomUtil.setNodeTextContent(scmNode, PomUtil.NODE_NAME_SCM_DEV_CONNECTION,
+            this.scmProvider.calculateTagConnectionString(devConnection.get(), scmTagName), false);
+      }
+
+      Optional<String> url = PomUtil.getChildNodeTextContent(scmNode, PomUtil.NODE_NAME_SCM_URL);
+      if (url.isPresent()) {
+        PomUtil.setNodeTextContent(scmNode, PomUtil.NODE_NAME_SCM_URL,
+            this.scmProvider.calculateTagConnectionString(url.get(), scmTagName), false);
+      }
+
+      if (!this.scmProvider.isTagInfoIncludedInConnection()) {
+        PomUtil.setNodeTextContent(scmNode, PomUtil.NODE_NAME_SCM_TAG, scmTagName, true);
       }
     }
   }
 
   @RollbackOnError
-  private void rollback() throws MojoExecutionException {
+  private void rollback(Throwable cause) throws MojoExecutionException {
+    if (PartialDeploymentException.isCause(cause)) {
+      return;
+    }
     this.log.info("Rollback of SCM tag creation and POM modifications due to a processing exception.");
+    this.editSession.discard();
     String scmTagName = this.metadata.getScmTagName();
 
     StringBuilder deleteTagMessageBuilder = new StringBuilder("Deletion of tag '").append(scmTagName)
@@ -217,17 +236,17 @@ public class TagScm implements CDIMojoProcessingStep {
       }
     }
 
-    for (MavenProject project : this.reactorProjects) {
-      Document document = this.cachedPOMs.get(ProjectToCoordinates.EMPTY_VERSION.apply(project));
-      if (document != null) {
-        try {
-          PomUtil.writePOM(document, project);
-        } catch (Throwable t) {
-          throw new MojoExecutionException(
-              "Could not revert SCM connection adaption after a failed release build. Tried to reset tag connection URL to initial state.",
-              t);
+    try {
+      this.pomRewriter.rewrite(this.reactorProjects, project -> {
+        PomSnapshot snapshot = this.cachedPOMs.get(ProjectToCoordinates.EMPTY_VERSION.apply(project));
+        if (snapshot != null) {
+          this.snapshotJournal.restore(snapshot);
         }
-      }
+      });
+    } catch (ReactorPomRewriteException e) {
+      throw new MojoExecutionException(
+          "Could not revert SCM connection adaption after a failed release build. Tried to reset tag connection URL to initial state.",
+          e);
     }
   }
 }
@@ -15,7 +15,6 @@ import org.codehaus.plexus.component.repository.exception.ComponentLookupExcepti
 import org.eclipse.tycho.versions.engine.ProjectMetadataReader;
 import org.eclipse.tycho.versions.engine.VersionsEngine;
 import org.eclipse.tycho.versions.pom.PomFile;
-import org.w3c.dom.Document;
 
 import com.google.common.base.Optional;
 import com.google.common.collect.Maps;
@@ -26,7 +25,11 @@ import com.itemis.maven.plugins.cdi.annotations.RollbackOnError;
 import com.itemis.maven.plugins.cdi.logging.Logger;
 import com.itemis.maven.plugins.unleash.ReleaseMetadata;
 import com.itemis.maven.plugins.unleash.ReleasePhase;
-import com.itemis.maven.plugins.unleash.util.PomUtil;
+import com.itemis.maven.plugins.unleash.util.PartialDeploymentException;
+import com.itemis.maven.plugins.unleash.util.PomEditSession;
+import com.itemis.maven.plugins.unleash.util.PomSnapshot;
+import com.itemis.maven.plugins.unleash.util.PomSnapshotJournal;
+import com.itemis.maven.plugins.unleash.util.ReactorPomRewriteException;
 import com.itemis.maven.plugins.unleash.util.functions.ProjectToCoordinates;
 import com.itemis.maven.plugins.unleash.util.functions.ProjectToString;
 
@@ -49,7 +52,11 @@ public abstract class AbstractTychoVersionsStep implements CDIMojoProcessingStep
   @Inject
   @Named("reactorProjects")
   private List<MavenProject> reactorProjects;
-  private Map<ArtifactCoordinates, Document> cachedPOMs;
+  @Inject
+  private PomSnapshotJournal snapshotJournal;
+  @Inject
+  protected PomEditSession editSession;
+  private Map<ArtifactCoordinates, PomSnapshot> cachedPOMs;
   private Map<ArtifactCoordinates, String> cachedModuleVersions;
   private ProjectMetadataReader metadataReader;
 
@@ -58,13 +65,20 @@ public abstract class AbstractTychoVersionsStep implements CDIMojoProcessingStep
     this.cachedPOMs = Maps.newHashMap();
     this.cachedModuleVersions = Maps.newHashMap();
 
+    try {
+      // tycho reads and writes the POMs itself
+      this.editSession.commit();
+    } catch (ReactorPomRewriteException e) {
+      throw new MojoExecutionException("Could not write the modified POMs prior to the tycho version upgrade.", e);
+    }
+
     VersionsEngine versionsEngine = initializeVersionsEngine();
     try {
       for (MavenProject module : this.reactorProjects) {
         ArtifactCoordinates coordinates = ProjectToCoordinates.EMPTY_VERSION.apply(module);
-        Optional<Document> parsedPOM = PomUtil.parsePOM(this.project);
-        if (parsedPOM.isPresent()) {
-          this.cachedPOMs.put(coordinates, parsedPOM.get());
+        Optional<PomSnapshot> snapshot = this.snapshotJournal.snapshot(module);
+        if (snapshot.isPresent()) {
+          this.cachedPOMs.put(coordinates, snapshot.get());
         }
         this.cachedModuleVersions.put(coordinates, module.getVersion());
 
@@ -112,7 +126,11 @@ public abstract class AbstractTychoVersionsStep implements CDIMojoProcessingStep
   }
 
   @RollbackOnError
-  public void rollback() throws MojoExecutionException, MojoFailureException {
+  public void rollback(Throwable cause) throws MojoExecutionException, MojoFailureException {
+    if (PartialDeploymentException.isCause(cause)) {
+      return;
+    }
+    this.editSession.discard();
     VersionsEngine versionsEngine = initializeVersionsEngine();
     try {
       // first add all module version changes to the versions engine of tycho and execute the change command
@@ -125,13 +143,13 @@ public abstract class AbstractTychoVersionsStep implements CDIMojoProcessingStep
       // second step is to revert all pom changes by simply replacing the poms
       for (MavenProject module : this.reactorProjects) {
         this.log.debug(
-            "\tRolling back modifications on POM of module '" + ProjectToString.INSTANCE.apply(this.project) + "'");
+            "\tRolling back modifications on POM of module '" + ProjectToString.INSTANCE.apply(module) + "'");
         ArtifactCoordinates coordinates = ProjectToCoordinates.EMPTY_VERSION.apply(module);
 
-        Document document = this.cachedPOMs.get(coordinates);
-        if (document != null) {
+        PomSnapshot snapshot = this.cachedPOMs.get(coordinates);
+        if (snapshot != null) {
           try {
-            PomUtil.writePOM(document, this.project);
+            this.snapshotJournal.restore(snapshot);
           } catch (Throwable t) {
             throw new MojoExecutionException("Could not revert the version update after a failed release build.", t);
           }
@@ -9,9 +9,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.project.MavenProject;
-import org.w3c.dom.Document;
 
-import com.google.common.base.Optional;
 import com.itemis.maven.plugins.cdi.CDIMojoProcessingStep;
 import com.itemis.maven.plugins.cdi.ExecutionContext;
 import com.itemis.maven.plugins.cdi.annotations.ProcessingStep;
@@ -22,7 +20,8 @@ import com.itemis.maven.plugins.unleash.ReleasePhase;
 import com.itemis.maven.plugins.unleash.scm.ScmProvider;
 import com.itemis.maven.plugins.unleash.scm.requests.RevertCommitsRequest;
 import com.itemis.maven.plugins.unleash.util.DevVersionUtil;
-import com.itemis.maven.plugins.unleash.util.PomUtil;
+import com.itemis.maven.plugins.unleash.util.PartialDeploymentException;
+import com.itemis.maven.plugins.unleash.util.ReactorPomRewriteException;
 import com.itemis.maven.plugins.unleash.util.scm.ScmPomVersionsMergeClient;
 import com.itemis.maven.plugins.unleash.util.scm.ScmProviderRegistry;
 
@@ -58,16 +57,12 @@ public class SetDevVersionsTycho extends AbstractTychoVersionsStep implements CD
 
     this.scmProvider = this.scmProviderRegistry.getProvider();
     for (MavenProject project : this.reactorProjects) {
-      try {
-        Optional<Document> parsedPOM = PomUtil.parsePOM(project);
-        if (parsedPOM.isPresent()) {
-          Document document = parsedPOM.get();
-          this.util.revertScmSettings(project, document);
-          PomUtil.writePOM(document, project);
-        }
-      } catch (Throwable t) {
-        throw new MojoFailureException("Could not update versions for next development cycle.", t);
-      }
+      this.editSession.edit(project, this.util.revertScmSettings(project));
+    }
+    try {
+      this.editSession.commit();
+    } catch (ReactorPomRewriteException e) {
+      throw new MojoFailureException("Could not update versions for next development cycle.", e);
     }
 
     this.util.commitChanges(false);
@@ -80,7 +75,10 @@ public class SetDevVersionsTycho extends AbstractTychoVersionsStep implements CD
 
   @Override
   @RollbackOnError
-  public void rollback() throws MojoExecutionException, MojoFailureException {
+  public void rollback(Throwable cause) throws MojoExecutionException, MojoFailureException {
+    if (PartialDeploymentException.isCause(cause)) {
+      return;
+    }
     this.log.info("Rollback of all version changes necessary for the next development cycle (POMs, MANIFESTs, ...).");
 
     StringBuilder message = new StringBuilder(
@@ -96,6 +94,6 @@ public class SetDevVersionsTycho extends AbstractTychoVersionsStep implements CD
     this.scmProvider.revertCommits(revertCommitsRequest);
 
     // rolls back the version changes using tycho
-    super.rollback();
+    super.rollback(cause);
   }
 }
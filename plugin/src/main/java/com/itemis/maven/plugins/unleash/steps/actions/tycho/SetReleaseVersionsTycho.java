@@ -11,6 +11,7 @@ import com.itemis.maven.plugins.cdi.annotations.ProcessingStep;
 import com.itemis.maven.plugins.cdi.annotations.RollbackOnError;
 import com.itemis.maven.plugins.cdi.logging.Logger;
 import com.itemis.maven.plugins.unleash.ReleasePhase;
+import com.itemis.maven.plugins.unleash.util.PartialDeploymentException;
 
 /**
  * Uses Eclipse Tycho features to upgrade the POMs and MANIFESTs with the release versions. It also updates
@@ -37,8 +38,11 @@ public class SetReleaseVersionsTycho extends AbstractTychoVersionsStep implement
 
   @Override
   @RollbackOnError
-  public void rollback() throws MojoExecutionException, MojoFailureException {
+  public void rollback(Throwable cause) throws MojoExecutionException, MojoFailureException {
+    if (PartialDeploymentException.isCause(cause)) {
+      return;
+    }
     this.log.info("Rollback of all version changes necessary for the release (POMs, MANIFESTs, ...).");
-    super.rollback();
+    super.rollback(cause);
   }
 }
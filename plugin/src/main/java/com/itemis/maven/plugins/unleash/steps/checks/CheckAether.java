@@ -16,8 +16,8 @@ import com.google.common.collect.Collections2;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.itemis.maven.aether.ArtifactCoordinates;
-import com.itemis.maven.aether.ArtifactResolver;
-import com.itemis.maven.aether.ArtifactResolver.ResolutionResult;
+import com.itemis.maven.aether.ArtifactProbe;
+import com.itemis.maven.aether.ResolutionResult;
 import com.itemis.maven.plugins.cdi.CDIMojoProcessingStep;
 import com.itemis.maven.plugins.cdi.ExecutionContext;
 import com.itemis.maven.plugins.cdi.annotations.ProcessingStep;
@@ -45,7 +45,7 @@ public class CheckAether implements CDIMojoProcessingStep {
   @Named("reactorProjects")
   private List<MavenProject> reactorProjects;
   @Inject
-  private ArtifactResolver artifactResolver;
+  private ArtifactProbe artifactProbe;
   @Inject
   @Named("allowLocalReleaseArtifacts")
   private boolean allowLocalReleaseArtifacts;
@@ -58,20 +58,28 @@ public class CheckAether implements CDIMojoProcessingStep {
 
     Collection<MavenProject> snapshotProjects = Collections2.filter(this.reactorProjects, IsSnapshotProject.INSTANCE);
 
-    Map<ArtifactCoordinates, String> remotelyReleasedProjects = Maps.newHashMap();
-    List<ArtifactCoordinates> locallyReleasedProjects = Lists.newArrayList();
+    Map<ArtifactCoordinates, ArtifactCoordinates> releasePoms = Maps.newLinkedHashMap();
     for (MavenProject p : snapshotProjects) {
       this.log.debug("\tChecking module '" + ProjectToString.INSTANCE.apply(p) + "'");
       ArtifactCoordinates calculatedCoordinates = this.metadata
           .getArtifactCoordinatesByPhase(p.getGroupId(), p.getArtifactId()).get(ReleasePhase.RELEASE);
+      releasePoms.put(ArtifactCoordinates.of(calculatedCoordinates.getGroupId(), calculatedCoordinates.getArtifactId(),
+          calculatedCoordinates.getVersion(), PomUtil.ARTIFACT_TYPE_POM), calculatedCoordinates);
+    }
 
-      Optional<ResolutionResult> remoteResolvedArtifact = resolve(calculatedCoordinates.getGroupId(),
-          calculatedCoordinates.getArtifactId(), calculatedCoordinates.getVersion(), true);
-      if (remoteResolvedArtifact.isPresent()) {
-        remotelyReleasedProjects.put(calculatedCoordinates, remoteResolvedArtifact.get().getRepositoryId());
-      } else if (resolve(calculatedCoordinates.getGroupId(), calculatedCoordinates.getArtifactId(),
-          calculatedCoordinates.getVersion(), false).isPresent()) {
-        locallyReleasedProjects.add(calculatedCoordinates);
+    // all release POMs are probed at once without downloading them, the remote and local verdicts are derived from the
+    // same result
+    Map<ArtifactCoordinates, Optional<ResolutionResult>> results = this.artifactProbe.probeAll(releasePoms.keySet());
+    Map<ArtifactCoordinates, String> remotelyReleasedProjects = Maps.newLinkedHashMap();
+    List<ArtifactCoordinates> locallyReleasedProjects = Lists.newArrayList();
+    for (Map.Entry<ArtifactCoordinates, ArtifactCoordinates> entry : releasePoms.entrySet()) {
+      Optional<ResolutionResult> result = results.get(entry.getKey());
+      if (result.isPresent()) {
+        if (result.get().isLocal()) {
+          locallyReleasedProjects.add(entry.getValue());
+        } else {
+          remotelyReleasedProjects.put(entry.getValue(), result.get().getRepositoryId());
+        }
       }
     }
 
@@ -109,10 +117,4 @@ public class CheckAether implements CDIMojoProcessingStep {
       }
     }
   }
-
-  private Optional<ResolutionResult> resolve(String groupId, String artifactId, String version, boolean remoteOnly) {
-    ArtifactCoordinates coordinates = new ArtifactCoordinates(groupId, artifactId, version, PomUtil.ARTIFACT_TYPE_POM);
-    Optional<ResolutionResult> result = this.artifactResolver.resolve(coordinates, remoteOnly);
-    return result;
-  }
 }
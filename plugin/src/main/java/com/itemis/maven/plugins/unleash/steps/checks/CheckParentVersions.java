@@ -30,7 +30,7 @@ import com.itemis.maven.plugins.unleash.util.predicates.IsSnapshotProject;
  * @since 1.0.0
  */
 @ProcessingStep(id = "checkParentVersions", description = "Checks that none of the project modules references a SNAPSHOT parent that is not scheduled for release.", requiresOnline = false)
-public class CheckParentVersions implements CDIMojoProcessingStep {
+public class CheckParentVersions implements CDIMojoProcessingStep, ReactorCheck {
   @Inject
   private Logger log;
   @Inject
@@ -41,10 +41,23 @@ public class CheckParentVersions implements CDIMojoProcessingStep {
 
   @Override
   public void execute(ExecutionContext context) throws MojoExecutionException, MojoFailureException {
-    this.log.info(
-        "Checking that the project modules do not reference SNAPSHOT parents that are not scheduled for release.");
+    this.log.info(getDescription());
+    CheckReport report = check();
+    if (report.isFailed()) {
+      report.log(this.log);
+      throw new MojoFailureException(report.getFailureMessage());
+    }
+  }
+
+  @Override
+  public String getDescription() {
+    return "Checking that the project modules do not reference SNAPSHOT parents that are not scheduled for release.";
+  }
 
-    Map<String, String> snapshotParentReferences = Maps.newHashMap();
+  @Override
+  public CheckReport check() {
+    CheckReport report = new CheckReport();
+    Map<String, String> snapshotParentReferences = Maps.newLinkedHashMap();
     for (MavenProject p : this.reactorProjects) {
       MavenProject parent = p.getParent();
       if (parent != null && IsSnapshotProject.INSTANCE.apply(parent)) {
@@ -61,12 +74,12 @@ public class CheckParentVersions implements CDIMojoProcessingStep {
     }
 
     if (!snapshotParentReferences.isEmpty()) {
-      this.log.error("\tThe following modules have references to SNAPSHOT parents that are not scheduled for release:");
+      report.addError("\tThe following modules have references to SNAPSHOT parents that are not scheduled for release:");
       for (String projectCoordinates : snapshotParentReferences.keySet()) {
-        this.log.error("\t\t" + projectCoordinates + " => " + snapshotParentReferences.get(projectCoordinates));
+        report.addError("\t\t" + projectCoordinates + " => " + snapshotParentReferences.get(projectCoordinates));
       }
-      throw new MojoFailureException(
-          "There are modules that reference SNAPSHOT parents which are not scheduled for release!");
+      report.fail("There are modules that reference SNAPSHOT parents which are not scheduled for release!");
     }
+    return report;
   }
 }
@@ -25,7 +25,7 @@ import com.itemis.maven.plugins.unleash.util.predicates.IsSnapshotProject;
  * @since 1.0.0
  */
 @ProcessingStep(id = "checkProjectVersions", description = "Checks that at least one of the projects as a SNAPSHOT version assigned and is thus releasable.", requiresOnline = false)
-public class CheckProjectVersions implements CDIMojoProcessingStep {
+public class CheckProjectVersions implements CDIMojoProcessingStep, ReactorCheck {
   @Inject
   private Logger log;
   @Inject
@@ -34,17 +34,33 @@ public class CheckProjectVersions implements CDIMojoProcessingStep {
 
   @Override
   public void execute(ExecutionContext context) throws MojoExecutionException, MojoFailureException {
-    this.log.debug("Checking that at least one of the reactor projects has a SNAPSHOT version assigned.");
+    this.log.debug(getDescription());
+    CheckReport report = check();
+    if (report.isFailed()) {
+      report.log(this.log);
+      throw new IllegalStateException(report.getFailureMessage());
+    }
+  }
+
+  @Override
+  public String getDescription() {
+    return "Checking that at least one of the reactor projects has a SNAPSHOT version assigned.";
+  }
+
+  @Override
+  public CheckReport check() {
+    CheckReport report = new CheckReport();
     boolean hasSnapshotProjects = !Collections2.filter(this.reactorProjects, IsSnapshotProject.INSTANCE).isEmpty();
 
     if (!hasSnapshotProjects) {
       String errorTitle = "There are no snapshot projects that could be released!";
-      this.log.error(errorTitle);
-      this.log.error("\tThe reactor project list must contain at least one project with a SNAPSHOT version assigned.");
+      report.addError(errorTitle);
+      report.addError("\tThe reactor project list must contain at least one project with a SNAPSHOT version assigned.");
       for (MavenProject p : this.reactorProjects) {
-        this.log.error("\t" + ProjectToString.INSTANCE.apply(p));
+        report.addError("\t" + ProjectToString.INSTANCE.apply(p));
       }
-      throw new IllegalStateException(errorTitle);
+      report.fail(errorTitle);
     }
+    return report;
   }
 }
@@ -0,0 +1,98 @@
+package com.itemis.maven.plugins.unleash.steps.checks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import javax.inject.Inject;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.itemis.maven.plugins.cdi.CDIMojoProcessingStep;
+import com.itemis.maven.plugins.cdi.ExecutionContext;
+import com.itemis.maven.plugins.cdi.annotations.ProcessingStep;
+import com.itemis.maven.plugins.cdi.logging.Logger;
+import com.itemis.maven.plugins.unleash.util.ParallelExecutor;
+
+/**
+ * Executes the read-only checks of the reactor projects ({@code checkProjectVersions}, {@code checkParentVersions},
+ * {@code checkDependencies}, {@code checkPlugins} and {@code checkPluginDependencies}) concurrently.<br>
+ * <br>
+ * The checks run on a bounded pool of threads. Their reports are logged in the order listed above once all checks have
+ * finished, independent of the order in which the checks have completed. If any of the checks has found violations the
+ * step fails with the failure messages of all failed checks.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+@ProcessingStep(id = "checkReactor", description = "Checks the project versions, parent versions, dependencies, plugins and plugin dependencies of the reactor projects concurrently.", requiresOnline = false)
+public class CheckReactor implements CDIMojoProcessingStep {
+  @Inject
+  private Logger log;
+  @Inject
+  private CheckProjectVersions checkProjectVersions;
+  @Inject
+  private CheckParentVersions checkParentVersions;
+  @Inject
+  private CheckDependencyVersions checkDependencyVersions;
+  @Inject
+  private CheckPluginVersions checkPluginVersions;
+  @Inject
+  private CheckPluginDependencyVersions checkPluginDependencyVersions;
+
+  public CheckReactor() {
+  }
+
+  CheckReactor(CheckProjectVersions checkProjectVersions, CheckParentVersions checkParentVersions,
+      CheckDependencyVersions checkDependencyVersions, CheckPluginVersions checkPluginVersions,
+      CheckPluginDependencyVersions checkPluginDependencyVersions, Logger log) {
+    this.checkProjectVersions = checkProjectVersions;
+    this.checkParentVersions = checkParentVersions;
+    this.checkDependencyVersions = checkDependencyVersions;
+    this.checkPluginVersions = checkPluginVersions;
+    this.checkPluginDependencyVersions = checkPluginDependencyVersions;
+    this.log = log;
+  }
+
+  @Override
+  public void execute(ExecutionContext context) throws MojoExecutionException, MojoFailureException {
+    List<ReactorCheck> checks = ImmutableList.of(this.checkProjectVersions, this.checkParentVersions,
+        this.checkDependencyVersions, this.checkPluginVersions, this.checkPluginDependencyVersions);
+    this.log.info("Checking the reactor projects (" + checks.size() + " checks running concurrently).");
+
+    List<Callable<CheckReport>> tasks = new ArrayList<>(checks.size());
+    for (ReactorCheck check : checks) {
+      this.log.debug("\t" + check.getDescription());
+      tasks.add(check::check);
+    }
+
+    List<CheckReport> reports;
+    try {
+      reports = ParallelExecutor.invokeAll("reactor-check", checks.size(), tasks);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MojoExecutionException("The checks of the reactor projects have been interrupted.", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new MojoExecutionException("Unable to check the reactor projects.", cause);
+    }
+
+    List<String> failureMessages = new ArrayList<>();
+    for (CheckReport report : reports) {
+      if (report.isFailed()) {
+        report.log(this.log);
+        failureMessages.add(report.getFailureMessage());
+      }
+    }
+    if (!failureMessages.isEmpty()) {
+      throw new MojoFailureException(Joiner.on('\n').join(failureMessages));
+    }
+  }
+}
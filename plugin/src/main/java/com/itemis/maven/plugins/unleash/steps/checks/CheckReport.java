@@ -0,0 +1,73 @@
+package com.itemis.maven.plugins.unleash.steps.checks;
+
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.itemis.maven.plugins.cdi.logging.Logger;
+
+/**
+ * The outcome of a {@link ReactorCheck}. The report collects the error messages of a check instead of logging them
+ * directly so that the reports of checks running concurrently can be logged in a deterministic order.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+public class CheckReport {
+  private final List<String> errors;
+  private String failureMessage;
+
+  public CheckReport() {
+    this.errors = Lists.newArrayList();
+  }
+
+  /**
+   * Adds a line to the error output of the check.
+   *
+   * @param message the error message.
+   */
+  public void addError(String message) {
+    this.errors.add(message);
+  }
+
+  /**
+   * Marks the check as failed.
+   *
+   * @param failureMessage the message of the exception that shall be thrown due to this failure.
+   */
+  public void fail(String failureMessage) {
+    this.failureMessage = failureMessage;
+  }
+
+  /**
+   * @return {@code true} if the check has found violations.
+   */
+  public boolean isFailed() {
+    return this.failureMessage != null;
+  }
+
+  /**
+   * @return the failure message or {@code null} if the check didn't fail.
+   */
+  public String getFailureMessage() {
+    return this.failureMessage;
+  }
+
+  /**
+   * @return all error messages of the check.
+   */
+  public List<String> getErrors() {
+    return ImmutableList.copyOf(this.errors);
+  }
+
+  /**
+   * Logs all error messages of the check.
+   *
+   * @param log the logger to use.
+   */
+  public void log(Logger log) {
+    for (String error : this.errors) {
+      log.error(error);
+    }
+  }
+}
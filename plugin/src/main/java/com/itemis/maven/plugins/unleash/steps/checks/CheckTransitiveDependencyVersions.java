@@ -0,0 +1,232 @@
+package com.itemis.maven.plugins.unleash.steps.checks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.maven.RepositoryUtils;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.ArtifactTypeRegistry;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.DependencyCollectionException;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.repository.RemoteRepository;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.Collections2;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.itemis.maven.plugins.cdi.CDIMojoProcessingStep;
+import com.itemis.maven.plugins.cdi.ExecutionContext;
+import com.itemis.maven.plugins.cdi.annotations.ProcessingStep;
+import com.itemis.maven.plugins.cdi.logging.Logger;
+import com.itemis.maven.plugins.unleash.util.MavenVersionUtil;
+import com.itemis.maven.plugins.unleash.util.ParallelExecutor;
+import com.itemis.maven.plugins.unleash.util.ReactorIndex;
+import com.itemis.maven.plugins.unleash.util.functions.ProjectToString;
+import com.itemis.maven.plugins.unleash.util.predicates.IsSnapshotProject;
+
+/**
+ * Checks that none of the modules scheduled for release pulls in SNAPSHOT artifacts transitively. This step is not part
+ * of the default workflows since it requires the dependency graphs of all modules to be collected from the
+ * repositories. Add {@code checkTransitiveDependencies} to a custom workflow to enable it.<br>
+ * <br>
+ * The graph is collected once per module, using the direct dependencies of the module as the roots and the dependency
+ * management of the module as managed versions. This way the versions are mediated exactly as in the module's build
+ * (nearest wins across all subtrees). The step doesn't cache any artifact descriptors or subgraphs itself but relies
+ * on the cache of the repository session for descriptors that are shared between the modules. The collection runs on a
+ * bounded pool of threads whose parallelism can be configured using the mojo parameter
+ * {@code dependencyCollectionThreads} (default: number of available processors). Dependencies to other reactor modules
+ * are not followed since these modules are checked on their own.<br>
+ * <br>
+ * If the dependency graphs cannot be collected the check fails with a report stating the cause instead of throwing an
+ * exception.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+@ProcessingStep(id = "checkTransitiveDependencies", description = "Checks that the project modules do not pull in SNAPSHOT artifacts transitively to avoid unreproducible release aritfacts.", requiresOnline = true)
+public class CheckTransitiveDependencyVersions implements CDIMojoProcessingStep, ReactorCheck {
+  @Inject
+  private Logger log;
+  @Inject
+  @Named("reactorProjects")
+  private List<MavenProject> reactorProjects;
+  @Inject
+  private ReactorIndex reactorIndex;
+  @Inject
+  private RepositorySystem repoSystem;
+  @Inject
+  private RepositorySystemSession repoSession;
+  @Inject
+  @Named("projectRepositories")
+  private List<RemoteRepository> remoteProjectRepos;
+  @Inject
+  @Named("dependencyCollectionThreads")
+  private int threads;
+
+  public CheckTransitiveDependencyVersions() {
+  }
+
+  CheckTransitiveDependencyVersions(List<MavenProject> reactorProjects, ReactorIndex reactorIndex,
+      RepositorySystem repoSystem, RepositorySystemSession repoSession, List<RemoteRepository> remoteProjectRepos,
+      int threads, Logger log) {
+    this.reactorProjects = reactorProjects;
+    this.reactorIndex = reactorIndex;
+    this.repoSystem = repoSystem;
+    this.repoSession = repoSession;
+    this.remoteProjectRepos = remoteProjectRepos;
+    this.threads = threads;
+    this.log = log;
+  }
+
+  @Override
+  public void execute(ExecutionContext context) throws MojoExecutionException, MojoFailureException {
+    this.log.info(getDescription());
+    CheckReport report = check();
+    if (report.isFailed()) {
+      report.log(this.log);
+      throw new MojoFailureException(report.getFailureMessage());
+    }
+  }
+
+  @Override
+  public String getDescription() {
+    return "Checking that none of the reactor projects pulls in SNAPSHOT dependencies transitively.";
+  }
+
+  @Override
+  public CheckReport check() {
+    List<MavenProject> snapshotProjects = ImmutableList
+        .copyOf(Collections2.filter(this.reactorProjects, IsSnapshotProject.INSTANCE));
+    List<Callable<List<List<Artifact>>>> tasks = new ArrayList<>(snapshotProjects.size());
+    for (final MavenProject project : snapshotProjects) {
+      tasks.add(() -> getSnapshotPaths(project));
+    }
+
+    CheckReport report = new CheckReport();
+    Map<MavenProject, List<List<Artifact>>> snapshotPaths = Maps.newLinkedHashMap();
+    int parallelism = Math.max(1, Math.min(getParallelism(), tasks.size()));
+    this.log.debug("\tCollecting the dependency graphs of " + tasks.size() + " modules using " + parallelism
+        + " threads.");
+    try {
+      List<List<List<Artifact>>> results = ParallelExecutor.invokeAll("dependency-collector", parallelism, tasks);
+      for (int i = 0; i < snapshotProjects.size(); i++) {
+        if (!results.get(i).isEmpty()) {
+          snapshotPaths.put(snapshotProjects.get(i), results.get(i));
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      report.addError("\tThe collection of the transitive dependencies has been interrupted.");
+      report.fail("The transitive dependencies of the reactor projects could not be checked!");
+      return report;
+    } catch (ExecutionException e) {
+      report.addError("\tUnable to collect the transitive dependencies of the reactor projects: " + e.getCause());
+      report.fail("The transitive dependencies of the reactor projects could not be checked!");
+      return report;
+    }
+
+    if (!snapshotPaths.isEmpty()) {
+      report.addError(
+          "\tThere are transitive SNAPSHOT dependencies! The following list contains the dependency paths to all SNAPSHOT artifacts grouped by module:");
+      for (MavenProject project : snapshotPaths.keySet()) {
+        report.addError("\t\t[PROJECT] " + ProjectToString.INSTANCE.apply(project));
+        for (List<Artifact> path : snapshotPaths.get(project)) {
+          report.addError("\t\t\t[PATH] " + Joiner.on(" -> ").join(path));
+        }
+      }
+      report.fail("The project cannot be released due to one or more transitive SNAPSHOT dependencies!");
+    }
+    return report;
+  }
+
+  private int getParallelism() {
+    return this.threads > 0 ? this.threads : Runtime.getRuntime().availableProcessors();
+  }
+
+  private List<List<Artifact>> getSnapshotPaths(MavenProject project) {
+    ArtifactTypeRegistry typeRegistry = this.repoSession.getArtifactTypeRegistry();
+    CollectRequest request = new CollectRequest();
+    request.setRootArtifact(
+        new DefaultArtifact(project.getGroupId(), project.getArtifactId(), "pom", project.getVersion()));
+    request.setRepositories(this.remoteProjectRepos);
+    request.setRequestContext("project");
+    for (org.apache.maven.model.Dependency d : project.getDependencies()) {
+      if (!this.reactorIndex.contains(d.getGroupId(), d.getArtifactId())) {
+        request.addDependency(RepositoryUtils.toDependency(d, typeRegistry));
+      }
+    }
+    DependencyManagement dependencyManagement = project.getDependencyManagement();
+    if (dependencyManagement != null) {
+      for (org.apache.maven.model.Dependency d : dependencyManagement.getDependencies()) {
+        request.addManagedDependency(RepositoryUtils.toDependency(d, typeRegistry));
+      }
+    }
+    if (request.getDependencies().isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    DependencyNode root;
+    try {
+      root = this.repoSystem.collectDependencies(this.repoSession, request).getRoot();
+    } catch (DependencyCollectionException e) {
+      this.log.warn("\tThe dependency graph of " + ProjectToString.INSTANCE.apply(project)
+          + " could only be collected partially: " + e.getMessage());
+      root = e.getResult().getRoot();
+    }
+
+    List<List<Artifact>> paths = Lists.newArrayList();
+    if (root != null) {
+      // the root node is the module itself, the paths start with its direct dependencies
+      for (DependencyNode child : root.getChildren()) {
+        visit(child, new LinkedList<DependencyNode>(),
+            Collections.newSetFromMap(new IdentityHashMap<DependencyNode, Boolean>()), paths);
+      }
+    }
+    return paths;
+  }
+
+  private void visit(DependencyNode node, Deque<DependencyNode> path, Set<DependencyNode> pathNodes,
+      List<List<Artifact>> result) {
+    Artifact artifact = node.getArtifact();
+    if (artifact == null || this.reactorIndex.contains(artifact.getGroupId(), artifact.getArtifactId())
+        || !pathNodes.add(node)) {
+      return;
+    }
+    path.addLast(node);
+    try {
+      if (MavenVersionUtil.isSnapshot(artifact.getVersion())) {
+        List<Artifact> artifacts = new ArrayList<>(path.size());
+        for (DependencyNode n : path) {
+          artifacts.add(n.getArtifact());
+        }
+        result.add(artifacts);
+      }
+      for (DependencyNode child : node.getChildren()) {
+        visit(child, path, pathNodes, result);
+      }
+    } finally {
+      path.removeLast();
+      pathNodes.remove(node);
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.itemis.maven.plugins.unleash.steps.checks;
+
+/**
+ * A read-only check of the reactor projects that reports its violations as a {@link CheckReport} instead of failing
+ * directly. Such checks can be executed concurrently by {@link CheckReactor}.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+public interface ReactorCheck {
+  /**
+   * @return a short description of what is checked.
+   */
+  String getDescription();
+
+  /**
+   * Performs the check. Implementations must not modify the reactor projects or any other shared state.
+   *
+   * @return the report containing all violations.
+   */
+  CheckReport check();
+}
@@ -0,0 +1,330 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.BuildBase;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.ModelBase;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.settings.Profile;
+import org.apache.maven.settings.Settings;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Optional;
+import com.google.common.base.Splitter;
+import com.google.common.base.Strings;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
+import com.itemis.maven.plugins.cdi.logging.Logger;
+import com.itemis.maven.plugins.unleash.util.functions.ProjectToCoordinates;
+import com.itemis.maven.plugins.unleash.util.functions.ProjectToString;
+
+/**
+ * A persistent cache for the check results of the reactor projects that allows re-runs of the release (f.e. after a
+ * failed release or a dry-run) to skip the checks of modules that have not changed.<br>
+ * <br>
+ * The results are stored per module together with a key that is a hash of all inputs of the checks: the effective model
+ * of the module (coordinates, properties, dependencies, plugins and plugin dependencies including management sections
+ * and profiles, which covers parents and imported BOMs), the referenced environment variables, the user properties
+ * ({@code -D}) of the session, the release arguments, the profiles and the properties of the active settings profiles,
+ * the coordinates of all reactor projects and the version of this plugin. A cached result is only used if the key of
+ * the module still matches. The cache is disabled by default, enable it using the mojo parameter {@code useCheckCache}
+ * and use the mojo parameter {@code forceFullCheck} to ignore all cached results once.<br>
+ * <br>
+ * The cache file is written to the directory configured by the mojo parameter {@code checkCacheDirectory} or to the
+ * unleash output folder if no directory is configured. Note that the output folder is deleted by release builds
+ * invoking the {@code clean} goal.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+@Singleton
+public class CheckCache {
+  private static final String FILE_NAME = "check-cache.properties";
+  private static final String FORMAT_VERSION = "2";
+  private static final Pattern ENV_REFERENCE = Pattern.compile("\\$\\{env\\.([^}]+)\\}");
+  private static final String SUFFIX_KEY = ".key";
+  private static final String SUFFIX_RESULT = ".result";
+
+  @Inject
+  private Logger log;
+  @Inject
+  @Named("checkCacheFolder")
+  private File folder;
+  @Inject
+  @Named("useCheckCache")
+  private boolean enabled;
+  @Inject
+  @Named("forceFullCheck")
+  private boolean forceFullCheck;
+  @Inject
+  @Named("reactorProjects")
+  private List<MavenProject> reactorProjects;
+  @Inject
+  @Named("profiles")
+  private List<String> profiles;
+  @Inject
+  @Named("releaseArgs")
+  private Properties releaseArgs;
+  @Inject
+  private Settings settings;
+  @Inject
+  private MavenSession session;
+  @Inject
+  private PluginDescriptor pluginDescriptor;
+
+  private Properties entries;
+  private String sharedKey;
+  private final Map<MavenProject, String> keys;
+  private int hits;
+  private int misses;
+
+  public CheckCache() {
+    this.keys = Maps.newHashMap();
+  }
+
+  CheckCache(File folder, boolean enabled, boolean forceFullCheck, List<MavenProject> reactorProjects,
+      List<String> profiles, Properties releaseArgs, Settings settings, MavenSession session,
+      PluginDescriptor pluginDescriptor, Logger log) {
+    this();
+    this.folder = folder;
+    this.enabled = enabled;
+    this.forceFullCheck = forceFullCheck;
+    this.reactorProjects = reactorProjects;
+    this.profiles = profiles;
+    this.releaseArgs = releaseArgs;
+    this.settings = settings;
+    this.session = session;
+    this.pluginDescriptor = pluginDescriptor;
+    this.log = log;
+  }
+
+  /**
+   * @return {@code true} if the cache has been enabled using the mojo parameter {@code useCheckCache}.
+   */
+  public boolean isEnabled() {
+    return this.enabled;
+  }
+
+  /**
+   * @param project a reactor project.
+   * @return the cached result of the project or {@link Optional#absent()} if there is no result for the current state
+   *         of the project or a full check is forced.
+   */
+  public synchronized Optional<List<String>> get(MavenProject project) {
+    load();
+    String ga = ProjectToCoordinates.INSTANCE.apply(project).getGA();
+    if (!this.forceFullCheck && getKey(project).equals(this.entries.getProperty(ga + SUFFIX_KEY))) {
+      String result = this.entries.getProperty(ga + SUFFIX_RESULT);
+      if (result != null) {
+        this.hits++;
+        this.log.debug(
+            "\tUsing the cached check results of project '" + ProjectToString.INSTANCE.apply(project) + "'");
+        return Optional
+            .of(result.isEmpty() ? Collections.<String> emptyList() : Splitter.on('\n').splitToList(result));
+      }
+    }
+    this.misses++;
+    return Optional.absent();
+  }
+
+  /**
+   * Stores the result of a project. The result is persisted when calling {@link #save()}.
+   *
+   * @param project a reactor project.
+   * @param result the check result of the project.
+   */
+  public synchronized void put(MavenProject project, List<String> result) {
+    load();
+    String ga = ProjectToCoordinates.INSTANCE.apply(project).getGA();
+    this.entries.setProperty(ga + SUFFIX_KEY, getKey(project));
+    this.entries.setProperty(ga + SUFFIX_RESULT, Joiner.on('\n').join(result));
+  }
+
+  /**
+   * Writes the results of all reactor projects to the cache file. Results of projects that are no longer part of the
+   * reactor are dropped. Failures are only logged since the cache is just an optimization.
+   */
+  public synchronized void save() {
+    load();
+    Set<String> reactorGAs = Sets.newHashSet();
+    for (MavenProject project : this.reactorProjects) {
+      reactorGAs.add(ProjectToCoordinates.INSTANCE.apply(project).getGA());
+    }
+    Properties retained = new Properties();
+    for (String name : this.entries.stringPropertyNames()) {
+      String ga = name.substring(0, name.lastIndexOf('.'));
+      if (reactorGAs.contains(ga)) {
+        retained.setProperty(name, this.entries.getProperty(name));
+      }
+    }
+
+    File file = new File(this.folder, FILE_NAME);
+    try {
+      Files.createDirectories(this.folder.toPath());
+      File tmp = File.createTempFile(FILE_NAME, ".tmp", this.folder);
+      try (OutputStream out = Files.newOutputStream(tmp.toPath())) {
+        retained.store(out, "unleash-maven-plugin check cache");
+      }
+      Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      this.log.warn("Unable to write the check cache file '" + file.getAbsolutePath() + "': " + e.getMessage());
+    }
+  }
+
+  /**
+   * Logs the number of cache hits and misses.
+   */
+  public synchronized void logStatistics() {
+    this.log.info("\tCheck cache: " + this.hits + " hits, " + this.misses + " misses"
+        + (this.forceFullCheck ? " (full check forced)." : "."));
+  }
+
+  private void load() {
+    if (this.entries != null) {
+      return;
+    }
+    this.entries = new Properties();
+    File file = new File(this.folder, FILE_NAME);
+    if (file.isFile()) {
+      try (InputStream in = Files.newInputStream(file.toPath())) {
+        this.entries.load(in);
+      } catch (IOException e) {
+        this.log.warn("Unable to read the check cache file '" + file.getAbsolutePath()
+            + "', all projects will be checked: " + e.getMessage());
+        this.entries.clear();
+      }
+    }
+  }
+
+  private String getKey(MavenProject project) {
+    String key = this.keys.get(project);
+    if (key == null) {
+      key = calculateKey(project);
+      this.keys.put(project, key);
+    }
+    return key;
+  }
+
+  /**
+   * Hashes the effective model of the project as far as the checks depend on it: the coordinates, the properties and
+   * all dependencies, plugins and plugin dependencies including the management sections and the profiles. Since the
+   * effective model contains the inherited and the imported (BOM) declarations, changes of parents and BOMs change the
+   * key as well. The values of environment variables are included if they are referenced by any of these values.
+   */
+  private String calculateKey(MavenProject project) {
+    StringBuilder sb = new StringBuilder(getSharedKey());
+    Model model = project.getModel();
+    sb.append(ProjectToCoordinates.POM.apply(project)).append('\n');
+    Parent parent = model.getParent();
+    if (parent != null) {
+      sb.append(parent.getGroupId()).append(':').append(parent.getArtifactId()).append(':')
+          .append(parent.getVersion()).append('\n');
+    }
+    appendSorted(sb, project.getProperties());
+    appendModel(sb, model, model.getBuild());
+    for (org.apache.maven.model.Profile profile : nullToEmpty(model.getProfiles())) {
+      sb.append("profile ").append(profile.getId()).append('\n');
+      appendSorted(sb, profile.getProperties());
+      appendModel(sb, profile, profile.getBuild());
+    }
+
+    String content = sb.toString();
+    Map<String, String> environment = Maps.newTreeMap();
+    Matcher m = ENV_REFERENCE.matcher(content);
+    while (m.find()) {
+      environment.put(m.group(1), Strings.nullToEmpty(System.getenv(m.group(1))));
+    }
+    return Hashing.sha256().newHasher().putString(content, StandardCharsets.UTF_8)
+        .putString(environment.toString(), StandardCharsets.UTF_8).hash().toString();
+  }
+
+  private String getSharedKey() {
+    if (this.sharedKey == null) {
+      StringBuilder sb = new StringBuilder(FORMAT_VERSION).append('\n');
+      sb.append(this.pluginDescriptor.getVersion()).append('\n');
+      sb.append(ReleaseUtil.isIntegrationtest()).append('\n');
+      sb.append(this.profiles).append('\n');
+      appendSorted(sb, this.releaseArgs);
+      appendSorted(sb, this.session.getUserProperties());
+      for (Profile profile : this.settings.getProfiles()) {
+        if (this.profiles.contains(profile.getId())) {
+          sb.append(profile.getId());
+          appendSorted(sb, profile.getProperties());
+        }
+      }
+      Set<String> gavs = Sets.newTreeSet();
+      for (MavenProject project : this.reactorProjects) {
+        gavs.add(ProjectToCoordinates.INSTANCE.apply(project).getGAV());
+      }
+      sb.append(gavs).append('\n');
+      this.sharedKey = sb.toString();
+    }
+    return this.sharedKey;
+  }
+
+  private static void appendModel(StringBuilder sb, ModelBase model, BuildBase build) {
+    if (model.getDependencyManagement() != null) {
+      appendDependencies(sb, "managed dependency ", model.getDependencyManagement().getDependencies());
+    }
+    appendDependencies(sb, "dependency ", model.getDependencies());
+    if (build != null) {
+      if (build.getPluginManagement() != null) {
+        appendPlugins(sb, "managed plugin ", build.getPluginManagement().getPlugins());
+      }
+      appendPlugins(sb, "plugin ", build.getPlugins());
+    }
+  }
+
+  private static void appendDependencies(StringBuilder sb, String prefix, List<Dependency> dependencies) {
+    for (Dependency d : nullToEmpty(dependencies)) {
+      sb.append(prefix).append(d.getGroupId()).append(':').append(d.getArtifactId()).append(':').append(d.getType())
+          .append(':').append(d.getClassifier()).append(':').append(d.getVersion()).append(':').append(d.getScope())
+          .append('\n');
+    }
+  }
+
+  private static void appendPlugins(StringBuilder sb, String prefix, List<Plugin> plugins) {
+    for (Plugin p : nullToEmpty(plugins)) {
+      sb.append(prefix).append(p.getGroupId()).append(':').append(p.getArtifactId()).append(':')
+          .append(p.getVersion()).append('\n');
+      appendDependencies(sb, "\t", p.getDependencies());
+    }
+  }
+
+  private static void appendSorted(StringBuilder sb, Properties properties) {
+    SortedMap<String, String> sorted = Maps.newTreeMap();
+    for (String name : properties.stringPropertyNames()) {
+      sorted.put(name, properties.getProperty(name));
+    }
+    sb.append(sorted).append('\n');
+  }
+
+  private static <T> List<T> nullToEmpty(List<T> list) {
+    return list != null ? list : Collections.<T> emptyList();
+  }
+}
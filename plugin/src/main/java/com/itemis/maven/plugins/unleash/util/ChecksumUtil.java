@@ -0,0 +1,113 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.io.BaseEncoding;
+
+/**
+ * Calculates checksums of files.<br>
+ * <br>
+ * All requested digests are calculated in a single pass over the file. The file is read using a large direct buffer
+ * per thread which avoids copying the content into the Java heap. Memory mapping is not used on purpose since mapped
+ * files cannot be deleted on some platforms until the mapping has been garbage collected.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+public final class ChecksumUtil {
+  public static final String SHA1 = "SHA-1";
+  public static final String MD5 = "MD5";
+
+  private static final int BUFFER_SIZE = 1024 * 1024;
+  private static final ThreadLocal<ByteBuffer> BUFFERS = new ThreadLocal<ByteBuffer>() {
+    @Override
+    protected ByteBuffer initialValue() {
+      return ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+  };
+
+  private ChecksumUtil() {
+  }
+
+  /**
+   * Calculates a checksum of a file.
+   *
+   * @param f the file.
+   * @param algorithm the name of the digest algorithm, f.e. {@link #SHA1}.
+   * @return the hex encoded checksum.
+   * @throws IOException if the file cannot be read.
+   * @throws IllegalArgumentException if the algorithm is not supported.
+   */
+  public static String calculate(File f, String algorithm) throws IOException {
+    return calculate(f, ImmutableList.of(algorithm)).get(algorithm);
+  }
+
+  /**
+   * Calculates several checksums of a file reading the file only once.
+   *
+   * @param f the file.
+   * @param algorithms the names of the digest algorithms.
+   * @return the hex encoded checksums indexed by algorithm name.
+   * @throws IOException if the file cannot be read.
+   * @throws IllegalArgumentException if any of the algorithms is not supported.
+   */
+  public static Map<String, String> calculate(File f, Collection<String> algorithms) throws IOException {
+    List<MessageDigest> digests = Lists.newArrayListWithCapacity(algorithms.size());
+    for (String algorithm : algorithms) {
+      digests.add(getDigest(algorithm));
+    }
+
+    ByteBuffer buffer = BUFFERS.get();
+    try (FileChannel channel = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+      buffer.clear();
+      while (channel.read(buffer) >= 0 || buffer.position() > 0) {
+        buffer.flip();
+        for (MessageDigest digest : digests) {
+          buffer.mark();
+          digest.update(buffer);
+          buffer.reset();
+        }
+        buffer.clear();
+      }
+    }
+
+    Map<String, String> checksums = Maps.newLinkedHashMap();
+    for (MessageDigest digest : digests) {
+      checksums.put(digest.getAlgorithm(), BaseEncoding.base16().lowerCase().encode(digest.digest()));
+    }
+    return checksums;
+  }
+
+  /**
+   * @param algorithm the name of a digest algorithm.
+   * @return {@code true} if the algorithm is supported by the JVM.
+   */
+  public static boolean isSupported(String algorithm) {
+    try {
+      getDigest(algorithm);
+      return true;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  private static MessageDigest getDigest(String algorithm) {
+    try {
+      return MessageDigest.getInstance(algorithm);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalArgumentException("The checksum algorithm '" + algorithm + "' is not supported.", e);
+    }
+  }
+}
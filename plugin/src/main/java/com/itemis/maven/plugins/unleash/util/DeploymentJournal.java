@@ -0,0 +1,156 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Table;
+
+/**
+ * A journal of the deployment of the release artifacts that allows a broken deployment to be resumed without
+ * rebuilding the release.<br>
+ * <br>
+ * When the deployment starts the journal records all release artifacts together with their files. Each artifact that
+ * has been uploaded successfully is then recorded together with the id of the repository and the SHA-1 checksum of the
+ * uploaded file. The journal is an append-only text file in the unleash output folder which is flushed after each
+ * record, so it reflects the progress of the deployment even if the process is killed.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+@Singleton
+public class DeploymentJournal {
+  private static final String FILE_NAME = "deployment.journal";
+  private static final String TYPE_ARTIFACT = "artifact";
+  private static final String TYPE_DEPLOYED = "deployed";
+  private static final char SEPARATOR = '\t';
+
+  @Inject
+  @Named("unleashOutputFolder")
+  private File folder;
+
+  public DeploymentJournal() {
+  }
+
+  DeploymentJournal(File folder) {
+    this.folder = folder;
+  }
+
+  /**
+   * @return the journal file.
+   */
+  public File getFile() {
+    return new File(this.folder, FILE_NAME);
+  }
+
+  /**
+   * Starts a new journal for the deployment of the passed artifacts, discarding any previous journal.
+   *
+   * @param artifacts the release artifacts that are going to be deployed.
+   * @throws IOException if the journal cannot be written.
+   */
+  public synchronized void start(Collection<Artifact> artifacts) throws IOException {
+    List<String> lines = Lists.newArrayListWithCapacity(artifacts.size());
+    for (Artifact a : artifacts) {
+      String path = a.getFile() != null ? a.getFile().getAbsolutePath() : "";
+      lines.add(Joiner.on(SEPARATOR).join(TYPE_ARTIFACT, a, path));
+    }
+    Files.createDirectories(this.folder.toPath());
+    Files.write(getFile().toPath(), lines, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Records the successful upload of artifacts to a repository.
+   *
+   * @param repository the repository the artifacts have been uploaded to.
+   * @param checksums the uploaded artifacts and the SHA-1 checksums of their files.
+   * @throws IOException if the journal cannot be written.
+   */
+  public synchronized void recordDeployment(RemoteRepository repository, Map<Artifact, String> checksums)
+      throws IOException {
+    List<String> lines = Lists.newArrayListWithCapacity(checksums.size());
+    for (Map.Entry<Artifact, String> entry : checksums.entrySet()) {
+      lines.add(Joiner.on(SEPARATOR).join(TYPE_DEPLOYED, repository.getId(), entry.getKey(), entry.getValue()));
+    }
+    Files.write(getFile().toPath(), lines, StandardCharsets.UTF_8, StandardOpenOption.APPEND,
+        StandardOpenOption.SYNC);
+  }
+
+  /**
+   * Reads the journal of a previous deployment.
+   *
+   * @return the state of the previous deployment.
+   * @throws IOException if there is no journal or it cannot be read.
+   */
+  public synchronized State read() throws IOException {
+    if (!getFile().isFile()) {
+      throw new IOException("There is no deployment journal at '" + getFile().getAbsolutePath() + "'.");
+    }
+
+    List<Artifact> artifacts = Lists.newArrayList();
+    Table<String, String, String> checksums = HashBasedTable.create();
+    Splitter splitter = Splitter.on(SEPARATOR);
+    for (String line : Files.readAllLines(getFile().toPath(), StandardCharsets.UTF_8)) {
+      List<String> parts = splitter.splitToList(line);
+      if (parts.size() == 3 && TYPE_ARTIFACT.equals(parts.get(0))) {
+        Artifact artifact = new DefaultArtifact(parts.get(1));
+        if (!parts.get(2).isEmpty()) {
+          artifact = artifact.setFile(new File(parts.get(2)));
+        }
+        artifacts.add(artifact);
+      } else if (parts.size() == 4 && TYPE_DEPLOYED.equals(parts.get(0))) {
+        checksums.put(parts.get(1), parts.get(2), parts.get(3));
+      }
+      // anything else is a partially written line of an aborted deployment
+    }
+    return new State(artifacts, checksums);
+  }
+
+  /**
+   * The state of a previous deployment as recorded by the journal.
+   */
+  public static class State {
+    private final List<Artifact> artifacts;
+    private final Table<String, String, String> checksums;
+
+    private State(List<Artifact> artifacts, Table<String, String, String> checksums) {
+      this.artifacts = ImmutableList.copyOf(artifacts);
+      this.checksums = checksums;
+    }
+
+    /**
+     * @return all release artifacts of the deployment including their files.
+     */
+    public List<Artifact> getArtifacts() {
+      return this.artifacts;
+    }
+
+    /**
+     * @param repositoryId the id of a repository.
+     * @return the checksums of all artifacts that have been uploaded to the repository, indexed by the string
+     *         representation of the artifacts.
+     */
+    public Map<String, String> getDeployedArtifacts(String repositoryId) {
+      return Maps.newHashMap(this.checksums.row(repositoryId));
+    }
+  }
+}
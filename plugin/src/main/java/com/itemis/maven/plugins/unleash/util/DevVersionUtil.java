@@ -1,6 +1,10 @@
 package com.itemis.maven.plugins.unleash.util;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
@@ -13,6 +17,7 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
 import com.itemis.maven.plugins.cdi.logging.Logger;
 import com.itemis.maven.plugins.unleash.ReleaseMetadata;
 import com.itemis.maven.plugins.unleash.scm.ScmProvider;
@@ -54,27 +59,11 @@ public class DevVersionUtil {
     Scm scm = this.metadata.getCachedScmSettings(projectToRevert);
     if (scm != null) {
       this.log.debug("\t\tReversion of SCM connection tags");
-      Document originalPOM = this.metadata.getCachedOriginalPOM(projectToRevert);
-
       Node scmNode = PomUtil.getOrCreateScmNode(document, false);
-      Node originalScmNode = PomUtil.getOrCreateScmNode(originalPOM, false);
 
       if (scmNode != null) {
-        Optional<String> connection = PomUtil.getChildNodeTextContent(originalScmNode,
-            PomUtil.NODE_NAME_SCM_CONNECTION);
-        if (connection.isPresent()) {
-          PomUtil.setNodeTextContent(scmNode, PomUtil.NODE_NAME_SCM_CONNECTION, connection.get(), false);
-        }
-
-        Optional<String> devConnection = PomUtil.getChildNodeTextContent(originalScmNode,
-            PomUtil.NODE_NAME_SCM_DEV_CONNECTION);
-        if (devConnection.isPresent()) {
-          PomUtil.setNodeTextContent(scmNode, PomUtil.NODE_NAME_SCM_DEV_CONNECTION, devConnection.get(), false);
-        }
-
-        Optional<String> url = PomUtil.getChildNodeTextContent(originalScmNode, PomUtil.NODE_NAME_SCM_URL);
-        if (url.isPresent()) {
-          PomUtil.setNodeTextContent(scmNode, PomUtil.NODE_NAME_SCM_URL, url.get(), false);
+        for (Entry<String, String> value : getOriginalScmValues(projectToRevert).entrySet()) {
+          PomUtil.setNodeTextContent(scmNode, value.getKey(), value.getValue(), false);
         }
 
         if (scm.getTag() != null) {
@@ -86,6 +75,72 @@ public class DevVersionUtil {
     }
   }
 
+  /**
+   * Reverts the SCM settings just like {@link #revertScmSettings(MavenProject, Document)} but applies the changes using
+   * the passed in-place rewriter.
+   *
+   * @param projectToRevert the project whose SCM settings shall be reverted.
+   * @param rewriter the rewriter of the project's POM file.
+   */
+  public void revertScmSettings(MavenProject projectToRevert, PomVersionRewriter rewriter) {
+    Scm scm = this.metadata.getCachedScmSettings(projectToRevert);
+    if (scm != null && rewriter.hasScm()) {
+      this.log.debug("\t\tReversion of SCM connection tags");
+      for (Entry<String, String> value : getOriginalScmValues(projectToRevert).entrySet()) {
+        rewriter.setScmValue(value.getKey(), value.getValue());
+      }
+
+      if (scm.getTag() != null) {
+        rewriter.setScmValue(PomUtil.NODE_NAME_SCM_TAG, scm.getTag());
+      } else {
+        rewriter.deleteScmValue(PomUtil.NODE_NAME_SCM_TAG);
+      }
+    }
+  }
+
+  /**
+   * Creates an edit for a {@link PomEditSession} that reverts the SCM settings of the passed project when the session
+   * is committed.
+   *
+   * @param projectToRevert the project whose SCM settings shall be reverted.
+   * @return the edit reverting the SCM settings.
+   */
+  public PomEdit revertScmSettings(final MavenProject projectToRevert) {
+    return new PomEdit() {
+      @Override
+      public void apply(Document document) {
+        revertScmSettings(projectToRevert, document);
+      }
+
+      @Override
+      public boolean apply(PomVersionRewriter rewriter) {
+        revertScmSettings(projectToRevert, rewriter);
+        return true;
+      }
+
+      @Override
+      public Optional<Set<String>> getSections() {
+        return Optional.<Set<String>> of(ImmutableSet.of(PomUtil.NODE_NAME_SCM));
+      }
+    };
+  }
+
+  private Map<String, String> getOriginalScmValues(MavenProject project) {
+    Map<String, String> values = new LinkedHashMap<>();
+    Document originalPOM = this.metadata.getCachedOriginalPOM(project);
+    Node originalScmNode = PomUtil.getOrCreateScmNode(originalPOM, false);
+    if (originalScmNode != null) {
+      for (String nodeName : new String[] { PomUtil.NODE_NAME_SCM_CONNECTION, PomUtil.NODE_NAME_SCM_DEV_CONNECTION,
+          PomUtil.NODE_NAME_SCM_URL }) {
+        Optional<String> value = PomUtil.getChildNodeTextContent(originalScmNode, nodeName);
+        if (value.isPresent()) {
+          values.put(nodeName, value.get());
+        }
+      }
+    }
+    return values;
+  }
+
   public void commitChanges(boolean commitPomsOnly) {
     this.log.debug(
         "\tCommitting changed POMs of all modules and pushing to remote repository. Merging with remote changes if necessary.");
@@ -0,0 +1,147 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.w3c.dom.Document;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.itemis.maven.plugins.unleash.util.PomScanner.ScannedElement;
+
+/**
+ * Parses POMs into DOM documents that only contain the sections a caller is interested in.<br>
+ * <br>
+ * The POM is scanned on byte level first. All complex elements (elements having child elements) that are not part of
+ * the declared sections are cut out of the content and replaced by processing instructions before the remaining content
+ * is parsed. The raw text of these opaque sections is attached to the document and re-emitted verbatim when the
+ * document is serialized using {@link PomUtil#writePOM(Document, java.io.OutputStream, boolean)}. Simple elements such
+ * as the coordinates of the project are always materialized.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+final class LazyPomParser {
+  private static final String USER_DATA_KEY = LazyPomParser.class.getName();
+  private static final String PI_TARGET = "unleash-opaque";
+  private static final Pattern PI_PATTERN = Pattern.compile("<\\?" + PI_TARGET + " (\\d+)\\?>");
+
+  private LazyPomParser() {
+  }
+
+  /**
+   * Parses the passed POM content materializing only the passed sections.
+   *
+   * @param content the POM content.
+   * @param sections the paths of the sections to materialize relative to the {@code project} element, f.e.
+   *          {@code scm} or {@code build/plugins}.
+   * @return the parsed document or {@link Optional#absent()} if the content cannot be parsed lazily. Callers should
+   *         parse the whole content in this case.
+   */
+  static Optional<Document> parse(byte[] content, Set<String> sections) {
+    Optional<Charset> charset = PomScanner.detectCharset(content);
+    if (!charset.isPresent()) {
+      return Optional.absent();
+    }
+    ScannedElement root = PomScanner.scan(content, charset.get());
+    if (root == null || !PomUtil.NODE_NAME_PROJECT.equals(root.name)) {
+      return Optional.absent();
+    }
+
+    List<ScannedElement> opaqueElements = new ArrayList<>();
+    SectionTree tree = SectionTree.of(sections);
+    if (!tree.complete) {
+      collectOpaqueElements(root, tree, opaqueElements);
+    }
+    if (opaqueElements.isEmpty()) {
+      return Optional.of(PomUtil.parsePOM(new ByteArrayInputStream(content)));
+    }
+
+    ByteArrayOutputStream reduced = new ByteArrayOutputStream(content.length / 2);
+    List<String> rawSections = new ArrayList<>(opaqueElements.size());
+    int pos = 0;
+    for (ScannedElement element : opaqueElements) {
+      reduced.write(content, pos, element.start - pos);
+      byte[] pi = ("<?" + PI_TARGET + " " + rawSections.size() + "?>").getBytes(StandardCharsets.US_ASCII);
+      reduced.write(pi, 0, pi.length);
+      rawSections.add(new String(content, element.start, element.end - element.start, charset.get()));
+      pos = element.end;
+    }
+    reduced.write(content, pos, content.length - pos);
+
+    Document document = PomUtil.parsePOM(new ByteArrayInputStream(reduced.toByteArray()));
+    document.setUserData(USER_DATA_KEY, ImmutableList.copyOf(rawSections), null);
+    return Optional.of(document);
+  }
+
+  /**
+   * @param document a POM document.
+   * @return {@code true} if the document has been parsed lazily and contains opaque sections.
+   */
+  static boolean hasOpaqueSections(Document document) {
+    return document.getUserData(USER_DATA_KEY) != null;
+  }
+
+  /**
+   * Replaces the placeholders of the opaque sections in the serialized document with the original content of the
+   * sections.
+   *
+   * @param document the lazily parsed document.
+   * @param serialized the serialized document (UTF-8).
+   * @return the serialized document containing the original sections.
+   */
+  static byte[] restoreOpaqueSections(Document document, byte[] serialized) {
+    @SuppressWarnings("unchecked")
+    List<String> rawSections = (List<String>) document.getUserData(USER_DATA_KEY);
+    Matcher m = PI_PATTERN.matcher(new String(serialized, StandardCharsets.UTF_8));
+    StringBuffer sb = new StringBuffer(serialized.length * 2);
+    while (m.find()) {
+      m.appendReplacement(sb, Matcher.quoteReplacement(rawSections.get(Integer.parseInt(m.group(1)))));
+    }
+    m.appendTail(sb);
+    return sb.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static void collectOpaqueElements(ScannedElement element, SectionTree tree, List<ScannedElement> result) {
+    for (ScannedElement child : element.children) {
+      if (child.children.isEmpty()) {
+        // simple elements are cheap and may be required for identification (coordinates, ids, ...)
+        continue;
+      }
+
+      SectionTree childTree = tree.children.get(child.name);
+      if (childTree == null) {
+        result.add(child);
+      } else if (!childTree.complete) {
+        collectOpaqueElements(child, childTree, result);
+      }
+    }
+  }
+
+  private static class SectionTree {
+    private final Map<String, SectionTree> children = Maps.newHashMap();
+    private boolean complete;
+
+    private static SectionTree of(Set<String> sections) {
+      SectionTree root = new SectionTree();
+      for (String section : sections) {
+        SectionTree node = root;
+        for (String name : Splitter.on('/').omitEmptyStrings().trimResults().split(section)) {
+          node = node.children.computeIfAbsent(name, n -> new SectionTree());
+        }
+        node.complete = true;
+      }
+      return root;
+    }
+  }
+}
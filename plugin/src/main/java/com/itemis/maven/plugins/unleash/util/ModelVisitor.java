@@ -0,0 +1,41 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * A visitor that is notified about the artifact references of the reactor projects by the {@link ReactorModelScanner}.
+ * The references of the project itself, of its management sections and of all of its profiles are passed to the
+ * visitor.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+public interface ModelVisitor {
+  /**
+   * @param project the project referencing the dependency.
+   * @param dependency a direct or managed dependency of the project or of one of its profiles.
+   * @param propertyResolver the property resolver of the project.
+   */
+  default void visitDependency(MavenProject project, Dependency dependency, PomPropertyResolver propertyResolver) {
+  }
+
+  /**
+   * @param project the project referencing the plugin.
+   * @param plugin a direct or managed plugin of the project or of one of its profiles.
+   * @param propertyResolver the property resolver of the project.
+   */
+  default void visitPlugin(MavenProject project, Plugin plugin, PomPropertyResolver propertyResolver) {
+  }
+
+  /**
+   * @param project the project referencing the plugin.
+   * @param plugin the plugin declaring the dependency.
+   * @param dependency a dependency of the plugin.
+   * @param propertyResolver the property resolver of the project.
+   */
+  default void visitPluginDependency(MavenProject project, Plugin plugin, Dependency dependency,
+      PomPropertyResolver propertyResolver) {
+  }
+}
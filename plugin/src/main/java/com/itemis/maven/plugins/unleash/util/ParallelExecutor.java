@@ -0,0 +1,93 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes a list of tasks on a bounded pool of threads and waits for their results.<br>
+ * <br>
+ * A plain fixed-size executor is used since the tasks mostly block on I/O. The worker threads inherit the context class
+ * loader of the calling thread which is the class realm of the plugin. This is required for Plexus, Wagon and Aether
+ * component lookups performed by the tasks which would otherwise fail or pick up the wrong classes on threads that use
+ * the system class loader (f.e. the common fork/join workers on Java 9+).
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+public final class ParallelExecutor {
+  private ParallelExecutor() {
+  }
+
+  /**
+   * Executes all tasks and waits until all of them have finished. If the parallelism is {@code 1} or there is only a
+   * single task the tasks are executed by the calling thread.
+   *
+   * @param name the name of the worker threads, used for thread dumps and logging.
+   * @param parallelism the maximum number of tasks that are executed concurrently.
+   * @param tasks the tasks to execute.
+   * @return the results of the tasks in the order of the tasks.
+   * @throws InterruptedException if the calling thread has been interrupted while waiting for the tasks.
+   * @throws ExecutionException if any of the tasks failed. The failure of the first failing task in the order of the
+   *           tasks is reported, all other tasks are still executed to completion.
+   */
+  public static <T> List<T> invokeAll(String name, int parallelism, List<? extends Callable<T>> tasks)
+      throws InterruptedException, ExecutionException {
+    List<T> results = new ArrayList<>(tasks.size());
+    int threads = Math.min(parallelism, tasks.size());
+    if (threads <= 1) {
+      ExecutionException failure = null;
+      for (Callable<T> task : tasks) {
+        try {
+          results.add(task.call());
+        } catch (Exception e) {
+          results.add(null);
+          if (failure == null) {
+            failure = new ExecutionException(e);
+          }
+        }
+      }
+      if (failure != null) {
+        throw failure;
+      }
+      return results;
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads,
+        new ContextThreadFactory(name, Thread.currentThread().getContextClassLoader()));
+    try {
+      for (Future<T> future : executor.invokeAll(tasks)) {
+        results.add(future.get());
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static class ContextThreadFactory implements ThreadFactory {
+    private final String name;
+    private final ClassLoader contextClassLoader;
+    private final AtomicInteger count;
+
+    private ContextThreadFactory(String name, ClassLoader contextClassLoader) {
+      this.name = name;
+      this.contextClassLoader = contextClassLoader;
+      this.count = new AtomicInteger();
+    }
+
+    @Override
+    public Thread newThread(Runnable r) {
+      Thread t = new Thread(r, "unleash-" + this.name + "-" + this.count.incrementAndGet());
+      t.setDaemon(true);
+      t.setContextClassLoader(this.contextClassLoader);
+      return t;
+    }
+  }
+}
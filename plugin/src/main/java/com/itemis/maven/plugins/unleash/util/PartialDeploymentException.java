@@ -0,0 +1,30 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import org.apache.maven.plugin.MojoFailureException;
+
+/**
+ * Indicates that the deployment of the release artifacts failed after some of them have already been published to a
+ * remote repository.<br>
+ * <br>
+ * Published artifacts cannot be withdrawn, so the release must be kept as it is (SCM tag, commits, POM versions,
+ * release metadata) to allow the deployment to be resumed. The rollback methods of the processing steps therefore skip
+ * their rollback if the workflow failed with this exception (see {@link #isCause(Throwable)}).
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+public class PartialDeploymentException extends MojoFailureException {
+  private static final long serialVersionUID = 5318214329648157733L;
+
+  public PartialDeploymentException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
+  /**
+   * @param t the exception that caused the rollback of the workflow.
+   * @return {@code true} if the workflow has been aborted by a partial deployment and must not be rolled back.
+   */
+  public static boolean isCause(Throwable t) {
+    return t instanceof PartialDeploymentException;
+  }
+}
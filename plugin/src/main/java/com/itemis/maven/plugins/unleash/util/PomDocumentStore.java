@@ -0,0 +1,104 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+
+import org.w3c.dom.Document;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+
+/**
+ * A release-scoped store of parsed POM documents which prevents the release steps from parsing the same POM files over
+ * and over again.<br>
+ * <br>
+ * Entries are keyed by the absolute path of the POM file and validated against a hash of the current file content.
+ * This way every modification of a POM, no matter if it was written by {@link PomUtil#writePOM(Document,
+ * org.apache.maven.project.MavenProject)} or by the forked release build, leads to a fresh parse of the file.<br>
+ * The cached documents are never handed out directly. Callers always get a deep copy which they are free to modify or
+ * to keep as a rollback snapshot.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+public final class PomDocumentStore {
+  private static final PomDocumentStore INSTANCE = new PomDocumentStore();
+
+  private final HashFunction hashFunction;
+  // soft values allow the garbage collector to drop documents of huge reactors under memory pressure
+  private final Cache<File, Entry> entries;
+
+  private PomDocumentStore() {
+    this.hashFunction = Hashing.murmur3_128();
+    this.entries = CacheBuilder.newBuilder().softValues().build();
+  }
+
+  /**
+   * @return the store instance used by {@link PomUtil}.
+   */
+  public static PomDocumentStore getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Provides a copy of the parsed POM document of the passed file. The file is only parsed if there is no cached
+   * document for the current file content.
+   *
+   * @param pomFile the POM file to load.
+   * @return a private copy of the parsed document.
+   * @throws IOException if the file cannot be read.
+   */
+  public Document get(File pomFile) throws IOException {
+    File key = pomFile.getAbsoluteFile();
+    byte[] content = Files.toByteArray(key);
+    HashCode hash = this.hashFunction.hashBytes(content);
+
+    Entry entry = this.entries.getIfPresent(key);
+    if (entry == null || !entry.hash.equals(hash)) {
+      entry = new Entry(hash, PomUtil.parsePOM(new ByteArrayInputStream(content)));
+      this.entries.put(key, entry);
+    }
+    return entry.copyDocument();
+  }
+
+  /**
+   * Drops the cached document of the given file.
+   *
+   * @param pomFile the POM file whose document shall be removed from the store.
+   */
+  public void invalidate(File pomFile) {
+    this.entries.invalidate(pomFile.getAbsoluteFile());
+  }
+
+  /**
+   * Drops all cached documents.
+   */
+  public void clear() {
+    this.entries.invalidateAll();
+  }
+
+  private static class Entry {
+    private final HashCode hash;
+    private final Document document;
+
+    private Entry(HashCode hash, Document document) {
+      this.hash = hash;
+      this.document = document;
+    }
+
+    private Document copyDocument() {
+      // the DOM implementation expands nodes lazily which modifies the tree even on read access
+      synchronized (this.document) {
+        Document copy = (Document) this.document.cloneNode(true);
+        // the copy is modified independently of the cached document, it must never share its index
+        PomIndex.invalidate(copy);
+        return copy;
+      }
+    }
+  }
+}
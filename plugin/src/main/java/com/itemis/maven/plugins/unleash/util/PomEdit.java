@@ -0,0 +1,47 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.util.Set;
+
+import org.w3c.dom.Document;
+
+import com.google.common.base.Optional;
+
+/**
+ * A deferred modification of a single POM that is recorded in a {@link PomEditSession} and applied when the session
+ * is committed.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+@FunctionalInterface
+public interface PomEdit {
+  /**
+   * Applies the modification to the parsed POM document.
+   *
+   * @param document the POM document to modify.
+   */
+  void apply(Document document);
+
+  /**
+   * Applies the modification to the POM using an in-place rewriter. Edits that can be expressed on byte level should
+   * override this method since the session then doesn't need to parse and serialize the POM at all.
+   *
+   * @param rewriter the rewriter of the POM file.
+   * @return {@code true} if the edit has been applied, {@code false} if the edit can only be applied to a parsed
+   *         document.
+   */
+  default boolean apply(PomVersionRewriter rewriter) {
+    return false;
+  }
+
+  /**
+   * Declares the sections of the POM this edit reads or modifies. If all pending edits of a POM declare their sections
+   * the POM is parsed lazily (see {@link PomUtil#parsePOM(java.io.File, Set)}).
+   *
+   * @return the paths of the sections relative to the {@code project} element or {@link Optional#absent()} if the edit
+   *         requires the whole document.
+   */
+  default Optional<Set<String>> getSections() {
+    return Optional.absent();
+  }
+}
@@ -0,0 +1,316 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.project.MavenProject;
+import org.w3c.dom.Document;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.itemis.maven.plugins.cdi.logging.Logger;
+import com.itemis.maven.plugins.unleash.util.functions.ProjectToString;
+
+/**
+ * A release-scoped session that collects the POM modifications of a processing step and applies them in one go.<br>
+ * <br>
+ * Steps record {@link PomEdit edits} for the modules they want to modify instead of parsing and writing the POMs
+ * themselves. The in-memory models of the projects are updated immediately while the POM files are only touched when
+ * the session is committed. At that point all pending edits of a POM are applied within a single load/write cycle,
+ * using the {@link PomVersionRewriter} if all edits support it or a single DOM parse otherwise. Only modules with
+ * pending edits are touched and unchanged files are not written at all (see {@link PomWriteBatch}). If all edits of a
+ * POM declare the sections they need, only these sections are parsed (see {@link PomEdit#getSections()}).<br>
+ * <br>
+ * Every step that records edits must {@link #commit()} the session before it ends, so that the POM files and the
+ * in-memory models agree between the steps and the POM snapshots of subsequent steps contain all previous
+ * modifications. A failing commit fails the step. Steps that roll back their modifications must {@link #discard()} the
+ * pending edits since these would otherwise be applied on top of the restored POMs.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+@Singleton
+public class PomEditSession {
+  @Inject
+  private Logger log;
+  @Inject
+  private ReactorPomRewriter pomRewriter;
+  private final Map<MavenProject, List<PomEdit>> pendingEdits;
+
+  public PomEditSession() {
+    this.pendingEdits = Maps.newConcurrentMap();
+  }
+
+  PomEditSession(ReactorPomRewriter pomRewriter, Logger log) {
+    this();
+    this.pomRewriter = pomRewriter;
+    this.log = log;
+  }
+
+  /**
+   * Records an edit of the POM of the passed project.
+   *
+   * @param project the project whose POM shall be modified.
+   * @param edit the modification to apply.
+   */
+  public void edit(MavenProject project, PomEdit edit) {
+    this.pendingEdits.computeIfAbsent(project, p -> Collections.synchronizedList(new ArrayList<>())).add(edit);
+  }
+
+  /**
+   * Records an edit of the POM of the passed project that only touches the passed sections of the POM.
+   *
+   * @param project the project whose POM shall be modified.
+   * @param edit the modification to apply.
+   * @param sections the paths of the sections the edit reads or modifies relative to the {@code project} element.
+   */
+  public void edit(MavenProject project, final PomEdit edit, String... sections) {
+    final Optional<Set<String>> declaredSections = Optional.<Set<String>> of(ImmutableSet.copyOf(sections));
+    edit(project, new PomEdit() {
+      @Override
+      public void apply(Document document) {
+        edit.apply(document);
+      }
+
+      @Override
+      public boolean apply(PomVersionRewriter rewriter) {
+        return edit.apply(rewriter);
+      }
+
+      @Override
+      public Optional<Set<String>> getSections() {
+        return declaredSections;
+      }
+    });
+  }
+
+  /**
+   * Sets the project version of the passed project (see {@link PomUtil#setProjectVersion(Model, Document, String)}).
+   * Nothing is recorded if the project inherits its version from the parent.
+   *
+   * @param project the project whose version shall be changed.
+   * @param newVersion the new project version.
+   */
+  public void setProjectVersion(MavenProject project, final String newVersion) {
+    final Model model = project.getModel();
+    // if model version is null, the parent version is inherited
+    if (model.getVersion() != null) {
+      model.setVersion(newVersion);
+      edit(project, new PomEdit() {
+        @Override
+        public void apply(Document document) {
+          PomUtil.setProjectVersion(model, document, newVersion);
+        }
+
+        @Override
+        public boolean apply(PomVersionRewriter rewriter) {
+          rewriter.setProjectVersion(newVersion);
+          return true;
+        }
+
+        @Override
+        public Optional<Set<String>> getSections() {
+          return Optional.<Set<String>> of(ImmutableSet.of(PomUtil.NODE_NAME_VERSION));
+        }
+      });
+    }
+  }
+
+  /**
+   * Sets the parent version of the passed project (see {@link PomUtil#setParentVersion(Model, Document, String)}).
+   *
+   * @param project the project whose parent version shall be changed.
+   * @param newParentVersion the new parent version.
+   */
+  public void setParentVersion(MavenProject project, final String newParentVersion) {
+    final Model model = project.getModel();
+    Parent parent = model.getParent();
+    if (parent != null) {
+      parent.setVersion(newParentVersion);
+    }
+    edit(project, new PomEdit() {
+      @Override
+      public void apply(Document document) {
+        PomUtil.setParentVersion(model, document, newParentVersion);
+      }
+
+      @Override
+      public boolean apply(PomVersionRewriter rewriter) {
+        rewriter.setParentVersion(newParentVersion);
+        return true;
+      }
+
+      @Override
+      public Optional<Set<String>> getSections() {
+        return Optional.<Set<String>> of(ImmutableSet.of(PomUtil.NODE_NAME_PARENT));
+      }
+    });
+  }
+
+  /**
+   * Sets the version of a dependency of the passed project (see
+   * {@link PomUtil#setDependencyVersion(Dependency, Document, String, String)}).
+   *
+   * @param project the project whose dependency version shall be changed.
+   * @param dependency the dependency to update.
+   * @param dependenciesPath the XPath to the {@code dependencies} starting from {@code /project/}.
+   * @param newVersion the new dependency version.
+   */
+  public void setDependencyVersion(MavenProject project, final Dependency dependency, final String dependenciesPath,
+      final String newVersion) {
+    dependency.setVersion(newVersion);
+    edit(project, new PomEdit() {
+      @Override
+      public void apply(Document document) {
+        PomUtil.setDependencyVersion(dependency, document, dependenciesPath, newVersion);
+      }
+
+      @Override
+      public boolean apply(PomVersionRewriter rewriter) {
+        rewriter.setDependencyVersion(dependenciesPath, dependency.getGroupId(), dependency.getArtifactId(),
+            newVersion);
+        return true;
+      }
+
+      @Override
+      public Optional<Set<String>> getSections() {
+        return getDependencySections(dependenciesPath);
+      }
+    });
+  }
+
+  /**
+   * @return {@code true} if there are edits that haven't been committed yet.
+   */
+  public boolean hasPendingEdits() {
+    return !this.pendingEdits.isEmpty();
+  }
+
+  /**
+   * Applies all pending edits to the POM files. The POMs are only written if all modules could be processed
+   * successfully.
+   *
+   * @throws ReactorPomRewriteException if the edits could not be applied to at least one module.
+   */
+  public void commit() throws ReactorPomRewriteException {
+    if (this.pendingEdits.isEmpty()) {
+      return;
+    }
+
+    final Map<MavenProject, List<PomEdit>> edits = Maps.newHashMap();
+    for (MavenProject project : ImmutableList.copyOf(this.pendingEdits.keySet())) {
+      List<PomEdit> projectEdits = this.pendingEdits.remove(project);
+      synchronized (projectEdits) {
+        edits.put(project, ImmutableList.copyOf(projectEdits));
+      }
+    }
+
+    this.log.debug("\tApplying pending POM modifications to " + edits.size() + " modules.");
+    final PomWriteBatch batch = new PomWriteBatch();
+    this.pomRewriter.rewrite(edits.keySet(), p -> apply(p, edits.get(p), batch));
+    try {
+      batch.flush();
+    } catch (IOException e) {
+      throw new ReactorPomRewriteException("Could not write the modified POMs.", e);
+    }
+  }
+
+  /**
+   * Drops all pending edits without applying them.
+   */
+  public void discard() {
+    this.pendingEdits.clear();
+  }
+
+  /**
+   * Discards all edits that are still pending when the release ends. Since every step commits its edits, pending edits
+   * at this point indicate a step that doesn't. Writing them would modify the POMs behind the back of the workflow
+   * (f.e. after a failed release has been rolled back), so they are reported as an error instead.
+   */
+  @PreDestroy
+  public void close() {
+    if (hasPendingEdits()) {
+      List<String> projects = Lists.newArrayList();
+      for (MavenProject project : this.pendingEdits.keySet()) {
+        projects.add(ProjectToString.INSTANCE.apply(project));
+      }
+      this.log.error("The POM modifications of the following modules have never been committed and are discarded: "
+          + projects + ".");
+      discard();
+    }
+  }
+
+  private void apply(MavenProject project, List<PomEdit> edits, PomWriteBatch batch) throws IOException {
+    File pom = project.getFile();
+    if (pom == null) {
+      return;
+    }
+
+    Optional<PomVersionRewriter> rewriter = PomVersionRewriter.load(pom);
+    if (rewriter.isPresent() && applyAll(rewriter.get(), edits)) {
+      if (rewriter.get().hasChanges()) {
+        batch.stage(pom, rewriter.get().toByteArray());
+      }
+      return;
+    }
+
+    Optional<Set<String>> sections = getSections(edits);
+    Optional<Document> document = sections.isPresent() ? PomUtil.parsePOM(pom, sections.get())
+        : PomUtil.parsePOM(project);
+    if (document.isPresent()) {
+      for (PomEdit edit : edits) {
+        edit.apply(document.get());
+      }
+      batch.stage(document.get(), project);
+    }
+  }
+
+  private static Optional<Set<String>> getDependencySections(String dependenciesPath) {
+    String path = dependenciesPath.startsWith("/") ? dependenciesPath.substring(1) : dependenciesPath;
+    if (path.isEmpty()) {
+      return Optional.<Set<String>> of(ImmutableSet.of(PomUtil.NODE_NAME_DEPENDENCIES));
+    } else if (Objects.equal(PomUtil.NODE_NAME_DEPENDENCY_MANAGEMENT, path)) {
+      return Optional.<Set<String>> of(ImmutableSet.of(PomUtil.NODE_NAME_DEPENDENCY_MANAGEMENT));
+    } else if (path.startsWith("profiles/")) {
+      return Optional.<Set<String>> of(ImmutableSet.of("profiles"));
+    }
+    return Optional.absent();
+  }
+
+  private static Optional<Set<String>> getSections(List<PomEdit> edits) {
+    ImmutableSet.Builder<String> sections = ImmutableSet.builder();
+    for (PomEdit edit : edits) {
+      Optional<Set<String>> editSections = edit.getSections();
+      if (!editSections.isPresent()) {
+        return Optional.absent();
+      }
+      sections.addAll(editSections.get());
+    }
+    return Optional.<Set<String>> of(sections.build());
+  }
+
+  private boolean applyAll(PomVersionRewriter rewriter, List<PomEdit> edits) {
+    for (PomEdit edit : edits) {
+      if (!edit.apply(rewriter)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,194 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+
+/**
+ * An index over a parsed POM document that provides constant-time access to the nodes that are queried by
+ * {@link PomUtil} over and over again (project, parent, SCM, build, plugins and dependencies).<br>
+ * <br>
+ * The index is built once per document and attached to it as user data. The {@link PomUtil} methods that change the
+ * structure of the document (insertion or removal of elements, modification of coordinates) drop the index explicitly
+ * (see {@link #invalidate(Document)}), it is rebuilt on the next access. Code that modifies these parts of a POM
+ * document must therefore use the methods of {@link PomUtil} instead of modifying the DOM directly.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+final class PomIndex {
+  private static final String USER_DATA_INDEX = PomIndex.class.getName();
+  private static final Pattern PROFILE_PATH_PATTERN = Pattern
+      .compile("/profiles/profile\\[id\\[text\\(\\)='[^']*'\\]\\](/dependencyManagement)?");
+
+  private final Node project;
+  private final Node parent;
+  private final Node scm;
+  private final Node build;
+  private final Node plugins;
+  private final Map<String, Node> pluginsByCoordinates;
+  private final ListMultimap<List<String>, Node> dependenciesBySection;
+
+  private PomIndex(Document document) {
+    this.project = document.getElementsByTagName(PomUtil.NODE_NAME_PROJECT).item(0);
+    this.parent = document.getDocumentElement().getElementsByTagName(PomUtil.NODE_NAME_PARENT).item(0);
+    this.scm = document.getElementsByTagName(PomUtil.NODE_NAME_SCM).item(0);
+    this.build = this.project != null ? getFirstChild(this.project, PomUtil.NODE_NAME_BUILD) : null;
+    this.plugins = this.build != null ? getFirstChild(this.build, PomUtil.NODE_NAME_PLUGINS) : null;
+
+    this.pluginsByCoordinates = Maps.newHashMap();
+    if (this.plugins != null) {
+      for (Node plugin : getChildren(this.plugins, PomUtil.NODE_NAME_PLUGIN)) {
+        for (Node gid : getChildren(plugin, PomUtil.NODE_NAME_GROUP_ID)) {
+          for (Node aid : getChildren(plugin, PomUtil.NODE_NAME_ARTIFACT_ID)) {
+            String key = gid.getTextContent() + ":" + aid.getTextContent();
+            if (!this.pluginsByCoordinates.containsKey(key)) {
+              this.pluginsByCoordinates.put(key, plugin);
+            }
+          }
+        }
+      }
+    }
+
+    this.dependenciesBySection = ArrayListMultimap.create();
+    Node root = document.getDocumentElement();
+    indexDependencies("/", root);
+    for (Node dependencyManagement : getChildren(root, PomUtil.NODE_NAME_DEPENDENCY_MANAGEMENT)) {
+      indexDependencies("/" + PomUtil.NODE_NAME_DEPENDENCY_MANAGEMENT, dependencyManagement);
+    }
+    for (Node profiles : getChildren(root, "profiles")) {
+      for (Node profile : getChildren(profiles, "profile")) {
+        for (Node id : getChildren(profile, PomUtil.NODE_NAME_ID)) {
+          String profilePath = "/profiles/profile[id[text()='" + id.getTextContent() + "']]";
+          indexDependencies(profilePath, profile);
+          for (Node dependencyManagement : getChildren(profile, PomUtil.NODE_NAME_DEPENDENCY_MANAGEMENT)) {
+            indexDependencies(profilePath + "/" + PomUtil.NODE_NAME_DEPENDENCY_MANAGEMENT, dependencyManagement);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Provides the index of the passed document, building it if necessary.
+   *
+   * @param document the POM document.
+   * @return the current index of the document.
+   */
+  static PomIndex get(Document document) {
+    Object userData = document.getUserData(USER_DATA_INDEX);
+    if (userData instanceof PomIndex) {
+      return (PomIndex) userData;
+    }
+
+    PomIndex index = new PomIndex(document);
+    document.setUserData(USER_DATA_INDEX, index, null);
+    return index;
+  }
+
+  /**
+   * Drops the index of the passed document after its structure has been modified. The index is rebuilt on the next
+   * access.
+   *
+   * @param document the POM document.
+   */
+  static void invalidate(Document document) {
+    if (document != null) {
+      document.setUserData(USER_DATA_INDEX, null, null);
+    }
+  }
+
+  /**
+   * @param dependenciesPath a dependencies path as passed to
+   *          {@link PomUtil#setDependencyVersion(org.apache.maven.model.Dependency, Document, String, String)}.
+   * @return {@code true} if dependencies of the path can be queried using {@link #getDependencies(String, String,
+   *         String)}.
+   */
+  static boolean isIndexedSectionPath(String dependenciesPath) {
+    return Objects.equal("/", dependenciesPath)
+        || Objects.equal("/" + PomUtil.NODE_NAME_DEPENDENCY_MANAGEMENT, dependenciesPath)
+        || PROFILE_PATH_PATTERN.matcher(dependenciesPath).matches();
+  }
+
+  Node getProject() {
+    return this.project;
+  }
+
+  Node getParent() {
+    return this.parent;
+  }
+
+  Node getScm() {
+    return this.scm;
+  }
+
+  Node getBuild() {
+    return this.build;
+  }
+
+  Node getPlugins() {
+    return this.plugins;
+  }
+
+  Node getPlugin(String groupId, String artifactId) {
+    return this.pluginsByCoordinates.get(groupId + ":" + artifactId);
+  }
+
+  List<Node> getDependencies(String dependenciesPath, String groupId, String artifactId) {
+    List<Node> dependencies = this.dependenciesBySection.get(Arrays.asList(dependenciesPath, groupId, artifactId));
+    return Collections.unmodifiableList(dependencies);
+  }
+
+  private void indexDependencies(String sectionPath, Node section) {
+    for (Node dependencies : getChildren(section, PomUtil.NODE_NAME_DEPENDENCIES)) {
+      for (Node dependency : getChildren(dependencies, PomUtil.NODE_NAME_DEPENDENCY)) {
+        for (Node gid : getChildren(dependency, PomUtil.NODE_NAME_GROUP_ID)) {
+          for (Node aid : getChildren(dependency, PomUtil.NODE_NAME_ARTIFACT_ID)) {
+            List<String> key = Arrays.asList(sectionPath, gid.getTextContent(), aid.getTextContent());
+            if (!this.dependenciesBySection.containsEntry(key, dependency)) {
+              this.dependenciesBySection.put(key, dependency);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private static Node getFirstChild(Node parentNode, String nodeName) {
+    NodeList children = parentNode.getChildNodes();
+    for (int i = 0; i < children.getLength(); i++) {
+      Node child = children.item(i);
+      if (Objects.equal(nodeName, child.getNodeName())) {
+        return child;
+      }
+    }
+    return null;
+  }
+
+  private static List<Node> getChildren(Node parentNode, String nodeName) {
+    List<Node> result = null;
+    NodeList children = parentNode.getChildNodes();
+    for (int i = 0; i < children.getLength(); i++) {
+      Node child = children.item(i);
+      if (Objects.equal(nodeName, child.getNodeName())) {
+        if (result == null) {
+          result = new ArrayList<>();
+        }
+        result.add(child);
+      }
+    }
+    return result != null ? result : Collections.<Node> emptyList();
+  }
+}
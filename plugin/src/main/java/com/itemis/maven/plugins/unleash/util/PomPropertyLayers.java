@@ -0,0 +1,121 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.apache.maven.settings.Profile;
+import org.apache.maven.settings.Settings;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+/**
+ * The property layers that are the same for all projects of a release (the properties of the active settings profiles
+ * and the command line properties) together with the parsed property reference templates. An instance is shared by all
+ * {@link PomPropertyResolver property resolvers} of a release.<br>
+ * <br>
+ * The layers are built lazily from the injected settings, profiles and release arguments of the current release and are
+ * immutable afterwards. Since the instance is bound to the release nothing is carried over to the next build of a
+ * long-living Maven process.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+@Singleton
+public class PomPropertyLayers {
+  @Inject
+  private Settings settings;
+  @Inject
+  @Named("profiles")
+  private List<String> profiles;
+  @Inject
+  @Named("releaseArgs")
+  private Properties releaseArgs;
+
+  private final LoadingCache<String, PomPropertyResolver.Template> templates;
+  private ImmutableMap<String, String> settingsProperties;
+  // written last when building the layers, publishes the settings properties safely
+  private volatile ImmutableMap<String, String> commandLineProperties;
+
+  public PomPropertyLayers() {
+    this.templates = CacheBuilder.newBuilder().maximumSize(10000)
+        .build(new CacheLoader<String, PomPropertyResolver.Template>() {
+          @Override
+          public PomPropertyResolver.Template load(String s) throws Exception {
+            return PomPropertyResolver.Template.compile(s);
+          }
+        });
+  }
+
+  PomPropertyLayers(Settings settings, List<String> profiles, Properties releaseArgs) {
+    this();
+    this.settings = settings;
+    this.profiles = profiles;
+    this.releaseArgs = releaseArgs;
+  }
+
+  /**
+   * @return the profiles that shall be respected when resolving properties.
+   */
+  public List<String> getProfiles() {
+    return this.profiles;
+  }
+
+  /**
+   * @return the properties of the active profiles of the settings.
+   */
+  public Map<String, String> getSettingsProperties() {
+    init();
+    return this.settingsProperties;
+  }
+
+  /**
+   * @return the properties passed to the release build on the command line.
+   */
+  public Map<String, String> getCommandLineProperties() {
+    init();
+    return this.commandLineProperties;
+  }
+
+  PomPropertyResolver.Template getTemplate(String s) {
+    return this.templates.getUnchecked(s);
+  }
+
+  private void init() {
+    if (this.commandLineProperties == null) {
+      synchronized (this) {
+        if (this.commandLineProperties == null) {
+          buildLayers();
+        }
+      }
+    }
+  }
+
+  private void buildLayers() {
+    Map<String, String> settingsProperties = Maps.newHashMap();
+    for (Profile profile : this.settings.getProfiles()) {
+      if (this.profiles.contains(profile.getId())) {
+        putAll(profile.getProperties(), settingsProperties);
+      }
+    }
+    this.settingsProperties = ImmutableMap.copyOf(settingsProperties);
+
+    Map<String, String> commandLineProperties = Maps.newHashMap();
+    putAll(this.releaseArgs, commandLineProperties);
+    this.commandLineProperties = ImmutableMap.copyOf(commandLineProperties);
+  }
+
+  static void putAll(Properties source, Map<String, String> target) {
+    for (Map.Entry<Object, Object> entry : source.entrySet()) {
+      target.put((String) entry.getKey(), (String) entry.getValue());
+    }
+  }
+}
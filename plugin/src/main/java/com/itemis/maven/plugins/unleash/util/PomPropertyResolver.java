@@ -3,27 +3,42 @@ package com.itemis.maven.plugins.unleash.util;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 
 import org.apache.maven.model.Profile;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.settings.Settings;
 
-import com.google.common.base.MoreObjects;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 /**
  * A resolver for direct and indirect (parents) property references that respects all profiles.<br>
- * The resolve also respects the correct overriding order of the property definitions.
+ * The resolve also respects the correct overriding order of the property definitions.<br>
+ * <br>
+ * The properties are looked up in layers instead of being copied into a map per resolver. From highest to lowest
+ * precedence these are the special {@code project.version} property, the command line properties, the environment
+ * variables ({@code env.*}), the properties of the active profiles of the project, the (inherited) project properties
+ * and the properties of the active profiles of the settings. The settings and command line layers are immutable and
+ * shared by all resolvers of a release using the {@link PomPropertyLayers}, the environment is read in place and the
+ * project properties are read directly from the project which already contains the properties of its parent chain.<br>
+ * Property values are resolved lazily and memoized. Cyclic property references are left unresolved instead of
+ * overflowing the stack.
  *
  * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
  * @since 2.4.3
  */
 public class PomPropertyResolver {
+  private static final String ENV_PREFIX = "env.";
+  private static final String PROJECT_VERSION = "project.version";
+
   private MavenProject project;
-  private Map<String, String> properties;
-  private List<String> profiles;
-  private Settings settings;
-  private Properties additionalProperties;
+  private PomPropertyLayers layers;
+  private Map<String, String> profileProperties;
+  private Map<String, Optional<String>> resolvedProperties;
+  private Set<String> propertiesInResolution;
 
   /**
    * A new resolver for property references.
@@ -35,18 +50,43 @@ public class PomPropertyResolver {
    */
   public PomPropertyResolver(MavenProject project, Settings settings, List<String> profiles,
       Properties additionalProperties) {
+    this(project, new PomPropertyLayers(settings, profiles, additionalProperties));
+  }
+
+  /**
+   * A new resolver for property references that shares the settings and command line properties with all other
+   * resolvers of the release.
+   *
+   * @param project
+   *          the project from which to resolve the properties.
+   * @param layers
+   *          the property layers of the release.
+   */
+  public PomPropertyResolver(MavenProject project, PomPropertyLayers layers) {
     this.project = project;
-    this.profiles = profiles;
-    this.settings = settings;
-    this.additionalProperties = additionalProperties;
+    this.layers = layers;
   }
 
   /**
    * @return all resolved properties (direct and indirect).
    */
-  public Map<String, String> getProperties() {
-    resolveAllProperties();
-    return this.properties;
+  public synchronized Map<String, String> getProperties() {
+    initLayers();
+    Set<String> keys = Sets.newHashSet();
+    keys.addAll(this.layers.getSettingsProperties().keySet());
+    keys.addAll(this.project.getProperties().stringPropertyNames());
+    keys.addAll(this.profileProperties.keySet());
+    for (String key : System.getenv().keySet()) {
+      keys.add(ENV_PREFIX + key);
+    }
+    keys.addAll(this.layers.getCommandLineProperties().keySet());
+    keys.add(PROJECT_VERSION);
+
+    Map<String, String> properties = Maps.newHashMapWithExpectedSize(keys.size());
+    for (String key : keys) {
+      properties.put(key, resolveProperty(key));
+    }
+    return properties;
   }
 
   /**
@@ -54,9 +94,9 @@ public class PomPropertyResolver {
    *          the property key.
    * @return the value of the property or {@code null} if the key is not known.
    */
-  public String getProperty(String key) {
-    resolveAllProperties();
-    return this.properties.get(key);
+  public synchronized String getProperty(String key) {
+    initLayers();
+    return resolveProperty(key);
   }
 
   /**
@@ -66,102 +106,124 @@ public class PomPropertyResolver {
    *          the input string which might contain property references.
    * @return the input string with expanded property references.
    */
-  public String expandPropertyReferences(String s) {
-    resolveAllProperties();
-    return resolveReferences(s);
+  public synchronized String expandPropertyReferences(String s) {
+    if (s == null) {
+      return null;
+    }
+    Template template = this.layers.getTemplate(s);
+    if (template.isConstant()) {
+      return s;
+    }
+    initLayers();
+    return template.expand(this);
   }
 
-  private void resolveAllProperties() {
-    if (this.properties != null) {
+  private void initLayers() {
+    if (this.profileProperties != null) {
       return;
     }
-    this.properties = Maps.newHashMap();
 
-    // 1. get the properties of all profiles from the settings.
-    for (org.apache.maven.settings.Profile profile : this.settings.getProfiles()) {
-      if (!this.profiles.contains(profile.getId())) {
-        continue;
-      }
-      for (Map.Entry<Object, Object> entry : profile.getProperties().entrySet()) {
-        this.properties.put((String) entry.getKey(), (String) entry.getValue());
+    Map<String, String> profileProperties = Maps.newHashMap();
+    for (Profile profile : this.project.getModel().getProfiles()) {
+      if (this.layers.getProfiles().contains(profile.getId())) {
+        PomPropertyLayers.putAll(profile.getProperties(), profileProperties);
       }
     }
+    this.profileProperties = profileProperties;
+    this.resolvedProperties = Maps.newHashMap();
+    this.propertiesInResolution = Sets.newHashSet();
+  }
 
-    // 2. after that add the direct properties to override the ones of the parents
-    for (Map.Entry<Object, Object> entry : this.project.getProperties().entrySet()) {
-      this.properties.put((String) entry.getKey(), (String) entry.getValue());
+  private String getRawProperty(String key) {
+    if (PROJECT_VERSION.equals(key)) {
+      return this.project.getVersion();
     }
-
-    // 3. get all properties of all activated profiles
-    for (Profile profile : this.project.getModel().getProfiles()) {
-      if (!this.profiles.contains(profile.getId())) {
-        continue;
-      }
-      for (Map.Entry<Object, Object> entry : profile.getProperties().entrySet()) {
-        this.properties.put((String) entry.getKey(), (String) entry.getValue());
-      }
+    String value = this.layers.getCommandLineProperties().get(key);
+    if (value == null && key.startsWith(ENV_PREFIX)) {
+      value = System.getenv(key.substring(ENV_PREFIX.length()));
     }
-
-    // 4. Adding all environment variables
-    for (Map.Entry<String, String> sysEnv : System.getenv().entrySet()) {
-      this.properties.put("env." + sysEnv.getKey(), sysEnv.getValue());
+    if (value == null) {
+      value = this.profileProperties.get(key);
     }
-
-    // 5. Adding all command line properties
-    this.additionalProperties.forEach((k, v) -> this.properties.put((String) k, (String) v));
-
-    // 6. special properties
-    this.properties.put("project.version", this.project.getVersion());
-
-    // now resolve property references within the properties
-    for (String propertyKey : this.properties.keySet()) {
-      this.properties.put(propertyKey, resolveProperty(propertyKey));
+    if (value == null) {
+      value = this.project.getProperties().getProperty(key);
+    }
+    if (value == null) {
+      value = this.layers.getSettingsProperties().get(key);
     }
+    return value;
   }
 
   private String resolveProperty(String key) {
-    String value = this.properties.get(key);
-    return resolveReferences(value);
+    Optional<String> resolved = this.resolvedProperties.get(key);
+    if (resolved == null) {
+      if (!this.propertiesInResolution.add(key)) {
+        // cyclic reference, the reference is kept as is
+        return null;
+      }
+      try {
+        String value = getRawProperty(key);
+        resolved = Optional.fromNullable(value != null ? this.layers.getTemplate(value).expand(this) : null);
+      } finally {
+        this.propertiesInResolution.remove(key);
+      }
+      this.resolvedProperties.put(key, resolved);
+    }
+    return resolved.orNull();
   }
 
-  private String resolveReferences(String s) {
-    if (s == null) {
-      return null;
+  /**
+   * A String that has been split into literal parts and property references ({@code ${key}}) once.
+   */
+  static class Template {
+    // literal parts at even indices, property keys at odd indices
+    private final ImmutableList<String> parts;
+
+    private Template(ImmutableList<String> parts) {
+      this.parts = parts;
     }
 
-    StringBuilder sb = new StringBuilder();
-    StringBuilder currentKey = null;
-    boolean isRef = false;
-    for (char c : s.toCharArray()) {
-      switch (c) {
-        case '$':
-          isRef = true;
-          currentKey = new StringBuilder();
-          break;
-        case '{':
-          if (!isRef) {
-            sb.append(c);
-          }
-          break;
-        case '}':
-          if (isRef) {
-            sb.append(
-                MoreObjects.firstNonNull(resolveProperty(currentKey.toString()), "${" + currentKey.toString() + "}"));
-            currentKey = null;
-            isRef = false;
-          } else {
-            sb.append(c);
-          }
+    static Template compile(String s) {
+      ImmutableList.Builder<String> parts = ImmutableList.builder();
+      int pos = 0;
+      while (true) {
+        int start = s.indexOf("${", pos);
+        int end = start >= 0 ? s.indexOf('}', start + 2) : -1;
+        if (end < 0) {
+          parts.add(s.substring(pos));
           break;
-        default:
-          if (isRef) {
-            currentKey.append(c);
+        }
+        parts.add(s.substring(pos, start));
+        parts.add(s.substring(start + 2, end));
+        pos = end + 1;
+      }
+      return new Template(parts.build());
+    }
+
+    private boolean isConstant() {
+      return this.parts.size() == 1;
+    }
+
+    private String expand(PomPropertyResolver resolver) {
+      if (isConstant()) {
+        return this.parts.get(0);
+      }
+
+      StringBuilder sb = new StringBuilder();
+      for (int i = 0; i < this.parts.size(); i++) {
+        String part = this.parts.get(i);
+        if (i % 2 == 0) {
+          sb.append(part);
+        } else {
+          String value = resolver.resolveProperty(part);
+          if (value != null) {
+            sb.append(value);
           } else {
-            sb.append(c);
+            sb.append("${").append(part).append('}');
           }
-          break;
+        }
       }
+      return sb.toString();
     }
-    return sb.toString();
   }
 }
@@ -0,0 +1,387 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * A minimal byte-level scanner for POM files that records the offsets of all elements. It is the base for the in-place
+ * modifications of the {@link PomVersionRewriter} and the lazy parsing of {@link PomUtil#parsePOM(java.io.File,
+ * Set)}.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+final class PomScanner {
+  static final Set<String> TEXT_ELEMENTS = ImmutableSet.of(PomUtil.NODE_NAME_GROUP_ID,
+      PomUtil.NODE_NAME_ARTIFACT_ID, PomUtil.NODE_NAME_ID);
+
+  private PomScanner() {
+  }
+
+  static boolean isWhitespace(byte b) {
+    return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+  }
+
+  static Optional<Charset> detectCharset(byte[] content) {
+    if (content.length >= 2) {
+      int b0 = content[0] & 0xFF;
+      int b1 = content[1] & 0xFF;
+      // UTF-16/UTF-32 byte order marks or a leading zero byte indicate encodings that aren't ASCII-compatible
+      if ((b0 == 0xFE && b1 == 0xFF) || (b0 == 0xFF && b1 == 0xFE) || b0 == 0 || b1 == 0) {
+        return Optional.absent();
+      }
+    }
+
+    String encoding = null;
+    int offset = hasUtf8Bom(content) ? 3 : 0;
+    if (startsWith(content, offset, "<?xml")) {
+      int end = indexOf(content, "?>", offset);
+      if (end < 0) {
+        return Optional.absent();
+      }
+      String declaration = new String(content, offset, end - offset, StandardCharsets.US_ASCII);
+      int encodingIndex = declaration.indexOf("encoding");
+      if (encodingIndex >= 0) {
+        int eq = declaration.indexOf('=', encodingIndex);
+        if (eq < 0) {
+          return Optional.absent();
+        }
+        int quoteStart = eq + 1;
+        while (quoteStart < declaration.length() && Character.isWhitespace(declaration.charAt(quoteStart))) {
+          quoteStart++;
+        }
+        if (quoteStart >= declaration.length()) {
+          return Optional.absent();
+        }
+        char quote = declaration.charAt(quoteStart);
+        int quoteEnd = declaration.indexOf(quote, quoteStart + 1);
+        if ((quote != '"' && quote != '\'') || quoteEnd < 0) {
+          return Optional.absent();
+        }
+        encoding = declaration.substring(quoteStart + 1, quoteEnd);
+      }
+    }
+
+    if (encoding == null) {
+      return Optional.of(StandardCharsets.UTF_8);
+    }
+    try {
+      Charset charset = Charset.forName(encoding);
+      String name = charset.name();
+      // only single-byte charsets and UTF-8 guarantee that markup bytes never occur inside multi-byte characters
+      if (Objects.equals(StandardCharsets.UTF_8.name(), name) || Objects.equals(StandardCharsets.US_ASCII.name(), name)
+          || name.startsWith("ISO-8859-") || name.startsWith("windows-125")) {
+        return Optional.of(charset);
+      }
+    } catch (IllegalArgumentException e) {
+      // unknown or illegal charset name -> fallback to DOM processing which reports the problem
+    }
+    return Optional.absent();
+  }
+
+  private static boolean hasUtf8Bom(byte[] content) {
+    return content.length >= 3 && (content[0] & 0xFF) == 0xEF && (content[1] & 0xFF) == 0xBB
+        && (content[2] & 0xFF) == 0xBF;
+  }
+
+  private static boolean startsWith(byte[] content, int offset, String prefix) {
+    if (offset + prefix.length() > content.length) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length(); i++) {
+      if (content[offset + i] != prefix.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int indexOf(byte[] content, String s, int from) {
+    for (int i = from; i <= content.length - s.length(); i++) {
+      if (startsWith(content, i, s)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static int indexOf(byte[] content, char c, int from) {
+    for (int i = from; i < content.length; i++) {
+      if (content[i] == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * An element found by the {@link Scanner} with its byte offsets.
+   */
+  static final class ScannedElement {
+    final String name;
+    final ScannedElement parent;
+    final List<ScannedElement> children;
+    final int start;
+    final int contentStart;
+    int contentEnd;
+    int end;
+    String text;
+
+    private ScannedElement(String name, ScannedElement parent, int start, int contentStart) {
+      this.name = name;
+      this.parent = parent;
+      this.children = new ArrayList<>();
+      this.start = start;
+      this.contentStart = contentStart;
+    }
+
+    boolean isEmptyElement() {
+      return this.contentStart < 0;
+    }
+
+    List<ScannedElement> getChildren(String childName) {
+      List<ScannedElement> result = new ArrayList<>();
+      for (ScannedElement child : this.children) {
+        if (Objects.equals(childName, child.name)) {
+          result.add(child);
+        }
+      }
+      return result;
+    }
+
+    boolean hasChildText(String childName, String text) {
+      for (ScannedElement child : getChildren(childName)) {
+        if (Objects.equals(text, child.text)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    ScannedElement findFirst(String elementName) {
+      for (ScannedElement child : this.children) {
+        if (Objects.equals(elementName, child.name)) {
+          return child;
+        }
+        ScannedElement found = child.findFirst(elementName);
+        if (found != null) {
+          return found;
+        }
+      }
+      return null;
+    }
+
+    List<ScannedElement> findAll(String elementName) {
+      List<ScannedElement> result = new ArrayList<>();
+      collect(elementName, result);
+      return result;
+    }
+
+    private void collect(String elementName, List<ScannedElement> result) {
+      for (ScannedElement child : this.children) {
+        if (Objects.equals(elementName, child.name)) {
+          result.add(child);
+        }
+        child.collect(elementName, result);
+      }
+    }
+  }
+
+  /**
+   * Scans the passed POM content.
+   *
+   * @param content the content to scan.
+   * @param charset the charset of the content.
+   * @return the scanned root element or {@code null} if the content cannot be handled unambiguously.
+   */
+  static ScannedElement scan(byte[] content, Charset charset) {
+    return new Scanner(content, charset).scan();
+  }
+
+  /**
+   * A minimal XML scanner that records element offsets. Returns {@code null} for all documents that cannot be handled
+   * unambiguously.
+   */
+  private static class Scanner {
+    private final byte[] content;
+    private final Charset charset;
+
+    private Scanner(byte[] content, Charset charset) {
+      this.content = content;
+      this.charset = charset;
+    }
+
+    private ScannedElement scan() {
+      Deque<ScannedElement> stack = new ArrayDeque<>();
+      ScannedElement root = null;
+      int pos = hasUtf8Bom(this.content) ? 3 : 0;
+
+      while (pos < this.content.length) {
+        int lt = indexOf(this.content, '<', pos);
+        if (lt < 0) {
+          break;
+        }
+
+        if (startsWith(this.content, lt, "<!--")) {
+          int end = indexOf(this.content, "-->", lt + 4);
+          if (end < 0) {
+            return null;
+          }
+          pos = end + 3;
+        } else if (startsWith(this.content, lt, "<![CDATA[")) {
+          int end = indexOf(this.content, "]]>", lt + 9);
+          if (end < 0 || stack.isEmpty()) {
+            return null;
+          }
+          pos = end + 3;
+        } else if (startsWith(this.content, lt, "<?")) {
+          int end = indexOf(this.content, "?>", lt + 2);
+          if (end < 0) {
+            return null;
+          }
+          pos = end + 2;
+        } else if (startsWith(this.content, lt, "<!")) {
+          // DOCTYPE declarations may define entities which cannot be handled on byte level
+          return null;
+        } else if (startsWith(this.content, lt, "</")) {
+          int gt = indexOf(this.content, '>', lt + 2);
+          if (gt < 0 || stack.isEmpty()) {
+            return null;
+          }
+          String name = new String(this.content, lt + 2, gt - lt - 2, this.charset).trim();
+          ScannedElement element = stack.pop();
+          if (!Objects.equals(name, element.name)) {
+            return null;
+          }
+          element.contentEnd = lt;
+          element.end = gt + 1;
+          if (TEXT_ELEMENTS.contains(element.name)) {
+            element.text = decodeText(element.contentStart, element.contentEnd);
+            if (element.text == null) {
+              return null;
+            }
+          }
+          pos = gt + 1;
+        } else {
+          int nameEnd = lt + 1;
+          while (nameEnd < this.content.length && !isWhitespace(this.content[nameEnd])
+              && this.content[nameEnd] != '/' && this.content[nameEnd] != '>') {
+            nameEnd++;
+          }
+          int gt = findTagEnd(nameEnd);
+          if (gt < 0 || nameEnd == lt + 1 || (root != null && stack.isEmpty())) {
+            return null;
+          }
+
+          String name = new String(this.content, lt + 1, nameEnd - lt - 1, this.charset);
+          boolean empty = this.content[gt - 1] == '/';
+          ScannedElement parent = stack.peek();
+          ScannedElement element = new ScannedElement(name, parent, lt, empty ? -1 : gt + 1);
+          if (parent != null) {
+            parent.children.add(element);
+          } else {
+            root = element;
+          }
+
+          if (empty) {
+            element.contentEnd = -1;
+            element.end = gt + 1;
+            if (TEXT_ELEMENTS.contains(name)) {
+              element.text = "";
+            }
+          } else {
+            stack.push(element);
+          }
+          pos = gt + 1;
+        }
+      }
+
+      return stack.isEmpty() ? root : null;
+    }
+
+    private int findTagEnd(int from) {
+      byte quote = 0;
+      for (int i = from; i < this.content.length; i++) {
+        byte b = this.content[i];
+        if (quote != 0) {
+          if (b == quote) {
+            quote = 0;
+          }
+        } else if (b == '"' || b == '\'') {
+          quote = b;
+        } else if (b == '>') {
+          return i;
+        } else if (b == '<') {
+          return -1;
+        }
+      }
+      return -1;
+    }
+
+    private String decodeText(int from, int to) {
+      String raw = new String(this.content, from, to - from, this.charset);
+      if (raw.indexOf('<') >= 0) {
+        // comments, CDATA sections or child elements -> not unambiguously comparable
+        return null;
+      }
+
+      StringBuilder sb = new StringBuilder(raw.length());
+      int i = 0;
+      while (i < raw.length()) {
+        char c = raw.charAt(i);
+        if (c != '&') {
+          sb.append(c);
+          i++;
+          continue;
+        }
+
+        int semicolon = raw.indexOf(';', i);
+        if (semicolon < 0) {
+          return null;
+        }
+        String entity = raw.substring(i + 1, semicolon);
+        switch (entity) {
+          case "lt":
+            sb.append('<');
+            break;
+          case "gt":
+            sb.append('>');
+            break;
+          case "amp":
+            sb.append('&');
+            break;
+          case "quot":
+            sb.append('"');
+            break;
+          case "apos":
+            sb.append('\'');
+            break;
+          default:
+            try {
+              if (entity.startsWith("#x")) {
+                sb.appendCodePoint(Integer.parseInt(entity.substring(2), 16));
+              } else if (entity.startsWith("#")) {
+                sb.appendCodePoint(Integer.parseInt(entity.substring(1)));
+              } else {
+                return null;
+              }
+            } catch (IllegalArgumentException e) {
+              return null;
+            }
+        }
+        i = semicolon + 1;
+      }
+      // the DOM normalizes line breaks
+      return sb.toString().replace("\r\n", "\n").replace('\r', '\n');
+    }
+  }
+}
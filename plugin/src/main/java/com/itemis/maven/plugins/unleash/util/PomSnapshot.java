@@ -0,0 +1,59 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.io.File;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+import com.google.common.hash.HashCode;
+
+/**
+ * A handle to the byte-exact snapshot of a POM file that is stored in the {@link PomSnapshotJournal}.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+public final class PomSnapshot {
+  private final File file;
+  private final HashCode hash;
+
+  PomSnapshot(File file, HashCode hash) {
+    this.file = file;
+    this.hash = hash;
+  }
+
+  /**
+   * @return the file from which the snapshot was taken and to which it will be restored.
+   */
+  public File getFile() {
+    return this.file;
+  }
+
+  /**
+   * @return the hash of the snapshot content which is also the key of the content in the journal.
+   */
+  public HashCode getHash() {
+    return this.hash;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(this.file, this.hash);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof PomSnapshot)) {
+      return false;
+    }
+    PomSnapshot other = (PomSnapshot) obj;
+    return Objects.equal(this.file, other.file) && Objects.equal(this.hash, other.hash);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("file", this.file).add("hash", this.hash).toString();
+  }
+}
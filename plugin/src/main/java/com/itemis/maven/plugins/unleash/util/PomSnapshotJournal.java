@@ -0,0 +1,163 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.FileUtils;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Maps;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+
+/**
+ * A release-scoped journal of POM snapshots that are used to roll back POM modifications.<br>
+ * <br>
+ * The original bytes of each snapshotted file are stored on disk exactly once, addressed by a hash of the content and
+ * optionally compressed (mojo parameter {@code compressPomSnapshots}). Steps only keep lightweight {@link PomSnapshot}
+ * handles instead of whole DOM documents which allows byte-exact restoration of the files at a fraction of the memory
+ * costs.<br>
+ * <br>
+ * The journal is stored in a private temporary directory rather than the unleash output folder since the release build
+ * cleans the build directory of the project. The directory is deleted when the release has finished.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+@Singleton
+public class PomSnapshotJournal {
+  @Inject
+  @Named("compressPomSnapshots")
+  private boolean compress;
+  private final HashFunction hashFunction;
+  private final ConcurrentMap<HashCode, Path> blobs;
+  private Path directory;
+
+  public PomSnapshotJournal() {
+    this.hashFunction = Hashing.sha256();
+    this.blobs = Maps.newConcurrentMap();
+  }
+
+  /**
+   * Takes a snapshot of the POM file of the passed project.
+   *
+   * @param project the project whose POM shall be snapshotted.
+   * @return the snapshot handle or {@link Optional#absent()} if the project doesn't have a POM file (pom-less builds).
+   * @throws IOException if the POM cannot be read or the snapshot cannot be stored.
+   */
+  public Optional<PomSnapshot> snapshot(MavenProject project) throws IOException {
+    File pom = project.getFile();
+    if (pom == null || !pom.exists()) {
+      return Optional.absent();
+    }
+    return Optional.of(snapshot(pom));
+  }
+
+  /**
+   * Takes a snapshot of the passed file.
+   *
+   * @param file the file to snapshot.
+   * @return the snapshot handle.
+   * @throws IOException if the file cannot be read or the snapshot cannot be stored.
+   */
+  public PomSnapshot snapshot(File file) throws IOException {
+    byte[] content = Files.readAllBytes(file.toPath());
+    HashCode hash = this.hashFunction.hashBytes(content);
+    try {
+      this.blobs.computeIfAbsent(hash, h -> {
+        try {
+          return storeBlob(h, content);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    return new PomSnapshot(file.getAbsoluteFile(), hash);
+  }
+
+  /**
+   * Reads the content of a snapshot.
+   *
+   * @param snapshot the snapshot to read.
+   * @return the original bytes of the snapshotted file.
+   * @throws IOException if the snapshot cannot be read.
+   */
+  public byte[] read(PomSnapshot snapshot) throws IOException {
+    Path blob = this.blobs.get(snapshot.getHash());
+    if (blob == null) {
+      throw new IOException("The journal doesn't contain a snapshot of file " + snapshot.getFile().getAbsolutePath());
+    }
+
+    try (InputStream in = this.compress ? new GZIPInputStream(Files.newInputStream(blob))
+        : Files.newInputStream(blob)) {
+      return ByteStreams.toByteArray(in);
+    }
+  }
+
+  /**
+   * Restores the snapshotted file byte-exactly. Nothing is written if the file content is already equal to the
+   * snapshot, otherwise the file is replaced atomically.
+   *
+   * @param snapshot the snapshot to restore.
+   * @throws IOException if the snapshot cannot be read or the file cannot be written.
+   */
+  public void restore(PomSnapshot snapshot) throws IOException {
+    PomUtil.writePOM(snapshot.getFile(), read(snapshot));
+  }
+
+  @PreDestroy
+  public void cleanup() {
+    this.blobs.clear();
+    if (this.directory != null) {
+      try {
+        FileUtils.deleteDirectory(this.directory.toFile());
+      } catch (IOException e) {
+        // the snapshots are only used during the release, the directory is located in the temp folder anyways
+      }
+    }
+  }
+
+  private Path storeBlob(HashCode hash, byte[] content) throws IOException {
+    byte[] data = content;
+    if (this.compress) {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length / 4 + 32);
+      try (OutputStream out = new GZIPOutputStream(bytes)) {
+        out.write(content);
+      }
+      data = bytes.toByteArray();
+    }
+
+    Path blob = getDirectory().resolve(hash.toString());
+    Path tmp = Files.createTempFile(getDirectory(), hash.toString(), ".tmp");
+    Files.write(tmp, data);
+    Files.move(tmp, blob, StandardCopyOption.REPLACE_EXISTING);
+    return blob;
+  }
+
+  private synchronized Path getDirectory() throws IOException {
+    if (this.directory == null) {
+      this.directory = Files.createTempDirectory("unleash-pom-snapshots");
+    }
+    return this.directory;
+  }
+}
@@ -1,14 +1,19 @@
 package com.itemis.maven.plugins.unleash.util;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -99,7 +104,9 @@ public final class PomUtil {
   }
 
   /**
-   * Assumes that the passed file is a Maven POM file and parses it into a {@link Document} for further manipulation.
+   * Assumes that the passed file is a Maven POM file and parses it into a {@link Document} for further manipulation.<br>
+   * The parsed documents are cached by the {@link PomDocumentStore} as long as the file content doesn't change. Each
+   * call returns a separate copy of the document which can be modified independently.
    *
    * @param pomFile the pom file to be parsed.
    * @return the parsed document for further manipulation.
@@ -113,8 +120,35 @@ public final class PomUtil {
 
     Preconditions.checkArgument(pomFile.isFile(), "The project file does not exist or is invalid.");
     try {
-      return Optional.of(parsePOM(new FileInputStream(pomFile)));
-    } catch (FileNotFoundException e) {
+      return Optional.of(PomDocumentStore.getInstance().get(pomFile));
+    } catch (IOException e) {
+      throw new RuntimeException("Could not load the project object model from file: " + pomFile.getAbsolutePath(), e);
+    }
+  }
+
+  /**
+   * Parses the passed POM file lazily, materializing only the declared sections of the POM. All other complex elements
+   * are kept as opaque text and are re-emitted verbatim when the document is serialized. This reduces parse time and
+   * memory consumption for large POMs significantly if callers only need to modify some parts of the POM.<br>
+   * <br>
+   * Undeclared sections are not part of the document, callers must not query or create them. Lazily parsed documents
+   * are not cached. If the file cannot be scanned on byte level it is parsed completely.
+   *
+   * @param pomFile the pom file to be parsed.
+   * @param sections the paths of the sections to materialize relative to the {@code project} element, f.e.
+   *          {@code parent}, {@code scm}, {@code dependencies} or {@code build/plugins}.
+   * @return the parsed document for further manipulation.
+   */
+  public static final Optional<Document> parsePOM(File pomFile, Set<String> sections) {
+    if (pomFile == null || !pomFile.exists()) {
+      return Optional.absent();
+    }
+
+    Preconditions.checkArgument(pomFile.isFile(), "The project file does not exist or is invalid.");
+    try {
+      Optional<Document> document = LazyPomParser.parse(Files.readAllBytes(pomFile.toPath()), sections);
+      return document.isPresent() ? document : parsePOM(pomFile);
+    } catch (IOException e) {
       throw new RuntimeException("Could not load the project object model from file: " + pomFile.getAbsolutePath(), e);
     }
   }
@@ -140,6 +174,8 @@ public final class PomUtil {
 
   /**
    * Serializes the passed document which should contain POM content to the project file of the passed Maven project.
+   * The file is only written if the serialized content differs from the current file content (see
+   * {@link #writePOM(File, byte[])}).
    *
    * @param document the document to be serialized.
    * @param project the project from which the serialization target will be retrieved.
@@ -150,13 +186,64 @@ public final class PomUtil {
         "The passed project does not contain a valid POM file reference.");
 
     try {
-      writePOM(document, new FileOutputStream(pom), true);
+      writePOM(pom, serializePOM(document));
     } catch (Throwable t) {
       throw new RuntimeException("Could not serialize the project object model of the following module: "
           + ProjectToString.INSTANCE.apply(project), t);
     }
   }
 
+  /**
+   * Serializes the passed document which should contain POM content into a byte array.
+   *
+   * @param document the document to be serialized.
+   * @return the serialized document.
+   */
+  public static final byte[] serializePOM(Document document) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writePOM(document, out, true);
+    return out.toByteArray();
+  }
+
+  /**
+   * Writes the passed content to the POM file if it differs from the current file content.<br>
+   * The content is written to a temporary file next to the POM first which then atomically replaces the POM. This way
+   * the POM is never left in a partially written state, f.i. if the release process is killed.
+   *
+   * @param pom the POM file to write.
+   * @param content the new content of the POM file.
+   * @return {@code true} if the file has been written, {@code false} if the content didn't change.
+   * @throws IOException if the file cannot be written.
+   */
+  public static final boolean writePOM(File pom, byte[] content) throws IOException {
+    Path target = pom.toPath();
+    try {
+      if (Files.isRegularFile(target) && Files.size(target) == content.length
+          && Arrays.equals(content, Files.readAllBytes(target))) {
+        return false;
+      }
+
+      Path tmp = Files.createTempFile(target.toAbsolutePath().getParent(), pom.getName(), ".tmp");
+      try {
+        Files.write(tmp, content);
+        if (Files.exists(target) && Files.getFileAttributeView(target, PosixFileAttributeView.class) != null) {
+          // temp files are only accessible by the owner, the POM keeps its original permissions
+          Files.setPosixFilePermissions(tmp, Files.getPosixFilePermissions(target));
+        }
+        try {
+          Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+          Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+      } finally {
+        Files.deleteIfExists(tmp);
+      }
+      return true;
+    } finally {
+      PomDocumentStore.getInstance().invalidate(pom);
+    }
+  }
+
   /**
    * Serializes the passed document which should contain POM content to the passed output stream.
    *
@@ -168,7 +255,13 @@ public final class PomUtil {
     try {
       Transformer transformer = TransformerFactory.newInstance().newTransformer();
       DOMSource source = new DOMSource(document);
-      transformer.transform(source, new StreamResult(out));
+      if (LazyPomParser.hasOpaqueSections(document)) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        transformer.transform(source, new StreamResult(buffer));
+        out.write(LazyPomParser.restoreOpaqueSections(document, buffer.toByteArray()));
+      } else {
+        transformer.transform(source, new StreamResult(out));
+      }
       // append newline to end-of-file
       // is there any elegant way to do that on Document or in Transformer?
       out.write(LINE_SEPERATOR);
@@ -232,7 +325,7 @@ public final class PomUtil {
     }
 
     // second step: update the parent version in the DOM document that will be serialized for later building
-    Node parentNode = document.getDocumentElement().getElementsByTagName(PomUtil.NODE_NAME_PARENT).item(0);
+    Node parentNode = PomIndex.get(document).getParent();
     if (parentNode != null) {
       NodeList children = parentNode.getChildNodes();
       for (int i = 0; i < children.getLength(); i++) {
@@ -263,6 +356,27 @@ public final class PomUtil {
     dependency.setVersion(newVersion);
 
     // second step: update the dependency version in the DOM document that is then serialized for later building
+    String normalizedPath = dependenciesPath.startsWith("/") ? dependenciesPath : "/" + dependenciesPath;
+    List<Node> dependencyNodes;
+    if (PomIndex.isIndexedSectionPath(normalizedPath)) {
+      dependencyNodes = PomIndex.get(document).getDependencies(normalizedPath, dependency.getGroupId(),
+          dependency.getArtifactId());
+    } else {
+      dependencyNodes = queryDependencyNodes(document, dependenciesPath, dependency);
+    }
+
+    for (Node dependencyNode : dependencyNodes) {
+      NodeList childNodes = dependencyNode.getChildNodes();
+      for (int j = 0; j < childNodes.getLength(); j++) {
+        Node childNode = childNodes.item(j);
+        if (Objects.equal(childNode.getNodeName(), PomUtil.NODE_NAME_VERSION)) {
+          childNode.setTextContent(newVersion);
+        }
+      }
+    }
+  }
+
+  private static List<Node> queryDependencyNodes(Document document, String dependenciesPath, Dependency dependency) {
     NodeList dependencyNodes;
     try {
       List<String> xPathParts = new ArrayList<>();
@@ -280,22 +394,16 @@ public final class PomUtil {
 
       XPath xPath = XPathFactory.newInstance().newXPath();
       dependencyNodes = (NodeList) xPath.evaluate(expression, document.getDocumentElement(), XPathConstants.NODESET);
-
     } catch (XPathExpressionException e) {
       String message = "Cannot evaluate xPath against '" + dependenciesPath + "'.";
       throw new RuntimeException(message, e);
     }
 
+    List<Node> result = new ArrayList<>(dependencyNodes.getLength());
     for (int i = 0; i < dependencyNodes.getLength(); i++) {
-      Node dependencyNode = dependencyNodes.item(i);
-      NodeList childNodes = dependencyNode.getChildNodes();
-      for (int j = 0; j < childNodes.getLength(); j++) {
-        Node childNode = childNodes.item(j);
-        if (Objects.equal(childNode.getNodeName(), PomUtil.NODE_NAME_VERSION)) {
-          childNode.setTextContent(newVersion);
-        }
-      }
+      result.add(dependencyNodes.item(i));
     }
+    return result;
   }
 
   /**
@@ -310,19 +418,12 @@ public final class PomUtil {
     Preconditions.checkArgument(hasChildNode(document, NODE_NAME_PROJECT),
         "The document doesn't seem to be a POM model, project element is missing.");
 
-    Node build = null;
-    Node project = document.getElementsByTagName(NODE_NAME_PROJECT).item(0);
-    NodeList children = project.getChildNodes();
-    for (int i = 0; i < children.getLength(); i++) {
-      Node node = children.item(i);
-      if (Objects.equal(NODE_NAME_BUILD, node.getNodeName())) {
-        build = node;
-        break;
-      }
-    }
+    PomIndex index = PomIndex.get(document);
+    Node build = index.getBuild();
     if (build == null && createOnDemand) {
       build = document.createElement(NODE_NAME_BUILD);
-      project.appendChild(build);
+      index.getProject().appendChild(build);
+      PomIndex.invalidate(document);
     }
 
     return build;
@@ -343,17 +444,11 @@ public final class PomUtil {
     Node build = getOrCreateBuildNode(document, createOnDemand);
     Node plugins = null;
     if (build != null) {
-      NodeList children = build.getChildNodes();
-      for (int i = 0; i < children.getLength(); i++) {
-        Node node = children.item(i);
-        if (Objects.equal(NODE_NAME_PLUGINS, node.getNodeName())) {
-          plugins = node;
-          break;
-        }
-      }
+      plugins = PomIndex.get(document).getPlugins();
       if (plugins == null && createOnDemand) {
         plugins = document.createElement(NODE_NAME_PLUGINS);
         build.appendChild(plugins);
+        PomIndex.invalidate(document);
       }
     }
 
@@ -372,34 +467,7 @@ public final class PomUtil {
     Preconditions.checkArgument(hasChildNode(document, NODE_NAME_PROJECT),
         "The document doesn't seem to be a POM model, project element is missing.");
 
-    Node pluginsNode = getOrCreatePluginsNode(document, false);
-    if (pluginsNode != null) {
-      NodeList plugins = pluginsNode.getChildNodes();
-      for (int i = 0; i < plugins.getLength(); i++) {
-        Node plugin = plugins.item(i);
-        if (Objects.equal(NODE_NAME_PLUGIN, plugin.getNodeName())) {
-          NodeList pluginSettings = plugin.getChildNodes();
-          boolean gidMatches = false;
-          boolean aidMatches = false;
-          for (int j = 0; j < pluginSettings.getLength(); j++) {
-            Node setting = pluginSettings.item(j);
-            if (Objects.equal(NODE_NAME_GROUP_ID, setting.getNodeName())) {
-              if (Objects.equal(groupId, setting.getTextContent())) {
-                gidMatches = true;
-              }
-            } else if (Objects.equal(NODE_NAME_ARTIFACT_ID, setting.getNodeName())) {
-              if (Objects.equal(artifactId, setting.getTextContent())) {
-                aidMatches = true;
-              }
-            }
-            if (gidMatches && aidMatches) {
-              return plugin;
-            }
-          }
-        }
-      }
-    }
-    return null;
+    return PomIndex.get(document).getPlugin(groupId, artifactId);
   }
 
   /**
@@ -441,10 +509,39 @@ public final class PomUtil {
       Element ver = document.createElement(NODE_NAME_VERSION);
       ver.setTextContent(version);
       plugin.appendChild(ver);
+      PomIndex.invalidate(document);
       return plugin;
     }
   }
 
+  /**
+   * Removes a plugin from the build plugins of the given POM document. The plugins and build nodes are removed as well
+   * if they are empty afterwards.
+   *
+   * @param document the document from which the plugin shall be removed.
+   * @param groupId the groupId of the plugin to remove.
+   * @param artifactId the artifactId of the plugin to remove.
+   * @return {@code true} if the plugin has been removed, {@code false} if the plugin isn't configured.
+   */
+  public static boolean removePlugin(Document document, String groupId, String artifactId) {
+    Node plugin = getPlugin(document, groupId, artifactId);
+    if (plugin == null) {
+      return false;
+    }
+
+    Node plugins = plugin.getParentNode();
+    plugins.removeChild(plugin);
+    if (plugins.getChildNodes().getLength() == 0) {
+      Node build = plugins.getParentNode();
+      build.removeChild(plugins);
+      if (build.getChildNodes().getLength() == 0) {
+        build.getParentNode().removeChild(build);
+      }
+    }
+    PomIndex.invalidate(document);
+    return true;
+  }
+
   /**
    * Creates a new execution element under the given plugin node.
    *
@@ -510,13 +607,11 @@ public final class PomUtil {
     Preconditions.checkArgument(hasChildNode(document, NODE_NAME_PROJECT),
         "The document doesn't seem to be a POM model, project element is missing.");
 
-    NodeList scmNodeList = document.getElementsByTagName(NODE_NAME_SCM);
-    Node scm = null;
-    if (scmNodeList.getLength() == 0 && createOnDemand) {
+    Node scm = PomIndex.get(document).getScm();
+    if (scm == null && createOnDemand) {
       scm = document.createElement(NODE_NAME_SCM);
       document.getDocumentElement().appendChild(scm);
-    } else {
-      scm = scmNodeList.item(0);
+      PomIndex.invalidate(document);
     }
     return scm;
   }
@@ -555,6 +650,8 @@ public final class PomUtil {
 
     if (node != null) {
       node.setTextContent(content);
+      // the node might be a coordinate that is used as a key of the index
+      PomIndex.invalidate(parentNode.getOwnerDocument());
     }
   }
 
@@ -577,6 +674,7 @@ public final class PomUtil {
 
     if (nodeToDelete != null) {
       parentNode.removeChild(nodeToDelete);
+      PomIndex.invalidate(parentNode.getOwnerDocument());
     }
   }
 
@@ -0,0 +1,279 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.io.Files;
+import com.itemis.maven.plugins.unleash.util.PomScanner.ScannedElement;
+
+/**
+ * Rewrites version-related values of a POM file in place without a DOM round-trip.<br>
+ * <br>
+ * The POM is scanned once on byte level recording the offsets of all elements. Changes of the project version, the
+ * parent version, the SCM settings and dependency versions are then written back by replacing only the affected byte
+ * ranges, the rest of the file is copied verbatim. This preserves the original formatting and is much cheaper than
+ * parsing and serializing a DOM document.<br>
+ * <br>
+ * The rewriter only supports POMs it can handle unambiguously (ASCII-compatible encodings, no DOCTYPE declarations, no
+ * markup inside coordinate elements). {@link #load(File)} returns {@link Optional#absent()} for all other POMs and
+ * callers have to fall back to the DOM-based methods of {@link PomUtil}. The edits have the same semantics as the
+ * corresponding DOM-based methods.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+public final class PomVersionRewriter {
+  private final File file;
+  private final byte[] content;
+  private final Charset charset;
+  private final ScannedElement root;
+  private final Map<ScannedElement, byte[]> edits;
+  private boolean written;
+
+  private PomVersionRewriter(File file, byte[] content, Charset charset, ScannedElement root) {
+    this.file = file;
+    this.content = content;
+    this.charset = charset;
+    this.root = root;
+    this.edits = new LinkedHashMap<>();
+  }
+
+  /**
+   * Scans the passed POM file for later in-place rewriting.
+   *
+   * @param pomFile the POM file to scan.
+   * @return the rewriter for the file or {@link Optional#absent()} if the file doesn't exist or cannot be rewritten
+   *         safely on byte level.
+   * @throws IOException if the file cannot be read.
+   */
+  public static Optional<PomVersionRewriter> load(File pomFile) throws IOException {
+    if (pomFile == null || !pomFile.isFile()) {
+      return Optional.absent();
+    }
+
+    byte[] content = Files.toByteArray(pomFile);
+    Optional<Charset> charset = PomScanner.detectCharset(content);
+    if (!charset.isPresent()) {
+      return Optional.absent();
+    }
+
+    ScannedElement root = PomScanner.scan(content, charset.get());
+    if (root == null || !Objects.equals(PomUtil.NODE_NAME_PROJECT, root.name)) {
+      return Optional.absent();
+    }
+    return Optional.of(new PomVersionRewriter(pomFile, content, charset.get(), root));
+  }
+
+  /**
+   * Changes the project version (all {@code version} children of the {@code project} element).
+   *
+   * @param newVersion the new project version.
+   */
+  public void setProjectVersion(String newVersion) {
+    for (ScannedElement version : this.root.getChildren(PomUtil.NODE_NAME_VERSION)) {
+      setText(version, newVersion);
+    }
+  }
+
+  /**
+   * Changes the parent version (all {@code version} children of the first {@code parent} element).
+   *
+   * @param newParentVersion the new parent version.
+   */
+  public void setParentVersion(String newParentVersion) {
+    ScannedElement parent = this.root.findFirst(PomUtil.NODE_NAME_PARENT);
+    if (parent != null) {
+      for (ScannedElement version : parent.getChildren(PomUtil.NODE_NAME_VERSION)) {
+        setText(version, newParentVersion);
+      }
+    }
+  }
+
+  /**
+   * Changes the version of all dependencies with the given coordinates in the specified dependencies section.
+   *
+   * @param dependenciesPath the path of the dependencies section in the same format as expected by
+   *          {@link PomUtil#setDependencyVersion(org.apache.maven.model.Dependency, org.w3c.dom.Document, String, String)}.
+   * @param groupId the groupId of the dependency.
+   * @param artifactId the artifactId of the dependency.
+   * @param newVersion the new dependency version.
+   */
+  public void setDependencyVersion(String dependenciesPath, String groupId, String artifactId, String newVersion) {
+    String normalizedPath = dependenciesPath.startsWith("/") ? dependenciesPath : "/" + dependenciesPath;
+    for (ScannedElement dependencies : this.root.findAll(PomUtil.NODE_NAME_DEPENDENCIES)) {
+      if (!Objects.equals(normalizedPath, getSectionPath(dependencies))) {
+        continue;
+      }
+      for (ScannedElement dependency : dependencies.getChildren(PomUtil.NODE_NAME_DEPENDENCY)) {
+        if (dependency.hasChildText(PomUtil.NODE_NAME_GROUP_ID, groupId)
+            && dependency.hasChildText(PomUtil.NODE_NAME_ARTIFACT_ID, artifactId)) {
+          for (ScannedElement version : dependency.getChildren(PomUtil.NODE_NAME_VERSION)) {
+            setText(version, newVersion);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * @return {@code true} if the POM contains an {@code scm} element.
+   */
+  public boolean hasScm() {
+    return this.root.findFirst(PomUtil.NODE_NAME_SCM) != null;
+  }
+
+  /**
+   * Sets the text content of the first child of the SCM element with the given name. Nothing happens if there is no
+   * such element.
+   *
+   * @param nodeName the name of the SCM child element, f.e. {@link PomUtil#NODE_NAME_SCM_CONNECTION}.
+   * @param value the new value.
+   */
+  public void setScmValue(String nodeName, String value) {
+    ScannedElement scm = this.root.findFirst(PomUtil.NODE_NAME_SCM);
+    if (scm != null) {
+      List<ScannedElement> children = scm.getChildren(nodeName);
+      if (!children.isEmpty()) {
+        setText(children.get(0), value);
+      }
+    }
+  }
+
+  /**
+   * Removes the first child of the SCM element with the given name. Just as
+   * {@link PomUtil#deleteNode(org.w3c.dom.Node, String)} only the element itself is removed, surrounding whitespace
+   * is kept.
+   *
+   * @param nodeName the name of the SCM child element to delete.
+   */
+  public void deleteScmValue(String nodeName) {
+    ScannedElement scm = this.root.findFirst(PomUtil.NODE_NAME_SCM);
+    if (scm != null) {
+      List<ScannedElement> children = scm.getChildren(nodeName);
+      if (!children.isEmpty()) {
+        this.edits.put(children.get(0), null);
+      }
+    }
+  }
+
+  /**
+   * @return {@code true} if there are edits that haven't been written yet.
+   */
+  public boolean hasChanges() {
+    return !this.edits.isEmpty();
+  }
+
+  /**
+   * Writes the edited POM back to the file it was loaded from using {@link PomUtil#writePOM(File, byte[])}. Nothing is
+   * written if there are no edits. The rewriter must not be used anymore after writing.
+   *
+   * @throws IOException if the file cannot be written.
+   */
+  public void write() throws IOException {
+    Preconditions.checkState(!this.written, "The POM has already been written.");
+    this.written = true;
+    if (!this.edits.isEmpty()) {
+      PomUtil.writePOM(this.file, toByteArray());
+    }
+  }
+
+  /**
+   * Assembles the edited POM content. Only the edited byte ranges differ from the original file content.
+   *
+   * @return the content of the POM including all edits.
+   */
+  public byte[] toByteArray() {
+    List<ScannedElement> edited = new ArrayList<>(this.edits.keySet());
+    Collections.sort(edited, (e1, e2) -> Integer.compare(e1.start, e2.start));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream(this.content.length + 64);
+    int pos = 0;
+    for (ScannedElement element : edited) {
+      byte[] replacement = this.edits.get(element);
+      int from = replacement == null || element.isEmptyElement() ? element.start : element.contentStart;
+      int to = replacement == null || element.isEmptyElement() ? element.end : element.contentEnd;
+      Preconditions.checkState(from >= pos, "Overlapping edits in POM " + this.file.getAbsolutePath());
+
+      out.write(this.content, pos, from - pos);
+      if (replacement != null) {
+        out.write(replacement, 0, replacement.length);
+      }
+      pos = to;
+    }
+    out.write(this.content, pos, this.content.length - pos);
+    return out.toByteArray();
+  }
+
+  private void setText(ScannedElement element, String text) {
+    String escaped = escape(text);
+    if (element.isEmptyElement()) {
+      // <version/> -> <version>text</version>, keeping the attributes of the start tag
+      int tagEnd = element.end - 2;
+      while (tagEnd > element.start && PomScanner.isWhitespace(this.content[tagEnd - 1])) {
+        tagEnd--;
+      }
+      String startTag = new String(this.content, element.start, tagEnd - element.start, this.charset);
+      this.edits.put(element, encode(startTag + ">" + escaped + "</" + element.name + ">"));
+    } else {
+      this.edits.put(element, encode(escaped));
+    }
+  }
+
+  private byte[] encode(String s) {
+    Preconditions.checkArgument(this.charset.newEncoder().canEncode(s),
+        "The value '" + s + "' cannot be encoded using the POM encoding " + this.charset.name());
+    return s.getBytes(this.charset);
+  }
+
+  private String getSectionPath(ScannedElement dependencies) {
+    ScannedElement section = dependencies.parent;
+    String suffix = "";
+    if (section != null && Objects.equals(PomUtil.NODE_NAME_DEPENDENCY_MANAGEMENT, section.name)) {
+      suffix = "/" + PomUtil.NODE_NAME_DEPENDENCY_MANAGEMENT;
+      section = section.parent;
+    }
+
+    if (section == this.root) {
+      return suffix.isEmpty() ? "/" : suffix;
+    }
+    if (section != null && Objects.equals("profile", section.name) && section.parent != null
+        && Objects.equals("profiles", section.parent.name) && section.parent.parent == this.root) {
+      List<ScannedElement> ids = section.getChildren(PomUtil.NODE_NAME_ID);
+      if (!ids.isEmpty()) {
+        return "/profiles/profile[id[text()='" + ids.get(0).text + "']]" + suffix;
+      }
+    }
+    return null;
+  }
+
+  private static String escape(String s) {
+    StringBuilder sb = new StringBuilder(s.length());
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      switch (c) {
+        case '&':
+          sb.append("&amp;");
+          break;
+        case '<':
+          sb.append("&lt;");
+          break;
+        case '>':
+          sb.append("&gt;");
+          break;
+        default:
+          sb.append(c);
+      }
+    }
+    return sb.toString();
+  }
+}
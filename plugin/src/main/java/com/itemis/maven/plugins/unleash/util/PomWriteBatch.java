@@ -0,0 +1,90 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.apache.maven.project.MavenProject;
+import org.w3c.dom.Document;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+
+/**
+ * Collects serialized POMs and writes them to disk in one go, f.i. when a {@link PomEditSession} is committed.<br>
+ * <br>
+ * Documents are serialized when they are staged, so the expensive part of the writing still happens in the (possibly
+ * parallel) module transformations. {@link #flush()} then only writes those files whose content actually changed, each
+ * of them atomically using {@link PomUtil#writePOM(File, byte[])}. If the processing fails before flushing, none of the
+ * modifications reach the disk which keeps the rollback cheap.<br>
+ * <br>
+ * Staging is thread-safe.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+public class PomWriteBatch {
+  private final Map<File, byte[]> pending;
+
+  public PomWriteBatch() {
+    this.pending = Maps.newConcurrentMap();
+  }
+
+  /**
+   * Serializes the passed document and stages it for writing to the POM file of the passed project.
+   *
+   * @param document the document to write.
+   * @param project the project whose POM file shall be written.
+   */
+  public void stage(Document document, MavenProject project) {
+    File pom = project.getFile();
+    Preconditions.checkArgument(pom != null && pom.isFile(),
+        "The passed project does not contain a valid POM file reference.");
+    stage(pom, PomUtil.serializePOM(document));
+  }
+
+  /**
+   * Stages the passed content for writing to the passed POM file. Staging the same file again replaces the previously
+   * staged content.
+   *
+   * @param pom the POM file to write.
+   * @param content the new content of the file.
+   */
+  public void stage(File pom, byte[] content) {
+    this.pending.put(pom.getAbsoluteFile(), content);
+  }
+
+  /**
+   * Writes all staged POMs whose content differs from the current file content. Files that could be written are
+   * removed from the batch even if writing other files fails.
+   *
+   * @return the number of files that have actually been written.
+   * @throws IOException if at least one file could not be written. Further failures are added as suppressed exceptions.
+   */
+  public int flush() throws IOException {
+    int written = 0;
+    IOException failure = null;
+    for (Entry<File, byte[]> entry : new TreeMap<>(this.pending).entrySet()) {
+      try {
+        if (PomUtil.writePOM(entry.getKey(), entry.getValue())) {
+          written++;
+        }
+        this.pending.remove(entry.getKey());
+      } catch (IOException e) {
+        IOException wrapped = new IOException("Could not write POM " + entry.getKey().getAbsolutePath(), e);
+        if (failure == null) {
+          failure = wrapped;
+        } else {
+          failure.addSuppressed(wrapped);
+        }
+      }
+    }
+
+    if (failure != null) {
+      throw failure;
+    }
+    return written;
+  }
+}
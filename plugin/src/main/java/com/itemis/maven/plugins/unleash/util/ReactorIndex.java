@@ -0,0 +1,139 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.itemis.maven.aether.ArtifactCoordinates;
+
+/**
+ * An index of the reactor projects that is built once per release and shared by all steps. It provides constant time
+ * lookups of reactor projects by groupId and artifactId and the raw (non-interpolated) models of the projects.<br>
+ * <br>
+ * The index is immutable once it has been built, lookups do not require any locking. Raw models are parsed lazily and
+ * validated against a hash of the current POM content the same way the {@link PomDocumentStore} does it. This way
+ * modifications of the POMs by previous steps are always reflected.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+@Singleton
+public class ReactorIndex {
+  @Inject
+  @Named("reactorProjects")
+  private List<MavenProject> reactorProjects;
+
+  private ImmutableList<MavenProject> projects;
+  // written last when building the index, publishes all other index fields safely
+  private volatile ImmutableMap<String, MavenProject> projectsByGA;
+  private final Map<File, RawModel> rawModels;
+
+  public ReactorIndex() {
+    this.rawModels = Maps.newHashMap();
+  }
+
+  ReactorIndex(List<MavenProject> reactorProjects) {
+    this();
+    this.reactorProjects = reactorProjects;
+  }
+
+  /**
+   * @return all reactor projects in reactor order.
+   */
+  public List<MavenProject> getProjects() {
+    init();
+    return this.projects;
+  }
+
+  /**
+   * @param groupId the groupId of the project.
+   * @param artifactId the artifactId of the project.
+   * @return the reactor project having the passed coordinates or {@link Optional#absent()} if there is no such project
+   *         in the reactor.
+   */
+  public Optional<MavenProject> getProject(String groupId, String artifactId) {
+    init();
+    return Optional.fromNullable(this.projectsByGA.get(ArtifactCoordinates.toGA(groupId, artifactId)));
+  }
+
+  /**
+   * @param groupId a groupId.
+   * @param artifactId an artifactId.
+   * @return {@code true} if the reactor contains a project having the passed coordinates.
+   */
+  public boolean contains(String groupId, String artifactId) {
+    init();
+    return this.projectsByGA.containsKey(ArtifactCoordinates.toGA(groupId, artifactId));
+  }
+
+  /**
+   * Provides the raw model of the project as it is declared in the current POM file, without inheritance and
+   * interpolation. The returned model is shared and must not be modified.
+   *
+   * @param project a reactor project.
+   * @return the raw model of the project.
+   * @throws IllegalStateException if the POM cannot be read or parsed.
+   */
+  public synchronized Model getRawModel(MavenProject project) {
+    File pom = project.getFile().getAbsoluteFile();
+    try {
+      byte[] content = Files.readAllBytes(pom.toPath());
+      HashCode hash = Hashing.murmur3_128().hashBytes(content);
+      RawModel rawModel = this.rawModels.get(pom);
+      if (rawModel == null || !rawModel.hash.equals(hash)) {
+        rawModel = new RawModel(hash, new MavenXpp3Reader().read(new ByteArrayInputStream(content)));
+        this.rawModels.put(pom, rawModel);
+      }
+      return rawModel.model;
+    } catch (IOException | XmlPullParserException e) {
+      throw new IllegalStateException("Unable to read the raw model of POM '" + pom.getAbsolutePath() + "'", e);
+    }
+  }
+
+  private void init() {
+    if (this.projectsByGA == null) {
+      synchronized (this) {
+        if (this.projectsByGA == null) {
+          buildIndex();
+        }
+      }
+    }
+  }
+
+  private void buildIndex() {
+    this.projects = ImmutableList.copyOf(this.reactorProjects);
+    Map<String, MavenProject> projectsByGA = Maps.newLinkedHashMap();
+    for (MavenProject project : this.reactorProjects) {
+      projectsByGA.put(ArtifactCoordinates.toGA(project.getGroupId(), project.getArtifactId()), project);
+    }
+    this.projectsByGA = ImmutableMap.copyOf(projectsByGA);
+  }
+
+  private static class RawModel {
+    private final HashCode hash;
+    private final Model model;
+
+    private RawModel(HashCode hash, Model model) {
+      this.hash = hash;
+      this.model = model;
+    }
+  }
+}
@@ -0,0 +1,173 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.apache.maven.model.BuildBase;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.ModelBase;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginManagement;
+import org.apache.maven.model.Profile;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.project.MavenProject;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Maps;
+import com.itemis.maven.plugins.cdi.logging.Logger;
+import com.itemis.maven.plugins.unleash.util.functions.ProjectToString;
+
+/**
+ * Traverses the models of all reactor projects in a single pass and notifies {@link ModelVisitor visitors} about all
+ * dependencies, plugins and plugin dependencies of the projects, their management sections and their profiles.<br>
+ * <br>
+ * The scanner holds one {@link PomPropertyResolver} per project which is shared by all visitors. The
+ * {@link SnapshotFindings SNAPSHOT findings} of the reactor are collected by the first check that requests them and
+ * are then shared with all other checks.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+@Singleton
+public class ReactorModelScanner {
+  @Inject
+  private Logger log;
+  @Inject
+  @Named("reactorProjects")
+  private List<MavenProject> reactorProjects;
+  @Inject
+  private PomPropertyLayers propertyLayers;
+  @Inject
+  private PluginDescriptor pluginDescriptor;
+  @Inject
+  private CheckCache checkCache;
+
+  private final Map<MavenProject, PomPropertyResolver> propertyResolvers;
+  private SnapshotFindings snapshotFindings;
+
+  public ReactorModelScanner() {
+    this.propertyResolvers = Maps.newHashMap();
+  }
+
+  /**
+   * @param project a reactor project.
+   * @return the shared property resolver of the project.
+   */
+  public synchronized PomPropertyResolver getPropertyResolver(MavenProject project) {
+    PomPropertyResolver resolver = this.propertyResolvers.get(project);
+    if (resolver == null) {
+      resolver = new PomPropertyResolver(project, this.propertyLayers);
+      this.propertyResolvers.put(project, resolver);
+    }
+    return resolver;
+  }
+
+  /**
+   * @return the SNAPSHOT references of all reactor projects. The models are scanned on the first call only, projects
+   *         whose findings are contained in the {@link CheckCache check cache} (if enabled) are not scanned at all.
+   */
+  public synchronized SnapshotFindings getSnapshotFindings() {
+    if (this.snapshotFindings == null) {
+      SnapshotFindings.Collector collector = new SnapshotFindings.Collector(this.reactorProjects,
+          this.pluginDescriptor.getPlugin());
+      boolean useCache = this.checkCache.isEnabled();
+      for (MavenProject project : this.reactorProjects) {
+        Optional<List<String>> cached = useCache ? this.checkCache.get(project) : Optional.<List<String>> absent();
+        if (cached.isPresent()) {
+          try {
+            collector.restore(project, cached.get());
+            continue;
+          } catch (IllegalArgumentException e) {
+            this.log.debug("\tIgnoring the malformed cached findings of reactor project '"
+                + ProjectToString.INSTANCE.apply(project) + "'");
+          }
+        }
+        scan(project, collector);
+        if (useCache) {
+          this.checkCache.put(project, collector.export(project));
+        }
+      }
+      if (useCache) {
+        this.checkCache.save();
+        this.checkCache.logStatistics();
+      }
+      this.snapshotFindings = collector.build();
+    }
+    return this.snapshotFindings;
+  }
+
+  /**
+   * Traverses the models of all reactor projects once and passes all artifact references to the visitors.
+   *
+   * @param visitors the visitors to notify.
+   */
+  public synchronized void scan(ModelVisitor... visitors) {
+    for (MavenProject project : this.reactorProjects) {
+      scan(project, visitors);
+    }
+  }
+
+  private void scan(MavenProject project, ModelVisitor... visitors) {
+    this.log.debug("\tScanning the model of reactor project '" + ProjectToString.INSTANCE.apply(project) + "'");
+    PomPropertyResolver propertyResolver = getPropertyResolver(project);
+    scan(project, project.getModel(), project.getBuild(), propertyResolver, visitors);
+
+    List<Profile> profiles = project.getModel().getProfiles();
+    if (profiles != null) {
+      for (Profile profile : profiles) {
+        this.log.debug("\t\tScanning profile '" + profile.getId() + "'");
+        scan(project, profile, profile.getBuild(), propertyResolver, visitors);
+      }
+    }
+  }
+
+  private void scan(MavenProject project, ModelBase model, BuildBase build, PomPropertyResolver propertyResolver,
+      ModelVisitor[] visitors) {
+    DependencyManagement dependencyManagement = model.getDependencyManagement();
+    if (dependencyManagement != null) {
+      visitDependencies(project, dependencyManagement.getDependencies(), propertyResolver, visitors);
+    }
+    visitDependencies(project, model.getDependencies(), propertyResolver, visitors);
+
+    if (build != null) {
+      PluginManagement pluginManagement = build.getPluginManagement();
+      if (pluginManagement != null) {
+        visitPlugins(project, pluginManagement.getPlugins(), propertyResolver, visitors);
+      }
+      visitPlugins(project, build.getPlugins(), propertyResolver, visitors);
+    }
+  }
+
+  private void visitDependencies(MavenProject project, List<Dependency> dependencies,
+      PomPropertyResolver propertyResolver, ModelVisitor[] visitors) {
+    for (Dependency dependency : nullToEmpty(dependencies)) {
+      for (ModelVisitor visitor : visitors) {
+        visitor.visitDependency(project, dependency, propertyResolver);
+      }
+    }
+  }
+
+  private void visitPlugins(MavenProject project, List<Plugin> plugins, PomPropertyResolver propertyResolver,
+      ModelVisitor[] visitors) {
+    for (Plugin plugin : nullToEmpty(plugins)) {
+      for (ModelVisitor visitor : visitors) {
+        visitor.visitPlugin(project, plugin, propertyResolver);
+      }
+      for (Dependency dependency : nullToEmpty(plugin.getDependencies())) {
+        for (ModelVisitor visitor : visitors) {
+          visitor.visitPluginDependency(project, plugin, dependency, propertyResolver);
+        }
+      }
+    }
+  }
+
+  private static <T> List<T> nullToEmpty(List<T> list) {
+    return list != null ? list : Collections.<T> emptyList();
+  }
+}
@@ -0,0 +1,55 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.maven.project.MavenProject;
+
+import com.google.common.collect.ImmutableMap;
+import com.itemis.maven.plugins.unleash.util.functions.ProjectToString;
+
+/**
+ * Indicates that the POMs of one or more modules could not be processed by the {@link ReactorPomRewriter}. The first
+ * failure is reported as the cause, all others are added as suppressed exceptions.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+public class ReactorPomRewriteException extends Exception {
+  private static final long serialVersionUID = -3349412540741957146L;
+
+  private final transient Map<MavenProject, Throwable> failures;
+
+  public ReactorPomRewriteException(Map<MavenProject, Throwable> failures) {
+    super(buildMessage(failures), failures.values().iterator().next());
+    this.failures = ImmutableMap.copyOf(failures);
+    for (Throwable t : failures.values()) {
+      if (t != getCause()) {
+        addSuppressed(t);
+      }
+    }
+  }
+
+  public ReactorPomRewriteException(String message, Throwable cause) {
+    super(message, cause);
+    this.failures = Collections.emptyMap();
+  }
+
+  /**
+   * @return the failures of all modules that could not be processed.
+   */
+  public Map<MavenProject, Throwable> getFailures() {
+    return this.failures;
+  }
+
+  private static String buildMessage(Map<MavenProject, Throwable> failures) {
+    StringBuilder sb = new StringBuilder("Processing of the POMs failed for ").append(failures.size())
+        .append(" module(s):");
+    for (Entry<MavenProject, Throwable> entry : failures.entrySet()) {
+      sb.append("\n\t").append(ProjectToString.INSTANCE.apply(entry.getKey())).append(": ")
+          .append(entry.getValue().getMessage());
+    }
+    return sb.toString();
+  }
+}
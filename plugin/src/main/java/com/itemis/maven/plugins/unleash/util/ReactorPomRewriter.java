@@ -0,0 +1,101 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.maven.project.MavenProject;
+
+import com.google.common.collect.Maps;
+import com.itemis.maven.plugins.cdi.logging.Logger;
+
+/**
+ * Applies per-module POM transformations to all modules of the reactor in parallel.<br>
+ * <br>
+ * The transformations run on a bounded thread pool whose parallelism can be configured using the mojo parameter
+ * {@code pomRewriteThreads} (default: number of available processors). Each transformation must only modify the POM of
+ * the module it is called for. A failing module doesn't stop the processing of the other modules, all failures are
+ * collected and reported together afterwards. This way the calling step knows exactly which POMs have been touched
+ * and can restore all of them in its rollback.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+public class ReactorPomRewriter {
+  @Inject
+  private Logger log;
+  @Inject
+  @Named("pomRewriteThreads")
+  private int threads;
+
+  public ReactorPomRewriter() {
+  }
+
+  ReactorPomRewriter(int threads, Logger log) {
+    this.threads = threads;
+    this.log = log;
+  }
+
+  /**
+   * A transformation of the POM of a single module.
+   */
+  @FunctionalInterface
+  public interface ModuleTransformation {
+    void apply(MavenProject module) throws Exception;
+  }
+
+  /**
+   * Applies the transformation to all passed modules and waits until all modules have been processed.
+   *
+   * @param modules the modules whose POMs shall be transformed.
+   * @param transformation the transformation to apply to each module.
+   * @throws ReactorPomRewriteException if the transformation failed for at least one module.
+   */
+  public void rewrite(Collection<MavenProject> modules, final ModuleTransformation transformation)
+      throws ReactorPomRewriteException {
+    final Map<MavenProject, Throwable> failures = Maps.newConcurrentMap();
+    int parallelism = Math.min(getParallelism(), modules.size());
+    if (parallelism > 1) {
+      this.log.debug("\tProcessing POMs of " + modules.size() + " modules using " + parallelism + " threads.");
+    }
+    List<Callable<Void>> tasks = new ArrayList<>(modules.size());
+    for (final MavenProject module : modules) {
+      tasks.add(() -> {
+        apply(module, transformation, failures);
+        return null;
+      });
+    }
+
+    try {
+      ParallelExecutor.invokeAll("pom-rewriter", parallelism, tasks);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ReactorPomRewriteException("Processing of the module POMs has been interrupted.", e);
+    } catch (ExecutionException e) {
+      // failures are collected by the tasks themselves, this should never happen
+      throw new ReactorPomRewriteException("Processing of the module POMs failed unexpectedly.", e.getCause());
+    }
+
+    if (!failures.isEmpty()) {
+      throw new ReactorPomRewriteException(failures);
+    }
+  }
+
+  private void apply(MavenProject module, ModuleTransformation transformation, Map<MavenProject, Throwable> failures) {
+    try {
+      transformation.apply(module);
+    } catch (Throwable t) {
+      failures.put(module, t);
+    }
+  }
+
+  private int getParallelism() {
+    return this.threads > 0 ? this.threads : Runtime.getRuntime().availableProcessors();
+  }
+}
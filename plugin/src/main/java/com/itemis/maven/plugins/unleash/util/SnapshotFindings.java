@@ -0,0 +1,216 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Objects;
+import com.google.common.base.Splitter;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.SetMultimap;
+import com.itemis.maven.aether.ArtifactCoordinates;
+import com.itemis.maven.plugins.unleash.util.functions.DependencyToCoordinates;
+import com.itemis.maven.plugins.unleash.util.functions.PluginToCoordinates;
+import com.itemis.maven.plugins.unleash.util.functions.ProjectToCoordinates;
+import com.itemis.maven.plugins.unleash.util.predicates.IsSnapshotDependency;
+import com.itemis.maven.plugins.unleash.util.predicates.IsSnapshotPlugin;
+
+/**
+ * The SNAPSHOT references of all reactor projects as collected by the {@link ReactorModelScanner}. The findings are
+ * ordered by reactor project and declaration order.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+public class SnapshotFindings {
+  private final ImmutableSetMultimap<MavenProject, ArtifactCoordinates> dependencies;
+  private final ImmutableSetMultimap<MavenProject, ArtifactCoordinates> plugins;
+  private final ImmutableMap<MavenProject, ImmutableSetMultimap<ArtifactCoordinates, ArtifactCoordinates>> pluginDependencies;
+
+  private SnapshotFindings(SetMultimap<MavenProject, ArtifactCoordinates> dependencies,
+      SetMultimap<MavenProject, ArtifactCoordinates> plugins,
+      Map<MavenProject, SetMultimap<ArtifactCoordinates, ArtifactCoordinates>> pluginDependencies) {
+    this.dependencies = ImmutableSetMultimap.copyOf(dependencies);
+    this.plugins = ImmutableSetMultimap.copyOf(plugins);
+    ImmutableMap.Builder<MavenProject, ImmutableSetMultimap<ArtifactCoordinates, ArtifactCoordinates>> builder = ImmutableMap
+        .builder();
+    for (MavenProject project : pluginDependencies.keySet()) {
+      builder.put(project, ImmutableSetMultimap.copyOf(pluginDependencies.get(project)));
+    }
+    this.pluginDependencies = builder.build();
+  }
+
+  /**
+   * @return the SNAPSHOT dependencies per project, excluding dependencies to other reactor projects.
+   */
+  public ImmutableSetMultimap<MavenProject, ArtifactCoordinates> getDependencies() {
+    return this.dependencies;
+  }
+
+  /**
+   * @return the SNAPSHOT plugins per project.
+   */
+  public ImmutableSetMultimap<MavenProject, ArtifactCoordinates> getPlugins() {
+    return this.plugins;
+  }
+
+  /**
+   * @return the SNAPSHOT dependencies of plugins per project and plugin. Only projects having such dependencies are
+   *         contained.
+   */
+  public ImmutableMap<MavenProject, ImmutableSetMultimap<ArtifactCoordinates, ArtifactCoordinates>> getPluginDependencies() {
+    return this.pluginDependencies;
+  }
+
+  /**
+   * @return {@code true} if no SNAPSHOT references have been found at all.
+   */
+  public boolean isEmpty() {
+    return this.dependencies.isEmpty() && this.plugins.isEmpty() && this.pluginDependencies.isEmpty();
+  }
+
+  /**
+   * A visitor collecting all SNAPSHOT references of the reactor.
+   */
+  static class Collector implements ModelVisitor {
+    private static final String SEPARATOR = "|";
+    private static final String KIND_DEPENDENCY = "D";
+    private static final String KIND_PLUGIN = "P";
+    private static final String KIND_PLUGIN_DEPENDENCY = "PD";
+
+    private final Set<String> reactorGAVs;
+    private final ArtifactCoordinates ownPlugin;
+    private final SetMultimap<MavenProject, ArtifactCoordinates> dependencies;
+    private final SetMultimap<MavenProject, ArtifactCoordinates> plugins;
+    private final Map<MavenProject, SetMultimap<ArtifactCoordinates, ArtifactCoordinates>> pluginDependencies;
+
+    Collector(Collection<MavenProject> reactorProjects, Plugin ownPlugin) {
+      ImmutableSet.Builder<String> gavs = ImmutableSet.builder();
+      for (MavenProject project : reactorProjects) {
+        gavs.add(ProjectToCoordinates.INSTANCE.apply(project).getGAV());
+      }
+      this.reactorGAVs = gavs.build();
+      this.ownPlugin = ownPlugin != null ? PluginToCoordinates.INSTANCE.apply(ownPlugin) : null;
+      this.dependencies = LinkedHashMultimap.create();
+      this.plugins = LinkedHashMultimap.create();
+      this.pluginDependencies = Maps.newLinkedHashMap();
+    }
+
+    @Override
+    public void visitDependency(MavenProject project, Dependency dependency, PomPropertyResolver propertyResolver) {
+      if (new IsSnapshotDependency(propertyResolver).apply(dependency)) {
+        ArtifactCoordinates coordinates = DependencyToCoordinates.INSTANCE.apply(dependency);
+        // dependencies to other modules of the multi-module project are released together with the project
+        if (!this.reactorGAVs.contains(coordinates.getGAV())) {
+          this.dependencies.put(project, coordinates);
+        }
+      }
+    }
+
+    @Override
+    public void visitPlugin(MavenProject project, Plugin plugin, PomPropertyResolver propertyResolver) {
+      if (new IsSnapshotPlugin(propertyResolver).apply(plugin) && !isOwnPluginInIntegrationTest(plugin)) {
+        this.plugins.put(project, PluginToCoordinates.INSTANCE.apply(plugin));
+      }
+    }
+
+    @Override
+    public void visitPluginDependency(MavenProject project, Plugin plugin, Dependency dependency,
+        PomPropertyResolver propertyResolver) {
+      if (new IsSnapshotDependency(propertyResolver).apply(dependency) && !isOwnPluginInIntegrationTest(plugin)) {
+        SetMultimap<ArtifactCoordinates, ArtifactCoordinates> snapshots = this.pluginDependencies.get(project);
+        if (snapshots == null) {
+          snapshots = LinkedHashMultimap.create();
+          this.pluginDependencies.put(project, snapshots);
+        }
+        snapshots.put(PluginToCoordinates.INSTANCE.apply(plugin), DependencyToCoordinates.INSTANCE.apply(dependency));
+      }
+    }
+
+    // the unleash plugin itself is a SNAPSHOT when running the integration tests
+    private boolean isOwnPluginInIntegrationTest(Plugin plugin) {
+      return ReleaseUtil.isIntegrationtest()
+          && Objects.equal(PluginToCoordinates.INSTANCE.apply(plugin), this.ownPlugin);
+    }
+
+    /**
+     * @param project a reactor project.
+     * @return the findings of the project in a line-based form that can be passed to {@link #restore(MavenProject,
+     *         List)}.
+     */
+    List<String> export(MavenProject project) {
+      List<String> lines = Lists.newArrayList();
+      for (ArtifactCoordinates coordinates : this.dependencies.get(project)) {
+        lines.add(KIND_DEPENDENCY + SEPARATOR + encode(coordinates));
+      }
+      for (ArtifactCoordinates coordinates : this.plugins.get(project)) {
+        lines.add(KIND_PLUGIN + SEPARATOR + encode(coordinates));
+      }
+      SetMultimap<ArtifactCoordinates, ArtifactCoordinates> snapshots = this.pluginDependencies.get(project);
+      if (snapshots != null) {
+        for (Map.Entry<ArtifactCoordinates, ArtifactCoordinates> entry : snapshots.entries()) {
+          lines.add(KIND_PLUGIN_DEPENDENCY + SEPARATOR + encode(entry.getKey()) + SEPARATOR + encode(entry.getValue()));
+        }
+      }
+      return lines;
+    }
+
+    /**
+     * Adds previously {@link #export(MavenProject) exported} findings of a project instead of visiting its model.
+     *
+     * @param project a reactor project.
+     * @param lines the exported findings of the project.
+     * @throws IllegalArgumentException if the lines are malformed.
+     */
+    void restore(MavenProject project, List<String> lines) {
+      for (String line : lines) {
+        List<String> fields = Splitter.on(SEPARATOR).splitToList(line);
+        String kind = fields.get(0);
+        if (KIND_DEPENDENCY.equals(kind) && fields.size() == 2) {
+          this.dependencies.put(project, decode(fields.get(1)));
+        } else if (KIND_PLUGIN.equals(kind) && fields.size() == 2) {
+          this.plugins.put(project, decode(fields.get(1)));
+        } else if (KIND_PLUGIN_DEPENDENCY.equals(kind) && fields.size() == 3) {
+          SetMultimap<ArtifactCoordinates, ArtifactCoordinates> snapshots = this.pluginDependencies.get(project);
+          if (snapshots == null) {
+            snapshots = LinkedHashMultimap.create();
+            this.pluginDependencies.put(project, snapshots);
+          }
+          snapshots.put(decode(fields.get(1)), decode(fields.get(2)));
+        } else {
+          throw new IllegalArgumentException("Malformed SNAPSHOT finding: " + line);
+        }
+      }
+    }
+
+    private static String encode(ArtifactCoordinates coordinates) {
+      return Joiner.on(':').join(coordinates.getGroupId(), coordinates.getArtifactId(), coordinates.getVersion(),
+          Strings.nullToEmpty(coordinates.getType()), Strings.nullToEmpty(coordinates.getClassifier()));
+    }
+
+    private static ArtifactCoordinates decode(String s) {
+      List<String> parts = Splitter.on(':').splitToList(s);
+      if (parts.size() != 5) {
+        throw new IllegalArgumentException("Malformed artifact coordinates: " + s);
+      }
+      return ArtifactCoordinates.of(parts.get(0), parts.get(1), parts.get(2), Strings.emptyToNull(parts.get(3)),
+          Strings.emptyToNull(parts.get(4)));
+    }
+
+    SnapshotFindings build() {
+      return new SnapshotFindings(this.dependencies, this.plugins, this.pluginDependencies);
+    }
+  }
+}
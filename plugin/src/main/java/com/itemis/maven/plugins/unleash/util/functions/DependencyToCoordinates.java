@@ -23,8 +23,8 @@ public enum DependencyToCoordinates implements Function<Dependency, ArtifactCoor
   @Override
   public ArtifactCoordinates apply(Dependency d) {
     if (this.includeClassifier) {
-      return new ArtifactCoordinates(d.getGroupId(), d.getArtifactId(), d.getVersion(), d.getType(), d.getClassifier());
+      return ArtifactCoordinates.of(d.getGroupId(), d.getArtifactId(), d.getVersion(), d.getType(), d.getClassifier());
     }
-    return new ArtifactCoordinates(d.getGroupId(), d.getArtifactId(), d.getVersion(), d.getType());
+    return ArtifactCoordinates.of(d.getGroupId(), d.getArtifactId(), d.getVersion(), d.getType());
   }
 }
@@ -17,6 +17,6 @@ public enum PluginToCoordinates implements Function<Plugin, ArtifactCoordinates>
   // TODO implement tests!
   @Override
   public ArtifactCoordinates apply(Plugin p) {
-    return new ArtifactCoordinates(p.getGroupId(), p.getArtifactId(), p.getVersion());
+    return ArtifactCoordinates.of(p.getGroupId(), p.getArtifactId(), p.getVersion());
   }
 }
@@ -42,10 +42,10 @@ public enum ProjectToCoordinates implements Function<MavenProject, ArtifactCoord
   @Override
   public ArtifactCoordinates apply(MavenProject p) {
     if (this.includeVersion) {
-      return new ArtifactCoordinates(p.getGroupId(), p.getArtifactId(), p.getVersion(),
+      return ArtifactCoordinates.of(p.getGroupId(), p.getArtifactId(), p.getVersion(),
           this.type != null ? this.type : p.getPackaging());
     } else {
-      return new ArtifactCoordinates(p.getGroupId(), p.getArtifactId(), MavenProject.EMPTY_PROJECT_VERSION,
+      return ArtifactCoordinates.of(p.getGroupId(), p.getArtifactId(), MavenProject.EMPTY_PROJECT_VERSION,
           this.type != null ? this.type : p.getPackaging());
     }
   }
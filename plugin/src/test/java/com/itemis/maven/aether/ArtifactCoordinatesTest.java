@@ -0,0 +1,34 @@
+package com.itemis.maven.aether;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ArtifactCoordinatesTest {
+  @Test
+  public void testOf_Interned() {
+    ArtifactCoordinates c1 = ArtifactCoordinates.of("x", "y", "1.0", "jar");
+    ArtifactCoordinates c2 = ArtifactCoordinates.of("x", "y", "1.0", "jar");
+    Assert.assertSame(c1, c2);
+    Assert.assertNotSame(c1, ArtifactCoordinates.of("x", "y", "1.0"));
+  }
+
+  @Test
+  public void testEquals() {
+    ArtifactCoordinates c = ArtifactCoordinates.of("x", "y", "1.0", "jar", "sources");
+    Assert.assertEquals(c, ArtifactCoordinates.of("x", "y", "1.0", "jar", "sources"));
+    Assert.assertEquals(c.hashCode(), ArtifactCoordinates.of("x", "y", "1.0", "jar", "sources").hashCode());
+    Assert.assertNotEquals(c, ArtifactCoordinates.of("x", "y", "1.0", "jar"));
+    // type and classifier must not be mixed up although the string representations are equal
+    Assert.assertNotEquals(ArtifactCoordinates.of("x", "y", "1.0", "jar"),
+        ArtifactCoordinates.of("x", "y", "1.0", null, "jar"));
+  }
+
+  @Test
+  public void testKeys() {
+    ArtifactCoordinates c = ArtifactCoordinates.of("x", "y", "1.0", "jar", "sources");
+    Assert.assertEquals("x:y", c.getGA());
+    Assert.assertEquals("x:y:1.0", c.getGAV());
+    Assert.assertEquals("x:y:jar:sources:1.0", c.toString());
+    Assert.assertEquals(c.getGA(), ArtifactCoordinates.toGA("x", "y"));
+  }
+}
@@ -0,0 +1,190 @@
+package com.itemis.maven.aether;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.RepositoryEvent.EventType;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.deployment.DeployResult;
+import org.eclipse.aether.deployment.DeploymentException;
+import org.eclipse.aether.impl.Deployer;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.itemis.maven.aether.ArtifactDeployer.DeploymentResult;
+import com.itemis.maven.plugins.cdi.logging.Logger;
+import com.itemis.maven.plugins.unleash.ReleaseMetadata;
+import com.itemis.maven.plugins.unleash.util.ChecksumUtil;
+import com.itemis.maven.plugins.unleash.util.DeploymentJournal;
+
+public class ArtifactDeployerTest {
+  private static final RemoteRepository PRIMARY = new RemoteRepository.Builder("primary", "default",
+      "http://localhost/primary").build();
+  private static final RemoteRepository MIRROR_1 = new RemoteRepository.Builder("mirror1", "default",
+      "http://localhost/mirror1").build();
+  private static final RemoteRepository MIRROR_2 = new RemoteRepository.Builder("mirror2", "default",
+      "http://localhost/mirror2").build();
+  private static final Collection<Artifact> ARTIFACTS = ImmutableList.<Artifact> of(
+      new DefaultArtifact("g:a:pom:1.0"), new DefaultArtifact("g:a:jar:1.0"));
+
+  @Test
+  public void testDeployArtifactsSequentially() throws Exception {
+    testDeployArtifacts(1);
+  }
+
+  @Test
+  public void testDeployArtifactsConcurrently() throws Exception {
+    testDeployArtifacts(0);
+  }
+
+  private void testDeployArtifacts(int threads) throws Exception {
+    RepositorySystemSession repoSession = Mockito.mock(RepositorySystemSession.class);
+    ReleaseMetadata metadata = Mockito.mock(ReleaseMetadata.class);
+    Mockito.when(metadata.getDeploymentRepository()).thenReturn(PRIMARY);
+    for (Artifact a : ARTIFACTS) {
+      Mockito.when(metadata.getReleaseArtifactChecksum(a, ChecksumUtil.SHA1))
+          .thenReturn(Optional.of("sha1-" + a.getExtension()));
+    }
+    Deployer deployer = Mockito.mock(Deployer.class);
+    Mockito.when(deployer.deploy(Mockito.any(RepositorySystemSession.class), Mockito.any(DeployRequest.class)))
+        .thenAnswer(invocation -> {
+          DeployRequest request = (DeployRequest) invocation.getArguments()[1];
+          if (request.getRepository() == MIRROR_1) {
+            throw new DeploymentException("Connection refused");
+          }
+          return deploy((RepositorySystemSession) invocation.getArguments()[0], request);
+        });
+
+    Set<RemoteRepository> additionalRepositories = ImmutableSet.of(MIRROR_1, MIRROR_2);
+    DeploymentJournal journal = Mockito.mock(DeploymentJournal.class);
+    ArtifactDeployer artifactDeployer = new ArtifactDeployer(deployer, repoSession, metadata, additionalRepositories,
+        threads, journal, Mockito.mock(Logger.class));
+    List<DeploymentResult> results = artifactDeployer.deployArtifacts(ARTIFACTS);
+
+    Mockito.verify(deployer, Mockito.times(3)).deploy(Mockito.any(RepositorySystemSession.class),
+        Mockito.any(DeployRequest.class));
+    Assert.assertEquals(3, results.size());
+    Assert.assertEquals(PRIMARY, results.get(0).getRepository());
+    Assert.assertTrue(results.get(0).isSuccessful());
+    Assert.assertEquals(ARTIFACTS, results.get(0).getArtifacts());
+    Assert.assertEquals(MIRROR_1, results.get(1).getRepository());
+    Assert.assertFalse(results.get(1).isSuccessful());
+    Assert.assertEquals("Connection refused", results.get(1).getFailure().get().getMessage());
+    Assert.assertTrue(results.get(1).getArtifacts().isEmpty());
+    Assert.assertEquals(MIRROR_2, results.get(2).getRepository());
+    Assert.assertTrue(results.get(2).isSuccessful());
+
+    for (Artifact a : ARTIFACTS) {
+      Map<Artifact, String> checksums = ImmutableMap.of(a, "sha1-" + a.getExtension());
+      Mockito.verify(journal).recordDeployment(PRIMARY, checksums);
+      Mockito.verify(journal).recordDeployment(MIRROR_2, checksums);
+    }
+    Mockito.verify(journal, Mockito.never()).recordDeployment(Mockito.eq(MIRROR_1), Mockito.anyMap());
+  }
+
+  @Test
+  public void testJournalDeployedArtifactsOfFailedChunk() throws Exception {
+    RepositorySystemSession repoSession = Mockito.mock(RepositorySystemSession.class);
+    ReleaseMetadata metadata = Mockito.mock(ReleaseMetadata.class);
+    Mockito.when(metadata.getDeploymentRepository()).thenReturn(PRIMARY);
+    Mockito.when(metadata.getReleaseArtifactChecksum(Mockito.any(Artifact.class), Mockito.eq(ChecksumUtil.SHA1)))
+        .thenReturn(Optional.of("sha1"));
+    final Artifact failing = new DefaultArtifact("g:a:jar:1.0");
+    Deployer deployer = Mockito.mock(Deployer.class);
+    Mockito.when(deployer.deploy(Mockito.any(RepositorySystemSession.class), Mockito.any(DeployRequest.class)))
+        .thenAnswer(invocation -> {
+          RepositorySystemSession session = (RepositorySystemSession) invocation.getArguments()[0];
+          DeployRequest request = (DeployRequest) invocation.getArguments()[1];
+          DeploymentException failure = new DeploymentException("Connection reset");
+          for (Artifact a : request.getArtifacts()) {
+            fireArtifactDeployed(session, request, a, a.equals(failing) ? failure : null);
+          }
+          throw failure;
+        });
+
+    List<Artifact> artifacts = ImmutableList.<Artifact> of(new DefaultArtifact("g:a:pom:1.0"), failing,
+        new DefaultArtifact("g:a:jar:sources:1.0"));
+    DeploymentJournal journal = Mockito.mock(DeploymentJournal.class);
+    ArtifactDeployer artifactDeployer = new ArtifactDeployer(deployer, repoSession, metadata,
+        Collections.<RemoteRepository> emptySet(), 1, journal, Mockito.mock(Logger.class));
+    List<DeploymentResult> results = artifactDeployer.deployArtifacts(artifacts);
+
+    Assert.assertFalse(results.get(0).isSuccessful());
+    Mockito.verify(journal).recordDeployment(PRIMARY, ImmutableMap.of(artifacts.get(0), "sha1"));
+    Mockito.verify(journal).recordDeployment(PRIMARY, ImmutableMap.of(artifacts.get(2), "sha1"));
+    Mockito.verify(journal, Mockito.never()).recordDeployment(PRIMARY, ImmutableMap.of(failing, "sha1"));
+  }
+
+  @Test
+  public void testDeployArtifactsInChunksPerGA() throws Exception {
+    RepositorySystemSession repoSession = Mockito.mock(RepositorySystemSession.class);
+    ReleaseMetadata metadata = Mockito.mock(ReleaseMetadata.class);
+    Mockito.when(metadata.getDeploymentRepository()).thenReturn(PRIMARY);
+    Mockito.when(metadata.getReleaseArtifactChecksum(Mockito.any(Artifact.class), Mockito.anyString()))
+        .thenReturn(Optional.<String> absent());
+    final List<DeployRequest> requests = Collections.synchronizedList(Lists.<DeployRequest> newArrayList());
+    Deployer deployer = Mockito.mock(Deployer.class);
+    Mockito.when(deployer.deploy(Mockito.any(RepositorySystemSession.class), Mockito.any(DeployRequest.class)))
+        .thenAnswer(invocation -> {
+          DeployRequest request = (DeployRequest) invocation.getArguments()[1];
+          requests.add(request);
+          if (request.getRepository() == MIRROR_1
+              && request.getArtifacts().iterator().next().getArtifactId().equals("b")) {
+            throw new DeploymentException("Connection refused");
+          }
+          return deploy((RepositorySystemSession) invocation.getArguments()[0], request);
+        });
+
+    List<Artifact> artifacts = ImmutableList.<Artifact> of(new DefaultArtifact("g:a:pom:1.0"),
+        new DefaultArtifact("g:b:pom:1.0"), new DefaultArtifact("g:a:jar:1.0"), new DefaultArtifact("g:b:jar:1.0"));
+    ArtifactDeployer artifactDeployer = new ArtifactDeployer(deployer, repoSession, metadata,
+        ImmutableSet.of(MIRROR_1), 4, Mockito.mock(DeploymentJournal.class), Mockito.mock(Logger.class));
+    List<DeploymentResult> results = artifactDeployer.deployArtifacts(artifacts);
+
+    Assert.assertEquals(4, requests.size());
+    for (DeployRequest request : requests) {
+      Assert.assertEquals(2, request.getArtifacts().size());
+      Set<String> artifactIds = Sets.newHashSet();
+      for (Artifact a : request.getArtifacts()) {
+        artifactIds.add(a.getArtifactId());
+      }
+      Assert.assertEquals(1, artifactIds.size());
+    }
+    Assert.assertTrue(results.get(0).isSuccessful());
+    Assert.assertEquals(4, results.get(0).getArtifacts().size());
+    Assert.assertFalse(results.get(1).isSuccessful());
+    Assert.assertEquals(2, results.get(1).getArtifacts().size());
+    Assert.assertEquals("a", results.get(1).getArtifacts().get(0).getArtifactId());
+  }
+
+  private static DeployResult deploy(RepositorySystemSession session, DeployRequest request) {
+    for (Artifact a : request.getArtifacts()) {
+      fireArtifactDeployed(session, request, a, null);
+    }
+    DeployResult result = new DeployResult(request);
+    result.setArtifacts(request.getArtifacts());
+    return result;
+  }
+
+  private static void fireArtifactDeployed(RepositorySystemSession session, DeployRequest request, Artifact artifact,
+      Exception exception) {
+    RepositoryEvent event = new RepositoryEvent.Builder(session, EventType.ARTIFACT_DEPLOYED).setArtifact(artifact)
+        .setRepository(request.getRepository()).setException(exception).build();
+    session.getRepositoryListener().artifactDeployed(event);
+  }
+}
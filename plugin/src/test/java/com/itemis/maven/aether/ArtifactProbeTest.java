@@ -0,0 +1,101 @@
+package com.itemis.maven.aether;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.LocalArtifactRequest;
+import org.eclipse.aether.repository.LocalArtifactResult;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.MetadataRequest;
+import org.eclipse.aether.resolution.MetadataResult;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.itemis.maven.plugins.cdi.logging.Logger;
+
+public class ArtifactProbeTest {
+  private static final RemoteRepository REMOTE = new RemoteRepository.Builder("remote", "default",
+      "http://localhost/repo").build();
+  private static final ResolutionCacheSettings SETTINGS = new ResolutionCacheSettings(100, 60, 10, false);
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public void testProbeAll() throws Exception {
+    final File metadataFile = this.tempFolder.newFile("maven-metadata.xml");
+    Files.write(metadataFile.toPath(), ("<metadata><groupId>g</groupId><artifactId>a</artifactId><versioning>"
+        + "<versions><version>1.0</version><version>1.1</version></versions></versioning></metadata>")
+            .getBytes(StandardCharsets.UTF_8));
+    final File localFile = this.tempFolder.newFile("b-1.0.pom");
+
+    RepositorySystem repoSystem = Mockito.mock(RepositorySystem.class);
+    RepositorySystemSession repoSession = Mockito.mock(RepositorySystemSession.class);
+    LocalRepositoryManager localRepositoryManager = Mockito.mock(LocalRepositoryManager.class);
+    Mockito.when(repoSession.getLocalRepository())
+        .thenReturn(new LocalRepository(this.tempFolder.getRoot()));
+    Mockito.when(repoSession.getLocalRepositoryManager()).thenReturn(localRepositoryManager);
+    Mockito.when(localRepositoryManager.find(Mockito.eq(repoSession), Mockito.any(LocalArtifactRequest.class)))
+        .thenAnswer(invocation -> {
+          LocalArtifactRequest request = (LocalArtifactRequest) invocation.getArguments()[1];
+          LocalArtifactResult result = new LocalArtifactResult(request);
+          if (request.getArtifact().getArtifactId().equals("b")) {
+            // installed locally
+            result.setFile(localFile);
+            result.setAvailable(true);
+          }
+          return result;
+        });
+    Mockito.when(repoSystem.resolveMetadata(Mockito.any(RepositorySystemSession.class), Mockito.anyCollection()))
+        .thenAnswer(invocation -> {
+          List<MetadataResult> results = Lists.newArrayList();
+          for (MetadataRequest request : (List<MetadataRequest>) invocation.getArguments()[1]) {
+            MetadataResult result = new MetadataResult(request);
+            if (request.getMetadata().getArtifactId().equals("a")) {
+              result.setMetadata(request.getMetadata().setFile(metadataFile));
+            }
+            results.add(result);
+          }
+          return results;
+        });
+
+    ArtifactProbe probe = new ArtifactProbe(repoSystem, repoSession, ImmutableList.of(REMOTE), SETTINGS,
+        Mockito.mock(Logger.class));
+    ArtifactCoordinates released = ArtifactCoordinates.of("g", "a", "1.1", "pom");
+    ArtifactCoordinates unreleased = ArtifactCoordinates.of("g", "a", "1.2", "pom");
+    ArtifactCoordinates local = ArtifactCoordinates.of("g", "b", "1.0", "pom");
+    Map<ArtifactCoordinates, Optional<ResolutionResult>> results = probe
+        .probeAll(ImmutableList.of(released, unreleased, local));
+
+    Assert.assertEquals("remote", results.get(released).get().getRepositoryId());
+    Assert.assertFalse(results.get(released).get().isLocal());
+    Assert.assertFalse(results.get(unreleased).isPresent());
+    Assert.assertTrue(results.get(local).get().isLocal());
+    Assert.assertEquals(localFile, results.get(local).get().getFile());
+
+    // one metadata request per GA and repository, no artifact downloads and no repeated probes
+    probe.probeAll(ImmutableList.of(released, local));
+    ArgumentCaptor<Collection> requests = ArgumentCaptor.forClass(Collection.class);
+    Mockito.verify(repoSystem, Mockito.times(1)).resolveMetadata(Mockito.any(RepositorySystemSession.class),
+        requests.capture());
+    Assert.assertEquals(2, requests.getValue().size());
+    Mockito.verify(repoSystem, Mockito.never()).resolveArtifacts(Mockito.any(RepositorySystemSession.class),
+        Mockito.anyCollection());
+  }
+}
@@ -0,0 +1,152 @@
+package com.itemis.maven.aether;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.aether.repository.RemoteRepository;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.itemis.maven.plugins.cdi.logging.Logger;
+
+public class ResolutionCacheTest {
+  private static final ArtifactCoordinates RELEASED = ArtifactCoordinates.of("g", "a", "1.0", "jar");
+  private static final ArtifactCoordinates MISSING = ArtifactCoordinates.of("g", "a", "2.0", "jar");
+  private static final String SCOPE = "scope";
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void testGetAllLoadsOnce() {
+    CountingLoader loader = new CountingLoader();
+    ResolutionCache cache = new ResolutionCache("test", SCOPE, new ResolutionCacheSettings(100, 60, 10, false),
+        this.tempFolder.getRoot(), loader, Mockito.mock(Logger.class));
+
+    Map<ArtifactCoordinates, Optional<ResolutionResult>> results = cache.getAll(ImmutableList.of(RELEASED, MISSING));
+    Assert.assertEquals("remote", results.get(RELEASED).get().getRepositoryId());
+    Assert.assertFalse(results.get(MISSING).isPresent());
+    Assert.assertFalse(cache.get(RELEASED).get().isLocal());
+    Assert.assertFalse(cache.get(MISSING).isPresent());
+
+    Assert.assertEquals(1, loader.requests.size());
+    Assert.assertEquals(2, loader.requests.get(0).size());
+  }
+
+  @Test
+  public void testNegativeResultsExpire() {
+    CountingLoader loader = new CountingLoader();
+    ResolutionCache cache = new ResolutionCache("test", SCOPE, new ResolutionCacheSettings(100, 60, 0, false),
+        this.tempFolder.getRoot(), loader, Mockito.mock(Logger.class));
+
+    cache.getAll(ImmutableList.of(RELEASED, MISSING));
+    cache.getAll(ImmutableList.of(RELEASED, MISSING));
+
+    Assert.assertEquals(2, loader.requests.size());
+    Assert.assertEquals(ImmutableList.of(MISSING), loader.requests.get(1));
+  }
+
+  @Test
+  public void testPersistence() {
+    ResolutionCacheSettings settings = new ResolutionCacheSettings(100, 60, 10, true);
+    ResolutionCache cache = new ResolutionCache("test", SCOPE, settings, this.tempFolder.getRoot(),
+        new CountingLoader(), Mockito.mock(Logger.class));
+    cache.getAll(ImmutableList.of(RELEASED, MISSING));
+    cache.save();
+    Assert.assertTrue(new File(this.tempFolder.getRoot(), "test-cache.properties").isFile());
+
+    CountingLoader loader = new CountingLoader();
+    cache = new ResolutionCache("test", SCOPE, settings, this.tempFolder.getRoot(), loader, Mockito.mock(Logger.class));
+    Map<ArtifactCoordinates, Optional<ResolutionResult>> results = cache.getAll(ImmutableList.of(RELEASED, MISSING));
+
+    Assert.assertTrue(loader.requests.isEmpty());
+    Assert.assertEquals("remote", results.get(RELEASED).get().getRepositoryId());
+    Assert.assertFalse(results.get(MISSING).isPresent());
+  }
+
+  @Test
+  public void testPersistenceIsScoped() {
+    ResolutionCacheSettings settings = new ResolutionCacheSettings(100, 60, 10, true);
+    ResolutionCache cache = new ResolutionCache("test", SCOPE, settings, this.tempFolder.getRoot(),
+        new CountingLoader(), Mockito.mock(Logger.class));
+    cache.getAll(ImmutableList.of(RELEASED, MISSING));
+    cache.save();
+
+    // another project using different repositories must not reuse the results
+    CountingLoader loader = new CountingLoader();
+    cache = new ResolutionCache("test", "other", settings, this.tempFolder.getRoot(), loader,
+        Mockito.mock(Logger.class));
+    cache.getAll(ImmutableList.of(RELEASED, MISSING));
+    Assert.assertEquals(1, loader.requests.size());
+    Assert.assertEquals(2, loader.requests.get(0).size());
+    cache.save();
+
+    // the results of both scopes are kept in the shared file
+    loader = new CountingLoader();
+    cache = new ResolutionCache("test", SCOPE, settings, this.tempFolder.getRoot(), loader,
+        Mockito.mock(Logger.class));
+    cache.getAll(ImmutableList.of(RELEASED, MISSING));
+    Assert.assertTrue(loader.requests.isEmpty());
+  }
+
+  @Test
+  public void testScope() {
+    RemoteRepository central = new RemoteRepository.Builder("central", "default", "http://localhost/central").build();
+    RemoteRepository mirror = new RemoteRepository.Builder("central", "default", "http://localhost/mirror").build();
+    RemoteRepository other = new RemoteRepository.Builder("other", "default", "http://localhost/other").build();
+
+    Assert.assertEquals(ResolutionCache.getScope(ImmutableList.of(central, other)),
+        ResolutionCache.getScope(ImmutableList.of(other, central)));
+    Assert.assertNotEquals(ResolutionCache.getScope(ImmutableList.of(central, other)),
+        ResolutionCache.getScope(ImmutableList.of(mirror, other)));
+    Assert.assertNotEquals(ResolutionCache.getScope(ImmutableList.of(central, other)),
+        ResolutionCache.getScope(ImmutableList.of(central)));
+  }
+
+  @Test
+  public void testPersistenceIgnoresMissingFiles() throws Exception {
+    final File file = this.tempFolder.newFile("a-1.0.jar");
+    ResolutionCacheSettings settings = new ResolutionCacheSettings(100, 60, 10, true);
+    ResolutionCache cache = new ResolutionCache("test", SCOPE, settings, this.tempFolder.getRoot(),
+        new ResolutionCache.Loader() {
+          @Override
+          public Map<ArtifactCoordinates, Optional<ResolutionResult>> load(Collection<ArtifactCoordinates> c) {
+            Map<ArtifactCoordinates, Optional<ResolutionResult>> results = Maps.newHashMap();
+            results.put(RELEASED, Optional.of(new ResolutionResult(file, "remote")));
+            return results;
+          }
+        }, Mockito.mock(Logger.class));
+    cache.get(RELEASED);
+    cache.save();
+    Assert.assertTrue(file.delete());
+
+    CountingLoader loader = new CountingLoader();
+    cache = new ResolutionCache("test", SCOPE, settings, this.tempFolder.getRoot(), loader, Mockito.mock(Logger.class));
+    Assert.assertNull(cache.get(RELEASED).get().getFile());
+    Assert.assertEquals(1, loader.requests.size());
+  }
+
+  private static class CountingLoader implements ResolutionCache.Loader {
+    private final List<List<ArtifactCoordinates>> requests = Lists.newArrayList();
+
+    @Override
+    public Map<ArtifactCoordinates, Optional<ResolutionResult>> load(Collection<ArtifactCoordinates> coordinates) {
+      this.requests.add(ImmutableList.copyOf(coordinates));
+      Map<ArtifactCoordinates, Optional<ResolutionResult>> results = Maps.newHashMap();
+      for (ArtifactCoordinates c : coordinates) {
+        results.put(c, c.getVersion().equals("1.0") ? Optional.of(new ResolutionResult(null, "remote"))
+            : Optional.<ResolutionResult> absent());
+      }
+      return results;
+    }
+  }
+}
@@ -0,0 +1,160 @@
+package com.itemis.maven.plugins.unleash.steps.actions;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.plugin.MojoFailureException;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.deployment.DeploymentException;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.itemis.maven.aether.ArtifactCoordinates;
+import com.itemis.maven.aether.ArtifactDeployer;
+import com.itemis.maven.aether.ArtifactDeployer.DeploymentResult;
+import com.itemis.maven.aether.ArtifactProbe;
+import com.itemis.maven.plugins.cdi.logging.Logger;
+import com.itemis.maven.plugins.unleash.ReleaseMetadata;
+import com.itemis.maven.plugins.unleash.util.ChecksumUtil;
+import com.itemis.maven.plugins.unleash.util.DeploymentJournal;
+import com.itemis.maven.plugins.unleash.util.PartialDeploymentException;
+
+public class DeployArtifactsTest {
+  private static final RemoteRepository PRIMARY = new RemoteRepository.Builder("primary", "default",
+      "http://localhost/primary").build();
+  private static final RemoteRepository MIRROR = new RemoteRepository.Builder("mirror", "default",
+      "http://localhost/mirror").build();
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private Artifact pom;
+  private Artifact jar;
+  private Artifact sources;
+  private ArtifactDeployer deployer;
+  private ArtifactProbe probe;
+  private DeploymentJournal journal;
+  private DeploymentJournal.State state;
+
+  @Before
+  public void setUp() throws Exception {
+    this.pom = createArtifact("g:a:pom:1.0");
+    this.jar = createArtifact("g:a:jar:1.0");
+    this.sources = createArtifact("g:a:jar:sources:1.0");
+
+    this.deployer = Mockito.mock(ArtifactDeployer.class);
+    Mockito.when(this.deployer.getRepositories()).thenReturn(ImmutableList.of(PRIMARY, MIRROR));
+    this.probe = Mockito.mock(ArtifactProbe.class);
+    this.state = Mockito.mock(DeploymentJournal.State.class);
+    Mockito.when(this.state.getArtifacts()).thenReturn(ImmutableList.of(this.pom, this.jar, this.sources));
+    this.journal = Mockito.mock(DeploymentJournal.class);
+    Mockito.when(this.journal.read()).thenReturn(this.state);
+  }
+
+  @Test
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public void testResumeDeploymentOfPartiallyDeployedChunk() throws Exception {
+    // the chunk failed on the primary repository after the POM and the sources had been uploaded
+    Mockito.when(this.state.getDeployedArtifacts(PRIMARY.getId())).thenReturn(getChecksums(this.pom, this.sources));
+    Mockito.when(this.state.getDeployedArtifacts(MIRROR.getId()))
+        .thenReturn(getChecksums(this.pom, this.jar, this.sources));
+    Mockito.when(this.probe.probeRepository(Mockito.eq(PRIMARY), Mockito.anyCollection()))
+        .thenReturn(ImmutableSet.<ArtifactCoordinates> of());
+    Mockito.when(this.probe.probeRepository(Mockito.eq(MIRROR), Mockito.anyCollection()))
+        .thenReturn(ImmutableSet.of(ArtifactCoordinates.of("g", "a", "1.0")));
+    Mockito.when(this.deployer.deployArtifacts(Mockito.anyMap())).thenReturn(ImmutableList.of(
+        new DeploymentResult(PRIMARY, ImmutableList.of(this.pom, this.jar), 0, 0, null),
+        new DeploymentResult(MIRROR, ImmutableList.<Artifact> of(), 0, 0, null)));
+
+    createStep().execute(null);
+
+    ArgumentCaptor<Map> deployed = ArgumentCaptor.forClass(Map.class);
+    Mockito.verify(this.deployer).deployArtifacts(deployed.capture());
+    // the metadata of the primary repository is missing, the artifacts without classifier are deployed again
+    Assert.assertEquals(ImmutableMap.of(PRIMARY, ImmutableList.of(this.pom, this.jar), MIRROR, ImmutableList.of()),
+        deployed.getValue());
+    Mockito.verify(this.journal, Mockito.never()).start(Mockito.anyCollection());
+  }
+
+  @Test(expected = MojoFailureException.class)
+  public void testResumeDeploymentOfChangedArtifact() throws Exception {
+    Map<String, String> checksums = getChecksums(this.pom, this.sources);
+    Mockito.when(this.state.getDeployedArtifacts(PRIMARY.getId())).thenReturn(checksums);
+    Mockito.when(this.state.getDeployedArtifacts(MIRROR.getId())).thenReturn(checksums);
+    Files.write(this.sources.getFile().toPath(), "changed".getBytes(StandardCharsets.UTF_8));
+
+    createStep().execute(null);
+  }
+
+  @Test
+  public void testFailedDeploymentIsRolledBackIfNothingHasBeenPublished() throws Exception {
+    Mockito.when(this.state.getDeployedArtifacts(Mockito.anyString())).thenReturn(Maps.<String, String> newHashMap());
+    mockFailingDeployment();
+
+    try {
+      createStep(false).execute(null);
+      Assert.fail("The deployment must fail.");
+    } catch (MojoFailureException e) {
+      Assert.assertFalse(PartialDeploymentException.isCause(e));
+    }
+  }
+
+  @Test(expected = PartialDeploymentException.class)
+  public void testFailedDeploymentIsNotRolledBackIfArtifactsHaveBeenPublished() throws Exception {
+    // the POM has been uploaded to the primary repository before the chunk failed
+    Mockito.when(this.state.getDeployedArtifacts(Mockito.anyString())).thenReturn(Maps.<String, String> newHashMap());
+    Mockito.when(this.state.getDeployedArtifacts(PRIMARY.getId())).thenReturn(getChecksums(this.pom));
+    mockFailingDeployment();
+
+    createStep(false).execute(null);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void mockFailingDeployment() throws Exception {
+    List<DeploymentResult> results = Lists.newArrayList();
+    for (RemoteRepository repo : ImmutableList.of(PRIMARY, MIRROR)) {
+      DeploymentException failure = new DeploymentException("Connection reset");
+      results.add(new DeploymentResult(repo, ImmutableList.<Artifact> of(), 0, 0, failure));
+    }
+    Mockito.when(this.deployer.deployArtifacts(Mockito.anyCollection())).thenReturn(results);
+  }
+
+  private DeployArtifacts createStep() {
+    return createStep(true);
+  }
+
+  private DeployArtifacts createStep(boolean resume) {
+    ReleaseMetadata metadata = Mockito.mock(ReleaseMetadata.class);
+    Mockito.when(metadata.getReleaseArtifacts()).thenReturn(ImmutableSet.of(this.pom, this.jar, this.sources));
+    return new DeployArtifacts(this.deployer, metadata, this.journal, this.probe, resume, Mockito.mock(Logger.class));
+  }
+
+  private Artifact createArtifact(String coordinates) throws Exception {
+    File f = this.tempFolder.newFile(coordinates.replace(':', '_'));
+    Files.write(f.toPath(), coordinates.getBytes(StandardCharsets.UTF_8));
+    return new DefaultArtifact(coordinates).setFile(f);
+  }
+
+  private Map<String, String> getChecksums(Artifact... artifacts) throws Exception {
+    Map<String, String> checksums = Maps.newHashMap();
+    for (Artifact a : artifacts) {
+      checksums.put(a.toString(), ChecksumUtil.calculate(a.getFile(), ChecksumUtil.SHA1));
+    }
+    return checksums;
+  }
+}
@@ -0,0 +1,85 @@
+package com.itemis.maven.plugins.unleash.steps.checks;
+
+import org.apache.maven.plugin.MojoFailureException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import com.itemis.maven.plugins.cdi.ExecutionContext;
+import com.itemis.maven.plugins.cdi.logging.Logger;
+
+public class CheckReactorTest {
+  private CheckProjectVersions checkProjectVersions;
+  private CheckParentVersions checkParentVersions;
+  private CheckDependencyVersions checkDependencyVersions;
+  private CheckPluginVersions checkPluginVersions;
+  private CheckPluginDependencyVersions checkPluginDependencyVersions;
+  private Logger log;
+
+  @Before
+  public void setUp() {
+    this.checkProjectVersions = mockCheck(CheckProjectVersions.class, new CheckReport());
+    this.checkParentVersions = mockCheck(CheckParentVersions.class, new CheckReport());
+    this.checkDependencyVersions = mockCheck(CheckDependencyVersions.class, new CheckReport());
+    this.checkPluginVersions = mockCheck(CheckPluginVersions.class, new CheckReport());
+    this.checkPluginDependencyVersions = mockCheck(CheckPluginDependencyVersions.class, new CheckReport());
+    this.log = Mockito.mock(Logger.class);
+  }
+
+  @Test
+  public void testSuccess() throws Exception {
+    createStep().execute(Mockito.mock(ExecutionContext.class));
+
+    Mockito.verify(this.checkProjectVersions).check();
+    Mockito.verify(this.checkParentVersions).check();
+    Mockito.verify(this.checkDependencyVersions).check();
+    Mockito.verify(this.checkPluginVersions).check();
+    Mockito.verify(this.checkPluginDependencyVersions).check();
+    Mockito.verify(this.log, Mockito.never()).error(Mockito.anyString());
+  }
+
+  @Test
+  public void testFailuresAreMerged() throws Exception {
+    Mockito.when(this.checkPluginVersions.check()).thenReturn(createFailedReport("plugin error", "plugin failure"));
+    Mockito.when(this.checkProjectVersions.check()).thenReturn(createFailedReport("project error", "project failure"));
+
+    try {
+      createStep().execute(Mockito.mock(ExecutionContext.class));
+      Assert.fail("The step must fail if any of the checks has failed.");
+    } catch (MojoFailureException e) {
+      Assert.assertEquals("project failure\nplugin failure", e.getMessage());
+    }
+
+    // the reports are logged in the order of the checks, independent of their completion
+    InOrder inOrder = Mockito.inOrder(this.log);
+    inOrder.verify(this.log).error("project error");
+    inOrder.verify(this.log).error("plugin error");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testRuntimeExceptionsArePropagated() throws Exception {
+    Mockito.when(this.checkDependencyVersions.check()).thenThrow(new IllegalStateException());
+    createStep().execute(Mockito.mock(ExecutionContext.class));
+  }
+
+  private CheckReactor createStep() {
+    return new CheckReactor(this.checkProjectVersions, this.checkParentVersions, this.checkDependencyVersions,
+        this.checkPluginVersions, this.checkPluginDependencyVersions, this.log);
+  }
+
+  private static <T extends ReactorCheck> T mockCheck(Class<T> type, CheckReport report) {
+    T check = Mockito.mock(type);
+    Mockito.when(check.check()).thenReturn(report);
+    Mockito.when(check.getDescription()).thenReturn(type.getSimpleName());
+    return check;
+  }
+
+  private static CheckReport createFailedReport(String error, String failureMessage) {
+    CheckReport report = new CheckReport();
+    report.addError(error);
+    report.fail(failureMessage);
+    return report;
+  }
+}
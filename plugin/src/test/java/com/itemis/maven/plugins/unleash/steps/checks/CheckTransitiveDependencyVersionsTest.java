@@ -0,0 +1,147 @@
+package com.itemis.maven.plugins.unleash.steps.checks;
+
+import java.util.List;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.ArtifactTypeRegistry;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.google.common.collect.ImmutableList;
+import com.itemis.maven.plugins.cdi.logging.Logger;
+import com.itemis.maven.plugins.unleash.util.ReactorIndex;
+
+public class CheckTransitiveDependencyVersionsTest {
+  private static final RemoteRepository REMOTE = new RemoteRepository.Builder("remote", "default",
+      "http://localhost/repo").build();
+
+  private RepositorySystem repoSystem;
+  private RepositorySystemSession repoSession;
+  private ReactorIndex reactorIndex;
+
+  @Before
+  public void setUp() {
+    this.repoSystem = Mockito.mock(RepositorySystem.class);
+    this.repoSession = Mockito.mock(RepositorySystemSession.class);
+    Mockito.when(this.repoSession.getArtifactTypeRegistry()).thenReturn(Mockito.mock(ArtifactTypeRegistry.class));
+    this.reactorIndex = Mockito.mock(ReactorIndex.class);
+    Mockito.when(this.reactorIndex.contains("g", "module")).thenReturn(true);
+    Mockito.when(this.reactorIndex.contains("g", "other")).thenReturn(true);
+  }
+
+  @Test
+  public void testCollectsOneGraphPerModule() throws Exception {
+    MavenProject module = createProject("module", "1.0-SNAPSHOT");
+    addDependency(module, "a", "1.0");
+    addDependency(module, "b", "1.0");
+    addDependency(module, "other", "1.0-SNAPSHOT");
+    DependencyManagement dependencyManagement = new DependencyManagement();
+    dependencyManagement.addDependency(createDependency("c", "2.0"));
+    module.getModel().setDependencyManagement(dependencyManagement);
+    MavenProject released = createProject("released", "1.0");
+    addDependency(released, "a", "1.0");
+    MavenProject withoutExternalDependencies = createProject("other", "1.0-SNAPSHOT");
+
+    Mockito.when(this.repoSystem.collectDependencies(Mockito.eq(this.repoSession), Mockito.any(CollectRequest.class)))
+        .thenReturn(new CollectResult(new CollectRequest()).setRoot(createNode("module", "1.0-SNAPSHOT")));
+
+    CheckReport report = createCheck(module, released, withoutExternalDependencies).check();
+    Assert.assertFalse(report.isFailed());
+
+    ArgumentCaptor<CollectRequest> request = ArgumentCaptor.forClass(CollectRequest.class);
+    Mockito.verify(this.repoSystem).collectDependencies(Mockito.eq(this.repoSession), request.capture());
+    Assert.assertEquals("g:module:pom:1.0-SNAPSHOT", request.getValue().getRootArtifact().toString());
+    Assert.assertNull(request.getValue().getRoot());
+    Assert.assertEquals(2, request.getValue().getDependencies().size());
+    Assert.assertEquals("g:a:jar:1.0", request.getValue().getDependencies().get(0).getArtifact().toString());
+    Assert.assertEquals("g:b:jar:1.0", request.getValue().getDependencies().get(1).getArtifact().toString());
+    Assert.assertEquals(1, request.getValue().getManagedDependencies().size());
+    Assert.assertEquals("g:c:jar:2.0",
+        request.getValue().getManagedDependencies().get(0).getArtifact().toString());
+    Assert.assertEquals(ImmutableList.of(REMOTE), request.getValue().getRepositories());
+  }
+
+  @Test
+  public void testReportsSnapshotPaths() throws Exception {
+    MavenProject module = createProject("module", "1.0-SNAPSHOT");
+    addDependency(module, "a", "1.0");
+    addDependency(module, "b", "1.0");
+
+    DefaultDependencyNode root = createNode("module", "1.0-SNAPSHOT");
+    DefaultDependencyNode a = createNode("a", "1.0");
+    DefaultDependencyNode b = createNode("b", "1.0");
+    DefaultDependencyNode c = createNode("c", "2.0-SNAPSHOT");
+    DefaultDependencyNode other = createNode("other", "1.0-SNAPSHOT");
+    DefaultDependencyNode d = createNode("d", "1.0-SNAPSHOT");
+    root.setChildren(ImmutableList.of(a, b));
+    a.setChildren(ImmutableList.of(c, other));
+    // dependencies of reactor modules are checked with the modules themselves
+    other.setChildren(ImmutableList.of(d));
+    Mockito.when(this.repoSystem.collectDependencies(Mockito.eq(this.repoSession), Mockito.any(CollectRequest.class)))
+        .thenReturn(new CollectResult(new CollectRequest()).setRoot(root));
+
+    CheckReport report = createCheck(module).check();
+    Assert.assertTrue(report.isFailed());
+    List<String> errors = report.getErrors();
+    Assert.assertEquals(3, errors.size());
+    Assert.assertEquals("\t\t[PROJECT] g:module:1.0-SNAPSHOT", errors.get(1));
+    Assert.assertEquals("\t\t\t[PATH] g:a:jar:1.0 -> g:c:jar:2.0-SNAPSHOT", errors.get(2));
+  }
+
+  @Test
+  public void testReportsCollectionFailures() throws Exception {
+    MavenProject module = createProject("module", "1.0-SNAPSHOT");
+    addDependency(module, "a", "1.0");
+    Mockito.when(this.repoSystem.collectDependencies(Mockito.eq(this.repoSession), Mockito.any(CollectRequest.class)))
+        .thenThrow(new IllegalStateException("offline"));
+
+    CheckReport report = createCheck(module).check();
+    Assert.assertTrue(report.isFailed());
+    Assert.assertEquals("The transitive dependencies of the reactor projects could not be checked!",
+        report.getFailureMessage());
+    Assert.assertEquals(1, report.getErrors().size());
+    Assert.assertTrue(report.getErrors().get(0).contains("offline"));
+  }
+
+  private CheckTransitiveDependencyVersions createCheck(MavenProject... projects) {
+    return new CheckTransitiveDependencyVersions(ImmutableList.copyOf(projects), this.reactorIndex, this.repoSystem,
+        this.repoSession, ImmutableList.of(REMOTE), 2, Mockito.mock(Logger.class));
+  }
+
+  private MavenProject createProject(String artifactId, String version) {
+    Model model = new Model();
+    model.setGroupId("g");
+    model.setArtifactId(artifactId);
+    model.setVersion(version);
+    return new MavenProject(model);
+  }
+
+  private void addDependency(MavenProject project, String artifactId, String version) {
+    project.getModel().addDependency(createDependency(artifactId, version));
+  }
+
+  private Dependency createDependency(String artifactId, String version) {
+    Dependency dependency = new Dependency();
+    dependency.setGroupId("g");
+    dependency.setArtifactId(artifactId);
+    dependency.setVersion(version);
+    return dependency;
+  }
+
+  private DefaultDependencyNode createNode(String artifactId, String version) {
+    return new DefaultDependencyNode(new DefaultArtifact("g", artifactId, "jar", version));
+  }
+}
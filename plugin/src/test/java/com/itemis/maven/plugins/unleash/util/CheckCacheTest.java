@@ -0,0 +1,108 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.settings.Settings;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.itemis.maven.plugins.cdi.logging.Logger;
+
+public class CheckCacheTest {
+  private static final List<String> RESULT = ImmutableList.of("D|g:x:2-SNAPSHOT");
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private MavenProject project;
+  private Properties userProperties;
+
+  @Before
+  public void setUp() {
+    Model model = new Model();
+    model.setGroupId("g");
+    model.setArtifactId("a");
+    model.setVersion("1-SNAPSHOT");
+    model.addDependency(createDependency("x", "2-SNAPSHOT"));
+    this.project = new MavenProject(model);
+    this.userProperties = new Properties();
+
+    CheckCache cache = createCache(false);
+    Assert.assertFalse(cache.get(this.project).isPresent());
+    cache.put(this.project, RESULT);
+    cache.save();
+  }
+
+  @Test
+  public void testHit() {
+    Optional<List<String>> result = createCache(false).get(this.project);
+    Assert.assertTrue(result.isPresent());
+    Assert.assertEquals(RESULT, result.get());
+  }
+
+  @Test
+  public void testMissIfDependenciesChanged() {
+    // f.e. a changed parent or an imported BOM that manages the version differently
+    this.project.getModel().getDependencies().get(0).setVersion("2");
+    Assert.assertFalse(createCache(false).get(this.project).isPresent());
+  }
+
+  @Test
+  public void testMissIfPropertiesChanged() {
+    this.project.getProperties().setProperty("version.x", "2");
+    Assert.assertFalse(createCache(false).get(this.project).isPresent());
+  }
+
+  @Test
+  public void testInvalidatedByUserProperties() {
+    this.userProperties.setProperty("version.x", "2");
+    CheckCache cache = createCache(false);
+    Assert.assertFalse(cache.get(this.project).isPresent());
+    cache.put(this.project, ImmutableList.<String> of());
+    cache.save();
+
+    // the result of the previous run is replaced
+    this.userProperties.clear();
+    Assert.assertFalse(createCache(false).get(this.project).isPresent());
+  }
+
+  @Test
+  public void testForceFullCheck() {
+    CheckCache cache = createCache(true);
+    Assert.assertFalse(cache.get(this.project).isPresent());
+    cache.put(this.project, RESULT);
+    cache.save();
+
+    Assert.assertTrue(createCache(false).get(this.project).isPresent());
+  }
+
+  private CheckCache createCache(boolean forceFullCheck) {
+    MavenSession session = Mockito.mock(MavenSession.class);
+    Mockito.when(session.getUserProperties()).thenReturn(this.userProperties);
+    PluginDescriptor pluginDescriptor = Mockito.mock(PluginDescriptor.class);
+    Mockito.when(pluginDescriptor.getVersion()).thenReturn("1");
+    return new CheckCache(this.tempFolder.getRoot(), true, forceFullCheck, ImmutableList.of(this.project),
+        ImmutableList.<String> of(), new Properties(), new Settings(), session, pluginDescriptor,
+        Mockito.mock(Logger.class));
+  }
+
+  private static Dependency createDependency(String artifactId, String version) {
+    Dependency d = new Dependency();
+    d.setGroupId("g");
+    d.setArtifactId(artifactId);
+    d.setVersion(version);
+    return d;
+  }
+}
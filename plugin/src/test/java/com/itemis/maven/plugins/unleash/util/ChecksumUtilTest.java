@@ -0,0 +1,50 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
+
+public class ChecksumUtilTest {
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void testCalculate() throws Exception {
+    // larger than the read buffer to cover multiple reads
+    byte[] content = new byte[3 * 1024 * 1024 + 17];
+    new Random(42).nextBytes(content);
+    File f = this.tempFolder.newFile("a-1.0.jar");
+    Files.write(f.toPath(), content);
+
+    Map<String, String> checksums = ChecksumUtil.calculate(f,
+        ImmutableList.of(ChecksumUtil.SHA1, ChecksumUtil.MD5, "SHA-256", "SHA-512"));
+    Assert.assertEquals(ImmutableList.of(ChecksumUtil.SHA1, ChecksumUtil.MD5, "SHA-256", "SHA-512"),
+        ImmutableList.copyOf(checksums.keySet()));
+    Assert.assertEquals(Hashing.sha1().hashBytes(content).toString(), checksums.get(ChecksumUtil.SHA1));
+    Assert.assertEquals(Hashing.md5().hashBytes(content).toString(), checksums.get(ChecksumUtil.MD5));
+    Assert.assertEquals(Hashing.sha256().hashBytes(content).toString(), checksums.get("SHA-256"));
+    Assert.assertEquals(Hashing.sha512().hashBytes(content).toString(), checksums.get("SHA-512"));
+  }
+
+  @Test
+  public void testCalculateEmptyFile() throws Exception {
+    File f = this.tempFolder.newFile("empty.pom");
+    Assert.assertEquals("da39a3ee5e6b4b0d3255bfef95601890afd80709", ChecksumUtil.calculate(f, ChecksumUtil.SHA1));
+  }
+
+  @Test
+  public void testIsSupported() {
+    Assert.assertTrue(ChecksumUtil.isSupported("SHA-256"));
+    Assert.assertFalse(ChecksumUtil.isSupported("CRC-4711"));
+  }
+}
@@ -0,0 +1,68 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+public class DeploymentJournalTest {
+  private static final RemoteRepository REMOTE = new RemoteRepository.Builder("remote", "default",
+      "http://localhost/repo").build();
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void testReadRecordedDeployment() throws Exception {
+    File pom = this.tempFolder.newFile("a-1.0.pom");
+    Files.write(pom.toPath(), "<project/>".getBytes(StandardCharsets.UTF_8));
+    File jar = this.tempFolder.newFile("a-1.0-sources.jar");
+    Artifact pomArtifact = new DefaultArtifact("g:a:pom:1.0").setFile(pom);
+    Artifact jarArtifact = new DefaultArtifact("g:a:jar:sources:1.0").setFile(jar);
+
+    DeploymentJournal journal = new DeploymentJournal(this.tempFolder.newFolder("unleash"));
+    journal.start(ImmutableList.of(pomArtifact, jarArtifact));
+    journal.recordDeployment(REMOTE, ImmutableMap.of(pomArtifact, ChecksumUtil.calculate(pom, ChecksumUtil.SHA1)));
+    // simulates a line that has been written partially when the process was killed
+    Files.write(journal.getFile().toPath(), "deployed\tremote".getBytes(StandardCharsets.UTF_8),
+        StandardOpenOption.APPEND);
+
+    DeploymentJournal.State state = journal.read();
+    Assert.assertEquals(ImmutableList.of(pomArtifact, jarArtifact), state.getArtifacts());
+    Assert.assertEquals(jar, state.getArtifacts().get(1).getFile());
+
+    Map<String, String> deployed = state.getDeployedArtifacts(REMOTE.getId());
+    Assert.assertEquals(1, deployed.size());
+    Assert.assertEquals(ChecksumUtil.calculate(pom, ChecksumUtil.SHA1), deployed.get(pomArtifact.toString()));
+    Assert.assertTrue(state.getDeployedArtifacts("other").isEmpty());
+  }
+
+  @Test
+  public void testStartDiscardsPreviousJournal() throws Exception {
+    Artifact artifact = new DefaultArtifact("g:a:pom:1.0").setFile(this.tempFolder.newFile("a-1.0.pom"));
+    DeploymentJournal journal = new DeploymentJournal(this.tempFolder.getRoot());
+    journal.start(ImmutableList.of(artifact));
+    journal.recordDeployment(REMOTE, ImmutableMap.of(artifact, ""));
+
+    journal.start(ImmutableList.of(artifact));
+    Assert.assertTrue(journal.read().getDeployedArtifacts(REMOTE.getId()).isEmpty());
+  }
+
+  @Test(expected = IOException.class)
+  public void testReadWithoutJournal() throws Exception {
+    new DeploymentJournal(this.tempFolder.getRoot()).read();
+  }
+}
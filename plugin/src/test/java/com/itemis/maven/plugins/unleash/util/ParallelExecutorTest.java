@@ -0,0 +1,69 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class ParallelExecutorTest {
+  @Test
+  public void testInvokeAllKeepsOrder() throws Exception {
+    List<Callable<Integer>> tasks = Lists.newArrayList();
+    for (int i = 0; i < 20; i++) {
+      final int value = i;
+      tasks.add(() -> {
+        Thread.sleep(20 - value);
+        return value;
+      });
+    }
+
+    List<Integer> results = ParallelExecutor.invokeAll("test", 4, tasks);
+    Assert.assertEquals(20, results.size());
+    for (int i = 0; i < 20; i++) {
+      Assert.assertEquals(Integer.valueOf(i), results.get(i));
+    }
+  }
+
+  @Test
+  public void testInvokeAllPropagatesContextClassLoader() throws Exception {
+    ClassLoader original = Thread.currentThread().getContextClassLoader();
+    ClassLoader realm = new URLClassLoader(new URL[0], original);
+    Thread.currentThread().setContextClassLoader(realm);
+    try {
+      List<Callable<ClassLoader>> tasks = Lists.newArrayList();
+      for (int i = 0; i < 4; i++) {
+        tasks.add(() -> Thread.currentThread().getContextClassLoader());
+      }
+
+      for (ClassLoader cl : ParallelExecutor.invokeAll("test", 4, tasks)) {
+        Assert.assertSame(realm, cl);
+      }
+    } finally {
+      Thread.currentThread().setContextClassLoader(original);
+    }
+  }
+
+  @Test
+  public void testInvokeAllReportsFailures() throws Exception {
+    List<Callable<Void>> tasks = Lists.newArrayList();
+    tasks.add(() -> null);
+    tasks.add(() -> {
+      throw new IllegalStateException("failed");
+    });
+
+    for (int parallelism : new int[] { 1, 2 }) {
+      try {
+        ParallelExecutor.invokeAll("test", parallelism, tasks);
+        Assert.fail("The failure of the task must be reported.");
+      } catch (ExecutionException e) {
+        Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+      }
+    }
+  }
+}
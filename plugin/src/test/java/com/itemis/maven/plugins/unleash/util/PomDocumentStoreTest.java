@@ -0,0 +1,55 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.w3c.dom.Document;
+
+import com.google.common.io.Files;
+
+public class PomDocumentStoreTest {
+  private static final String POM = "<project><groupId>g</groupId><artifactId>a</artifactId><version>%s</version></project>";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @After
+  public void cleanup() {
+    PomDocumentStore.getInstance().clear();
+  }
+
+  @Test
+  public void testGetReturnsIndependentCopies() throws IOException {
+    File pom = this.temporaryFolder.newFile("pom.xml");
+    Files.write(String.format(POM, "1.0.0-SNAPSHOT"), pom, StandardCharsets.UTF_8);
+
+    Document d1 = PomDocumentStore.getInstance().get(pom);
+    Document d2 = PomDocumentStore.getInstance().get(pom);
+    Assert.assertNotSame(d1, d2);
+
+    d1.getElementsByTagName(PomUtil.NODE_NAME_VERSION).item(0).setTextContent("1.0.0");
+    Assert.assertEquals("1.0.0-SNAPSHOT",
+        d2.getElementsByTagName(PomUtil.NODE_NAME_VERSION).item(0).getTextContent());
+    Assert.assertEquals("1.0.0-SNAPSHOT", PomDocumentStore.getInstance().get(pom)
+        .getElementsByTagName(PomUtil.NODE_NAME_VERSION).item(0).getTextContent());
+  }
+
+  @Test
+  public void testGetReparsesModifiedFile() throws IOException {
+    File pom = this.temporaryFolder.newFile("pom.xml");
+    Files.write(String.format(POM, "1.0.0-SNAPSHOT"), pom, StandardCharsets.UTF_8);
+    Assert.assertEquals("1.0.0-SNAPSHOT", PomDocumentStore.getInstance().get(pom)
+        .getElementsByTagName(PomUtil.NODE_NAME_VERSION).item(0).getTextContent());
+
+    // simulates a modification from outside, e.g. by the forked release build
+    Files.write(String.format(POM, "1.0.0"), pom, StandardCharsets.UTF_8);
+    Assert.assertEquals("1.0.0", PomDocumentStore.getInstance().get(pom)
+        .getElementsByTagName(PomUtil.NODE_NAME_VERSION).item(0).getTextContent());
+  }
+}
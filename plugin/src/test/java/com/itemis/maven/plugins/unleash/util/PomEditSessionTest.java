@@ -0,0 +1,155 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.project.MavenProject;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+import com.google.common.collect.Sets;
+import com.google.common.io.Files;
+import com.google.common.io.Resources;
+import com.itemis.maven.plugins.cdi.logging.Logger;
+
+public class PomEditSessionTest {
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Logger log;
+  private PomEditSession session;
+  private File pom;
+  private String original;
+  private MavenProject project;
+
+  @Before
+  public void setUp() throws IOException {
+    this.log = Mockito.mock(Logger.class);
+    this.session = new PomEditSession(new ReactorPomRewriter(1, this.log), this.log);
+
+    URL url = getClass().getResource(PomUtilTest.class.getSimpleName() + "/pom1.xml");
+    this.pom = this.temporaryFolder.newFile("pom.xml");
+    Resources.asByteSource(url).copyTo(Files.asByteSink(this.pom));
+    this.original = Files.toString(this.pom, StandardCharsets.UTF_8);
+
+    Model model = new Model();
+    model.setGroupId("com.itemis.maven.plugins");
+    model.setArtifactId("test-project-1");
+    model.setVersion("1");
+    Parent parent = new Parent();
+    parent.setGroupId("com.itemis");
+    parent.setArtifactId("org-parent");
+    parent.setVersion("1");
+    model.setParent(parent);
+    this.project = new MavenProject(model);
+    this.project.setFile(this.pom);
+  }
+
+  @Test
+  public void testCommit() throws Exception {
+    this.session.setProjectVersion(this.project, "2.0.0");
+    Assert.assertEquals("2.0.0", this.project.getVersion());
+    Assert.assertTrue(this.session.hasPendingEdits());
+    Assert.assertEquals(this.original, Files.toString(this.pom, StandardCharsets.UTF_8));
+
+    this.session.commit();
+    Assert.assertFalse(this.session.hasPendingEdits());
+    Assert.assertEquals(
+        this.original.replace("<artifactId>test-project-1</artifactId>\n  <version>1</version>",
+            "<artifactId>test-project-1</artifactId>\n  <version>2.0.0</version>"),
+        Files.toString(this.pom, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testDiscard() throws Exception {
+    this.session.setProjectVersion(this.project, "2.0.0");
+    this.session.discard();
+    Assert.assertFalse(this.session.hasPendingEdits());
+
+    this.session.commit();
+    Assert.assertEquals(this.original, Files.toString(this.pom, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testCloseDiscardsPendingEdits() throws Exception {
+    this.session.setProjectVersion(this.project, "2.0.0");
+    this.session.close();
+
+    Assert.assertFalse(this.session.hasPendingEdits());
+    Assert.assertEquals(this.original, Files.toString(this.pom, StandardCharsets.UTF_8));
+    Mockito.verify(this.log).error(Mockito.contains("com.itemis.maven.plugins:test-project-1"));
+  }
+
+  @Test
+  public void testEditsAreMergedIntoOneWrite() throws Exception {
+    final Set<PomVersionRewriter> rewriters = Sets.newIdentityHashSet();
+    this.session.setProjectVersion(this.project, "2.0.0");
+    this.session.setParentVersion(this.project, "3");
+    this.session.edit(this.project, new PomEdit() {
+      @Override
+      public void apply(Document document) {
+        Assert.fail("The POM must not be parsed if all edits can be applied by the rewriter.");
+      }
+
+      @Override
+      public boolean apply(PomVersionRewriter rewriter) {
+        rewriters.add(rewriter);
+        return true;
+      }
+    });
+    this.session.edit(this.project, new PomEdit() {
+      @Override
+      public void apply(Document document) {
+        Assert.fail("The POM must not be parsed if all edits can be applied by the rewriter.");
+      }
+
+      @Override
+      public boolean apply(PomVersionRewriter rewriter) {
+        rewriters.add(rewriter);
+        return true;
+      }
+    });
+    this.session.commit();
+
+    // all edits of the POM have been applied to the same rewriter that has written the file once
+    Assert.assertEquals(1, rewriters.size());
+    Assert.assertEquals(
+        this.original
+            .replace("<artifactId>org-parent</artifactId>\n    <version>1</version>",
+                "<artifactId>org-parent</artifactId>\n    <version>3</version>")
+            .replace("<artifactId>test-project-1</artifactId>\n  <version>1</version>",
+                "<artifactId>test-project-1</artifactId>\n  <version>2.0.0</version>"),
+        Files.toString(this.pom, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testDomFallback() throws Exception {
+    final Set<Document> documents = Sets.newIdentityHashSet();
+    this.session.setProjectVersion(this.project, "2.0.0");
+    this.session.edit(this.project, document -> {
+      documents.add(document);
+      Node name = document.getDocumentElement().getElementsByTagName("name").item(0);
+      name.setTextContent("RENAMED");
+    });
+    this.session.setParentVersion(this.project, "3");
+    this.session.commit();
+
+    String content = Files.toString(this.pom, StandardCharsets.UTF_8);
+    Assert.assertEquals(1, documents.size());
+    Assert.assertTrue(content.contains("<name>RENAMED</name>"));
+    Assert.assertTrue(content.contains("<artifactId>test-project-1</artifactId>\n  <version>2.0.0</version>"));
+    Assert.assertTrue(content.contains("<artifactId>org-parent</artifactId>\n    <version>3</version>"));
+    Assert.assertTrue(content.contains("<finalName>test</finalName>"));
+  }
+}
@@ -0,0 +1,84 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.util.Properties;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Profile;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.settings.Settings;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class PomPropertyResolverTest {
+  private PomPropertyResolver resolver;
+
+  @Before
+  public void setUp() {
+    Model model = new Model();
+    model.setVersion("1.0-SNAPSHOT");
+    model.addProperty("version.a", "2.${minor}");
+    model.addProperty("minor", "3");
+    model.addProperty("overridden", "project");
+    model.addProperty("cycle1", "${cycle2}");
+    model.addProperty("cycle2", "x${cycle1}");
+    model.addProperty("self", "${self}");
+    Profile profile = new Profile();
+    profile.setId("p1");
+    profile.addProperty("overridden", "profile");
+    model.addProfile(profile);
+
+    Settings settings = new Settings();
+    org.apache.maven.settings.Profile settingsProfile = new org.apache.maven.settings.Profile();
+    settingsProfile.setId("p1");
+    settingsProfile.addProperty("fromSettings", "settings");
+    settingsProfile.addProperty("minor", "9");
+    settings.addProfile(settingsProfile);
+
+    Properties args = new Properties();
+    args.setProperty("arg", "${project.version}");
+
+    this.resolver = new PomPropertyResolver(new MavenProject(model), settings, ImmutableList.of("p1"), args);
+  }
+
+  @Test
+  public void testExpandPropertyReferences() {
+    Assert.assertEquals("a-2.3-b", this.resolver.expandPropertyReferences("a-${version.a}-b"));
+    Assert.assertEquals("profile", this.resolver.expandPropertyReferences("${overridden}"));
+    Assert.assertEquals("settings", this.resolver.expandPropertyReferences("${fromSettings}"));
+    Assert.assertEquals("1.0-SNAPSHOT", this.resolver.expandPropertyReferences("${arg}"));
+    Assert.assertEquals("${unknown}", this.resolver.expandPropertyReferences("${unknown}"));
+    Assert.assertEquals("1.0", this.resolver.expandPropertyReferences("1.0"));
+    Assert.assertNull(this.resolver.expandPropertyReferences(null));
+  }
+
+  @Test
+  public void testExpandPropertyReferences_Cycles() {
+    Assert.assertEquals("${self}", this.resolver.expandPropertyReferences("${self}"));
+    Assert.assertEquals("x${cycle1}", this.resolver.expandPropertyReferences("${cycle1}"));
+  }
+
+  @Test
+  public void testLayersOfDifferentReleases() {
+    Model model = new Model();
+    model.setVersion("1.0-SNAPSHOT");
+    MavenProject project = new MavenProject(model);
+    Properties args = new Properties();
+    args.setProperty("arg", "first");
+    PomPropertyLayers layers = new PomPropertyLayers(new Settings(), ImmutableList.<String> of(), args);
+    Assert.assertEquals("first", new PomPropertyResolver(project, layers).getProperty("arg"));
+
+    // the same properties instance with a modified value but the same size, f.e. in a long-living Maven process
+    args.setProperty("arg", "second");
+    layers = new PomPropertyLayers(new Settings(), ImmutableList.<String> of(), args);
+    Assert.assertEquals("second", new PomPropertyResolver(project, layers).getProperty("arg"));
+  }
+
+  @Test
+  public void testGetProperties() {
+    Assert.assertEquals("2.3", this.resolver.getProperties().get("version.a"));
+    Assert.assertEquals("1.0-SNAPSHOT", this.resolver.getProperty("project.version"));
+  }
+}
@@ -0,0 +1,55 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.io.Files;
+
+public class PomSnapshotJournalTest {
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private PomSnapshotJournal journal = new PomSnapshotJournal();
+
+  @After
+  public void cleanup() {
+    this.journal.cleanup();
+  }
+
+  @Test
+  public void testSnapshotAndRestore() throws IOException {
+    File pom = this.temporaryFolder.newFile("pom.xml");
+    String content = "<project>\r\n  <version>1.0.0-SNAPSHOT</version>\t\n</project>";
+    Files.write(content, pom, StandardCharsets.UTF_8);
+
+    PomSnapshot snapshot = this.journal.snapshot(pom);
+    Files.write("<project/>", pom, StandardCharsets.UTF_8);
+
+    this.journal.restore(snapshot);
+    Assert.assertEquals(content, Files.toString(pom, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testSnapshotsAreContentAddressed() throws IOException {
+    File pom1 = this.temporaryFolder.newFile("pom1.xml");
+    File pom2 = this.temporaryFolder.newFile("pom2.xml");
+    Files.write("<project/>", pom1, StandardCharsets.UTF_8);
+    Files.write("<project/>", pom2, StandardCharsets.UTF_8);
+
+    PomSnapshot snapshot1 = this.journal.snapshot(pom1);
+    PomSnapshot snapshot2 = this.journal.snapshot(pom2);
+    Assert.assertEquals(snapshot1.getHash(), snapshot2.getHash());
+    Assert.assertNotEquals(snapshot1, snapshot2);
+
+    Files.write("<project><version>1</version></project>", pom2, StandardCharsets.UTF_8);
+    this.journal.restore(snapshot2);
+    Assert.assertEquals("<project/>", Files.toString(pom2, StandardCharsets.UTF_8));
+  }
+}
@@ -1,11 +1,13 @@
 package com.itemis.maven.plugins.unleash.util;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Files;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -31,6 +33,7 @@ import org.xml.sax.SAXParseException;
 
 import com.google.common.base.Objects;
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.io.Closeables;
 
 public class PomUtilTest {
@@ -779,6 +782,69 @@ public class PomUtilTest {
     Assert.assertFalse(PomUtil.hasChildNode(document.getDocumentElement(), "description"));
   }
 
+  @Test
+  public void testIndexFollowsModifications() throws Exception {
+    URL url = getClass().getResource(getClass().getSimpleName() + "/pom1.xml");
+    Document document = PomUtil.parsePOM(new File(url.toURI())).get();
+
+    Assert.assertNull(PomUtil.getPlugin(document, "g", "a"));
+    Assert.assertNull(PomUtil.getOrCreatePluginsNode(document, false));
+
+    Node plugin = PomUtil.createPlugin(document, "g", "a", "1");
+    Assert.assertSame(plugin, PomUtil.getPlugin(document, "g", "a"));
+    Assert.assertNotNull(PomUtil.getOrCreatePluginsNode(document, false));
+
+    PomUtil.setNodeTextContent(plugin, PomUtil.NODE_NAME_ARTIFACT_ID, "b", false);
+    Assert.assertNull(PomUtil.getPlugin(document, "g", "a"));
+    Assert.assertSame(plugin, PomUtil.getPlugin(document, "g", "b"));
+
+    Assert.assertTrue(PomUtil.removePlugin(document, "g", "b"));
+    Assert.assertNull(PomUtil.getPlugin(document, "g", "b"));
+    Assert.assertNull(PomUtil.getOrCreatePluginsNode(document, false));
+    // the build node still contains the final name
+    Assert.assertNotNull(PomUtil.getOrCreateBuildNode(document, false));
+    Assert.assertFalse(PomUtil.removePlugin(document, "g", "b"));
+  }
+
+  @Test
+  public void testParsePOM_Lazy() throws Exception {
+    String reporting = "<reporting>\n    <!-- keep -->\n    <plugins><plugin><artifactId>r</artifactId></plugin></plugins>\n  </reporting>";
+    String pluginManagement = "<pluginManagement><plugins><plugin>\n<configuration a='&amp;'>x</configuration>\n</plugin></plugins></pluginManagement>";
+    File pom = this.TemporaryFolder.newFile("pom.xml");
+    Files.write(pom.toPath(),
+        ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<project>\n  <groupId>g</groupId>\n  <artifactId>a</artifactId>\n  "
+            + reporting + "\n  <build>\n    " + pluginManagement
+            + "\n    <plugins>\n    </plugins>\n  </build>\n</project>").getBytes("UTF-8"));
+
+    Document document = PomUtil.parsePOM(pom, ImmutableSet.of("build/plugins")).get();
+    Assert.assertEquals(0, document.getElementsByTagName("reporting").getLength());
+    Assert.assertEquals(0, document.getElementsByTagName("pluginManagement").getLength());
+    Assert.assertEquals(1, document.getElementsByTagName(PomUtil.NODE_NAME_GROUP_ID).getLength());
+    Assert.assertNull(PomUtil.getPlugin(document, "g", "r"));
+    PomUtil.createPlugin(document, "g", "p", "1");
+
+    String serialized = new String(PomUtil.serializePOM(document), "UTF-8");
+    Assert.assertTrue(serialized.contains(reporting));
+    Assert.assertTrue(serialized.contains(pluginManagement));
+
+    Document fullDocument = PomUtil.parsePOM(new ByteArrayInputStream(serialized.getBytes("UTF-8")));
+    Assert.assertNotNull(PomUtil.getPlugin(fullDocument, "g", "p"));
+    Assert.assertEquals(1, fullDocument.getElementsByTagName("reporting").getLength());
+  }
+
+  @Test
+  public void testWritePOMSkipsUnchangedContent() throws Exception {
+    File pom = this.TemporaryFolder.newFile("pom.xml");
+    byte[] content = "<project/>".getBytes("UTF-8");
+    Assert.assertTrue(PomUtil.writePOM(pom, content));
+    Assert.assertFalse(PomUtil.writePOM(pom, content));
+
+    byte[] newContent = "<project><version>1</version></project>".getBytes("UTF-8");
+    Assert.assertTrue(PomUtil.writePOM(pom, newContent));
+    Assert.assertArrayEquals(newContent, Files.readAllBytes(pom.toPath()));
+    Assert.assertArrayEquals(new String[] { "pom.xml" }, this.TemporaryFolder.getRoot().list());
+  }
+
   private Node getNode(Node parent, String name) {
     String nodeName = name;
     String childPath = null;
@@ -0,0 +1,110 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.base.Optional;
+import com.google.common.io.Files;
+import com.google.common.io.Resources;
+
+public class PomVersionRewriterTest {
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void testSetProjectAndParentVersion() throws IOException {
+    File pom = copyResource("pom1.xml");
+    String original = Files.toString(pom, StandardCharsets.UTF_8);
+
+    PomVersionRewriter rewriter = PomVersionRewriter.load(pom).get();
+    rewriter.setProjectVersion("2.0.0");
+    rewriter.setParentVersion("3");
+    rewriter.write();
+
+    String expected = original.replace("<artifactId>org-parent</artifactId>\n    <version>1</version>",
+        "<artifactId>org-parent</artifactId>\n    <version>3</version>")
+        .replace("<artifactId>test-project-1</artifactId>\n  <version>1</version>",
+            "<artifactId>test-project-1</artifactId>\n  <version>2.0.0</version>");
+    Assert.assertNotEquals(original, expected);
+    Assert.assertEquals(expected, Files.toString(pom, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testSetDependencyVersion() throws IOException {
+    File pom = copyResource("pom5-reactor-dependencies.xml");
+    String original = Files.toString(pom, StandardCharsets.UTF_8);
+
+    PomVersionRewriter rewriter = PomVersionRewriter.load(pom).get();
+    rewriter.setDependencyVersion("/profiles/profile[id[text()='test']]/dependencyManagement", "com.cht.test",
+        "test-dep", "0.0.1");
+    rewriter.setDependencyVersion("/", "com.cht.test", "other-dep", "0.0.2");
+    rewriter.write();
+
+    String rewritten = Files.toString(pom, StandardCharsets.UTF_8);
+    Assert.assertEquals(original.length() - "-SNAPSHOT".length(), rewritten.length());
+    // only the last dependency version (profile dependency management) must have been changed
+    int changedIndex = original.lastIndexOf("0.0.1-SNAPSHOT");
+    Assert.assertEquals(original.substring(0, changedIndex), rewritten.substring(0, changedIndex));
+    Assert.assertEquals("0.0.1</version>", rewritten.substring(changedIndex, changedIndex + 15));
+
+    Assert.assertEquals(3, PomUtil.parsePOM(pom).get().getDocumentElement().getTextContent().split("0.0.1-SNAPSHOT",
+        -1).length - 1);
+  }
+
+  @Test
+  public void testScmValues() throws IOException {
+    File pom = this.temporaryFolder.newFile("pom.xml");
+    Files.write("<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>\n<project>\n  <scm>\n"
+        + "    <connection>scm:git:a.git</connection>\n    <tag>v1</tag>\n    <url/>\n  </scm>\n</project>\n", pom,
+        StandardCharsets.ISO_8859_1);
+
+    PomVersionRewriter rewriter = PomVersionRewriter.load(pom).get();
+    Assert.assertTrue(rewriter.hasScm());
+    rewriter.setScmValue(PomUtil.NODE_NAME_SCM_CONNECTION, "scm:git:b.git?x=1&y=2");
+    rewriter.setScmValue(PomUtil.NODE_NAME_SCM_DEV_CONNECTION, "scm:git:c.git");
+    rewriter.setScmValue(PomUtil.NODE_NAME_SCM_URL, "http://h\u00e4st");
+    rewriter.deleteScmValue(PomUtil.NODE_NAME_SCM_TAG);
+    rewriter.write();
+
+    Assert.assertEquals(
+        "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>\n<project>\n  <scm>\n"
+            + "    <connection>scm:git:b.git?x=1&amp;y=2</connection>\n    \n"
+            + "    <url>http://h\u00e4st</url>\n  </scm>\n</project>\n",
+        Files.toString(pom, StandardCharsets.ISO_8859_1));
+  }
+
+  @Test
+  public void testLoad_Unsupported() throws IOException {
+    File pom = this.temporaryFolder.newFile("pom.xml");
+
+    Files.write("<?xml version=\"1.0\" encoding=\"UTF-16\"?>\n<project/>", pom, StandardCharsets.UTF_16);
+    Assert.assertFalse(PomVersionRewriter.load(pom).isPresent());
+
+    Files.write("<!DOCTYPE project [<!ENTITY v \"1\">]>\n<project><version>&v;</version></project>", pom,
+        StandardCharsets.UTF_8);
+    Assert.assertFalse(PomVersionRewriter.load(pom).isPresent());
+
+    Files.write("<project><dependencies><dependency><groupId><!-- x -->g</groupId></dependency></dependencies>"
+        + "</project>", pom, StandardCharsets.UTF_8);
+    Assert.assertFalse(PomVersionRewriter.load(pom).isPresent());
+
+    Files.write("<project><version>1</versio></project>", pom, StandardCharsets.UTF_8);
+    Assert.assertFalse(PomVersionRewriter.load(pom).isPresent());
+
+    Assert.assertEquals(Optional.absent(), PomVersionRewriter.load(new File(pom.getParentFile(), "missing.xml")));
+  }
+
+  private File copyResource(String name) throws IOException {
+    URL url = getClass().getResource(PomUtilTest.class.getSimpleName() + "/" + name);
+    File f = this.temporaryFolder.newFile(name);
+    Resources.asByteSource(url).copyTo(Files.asByteSink(f));
+    return f;
+  }
+}
@@ -0,0 +1,63 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableList;
+
+public class ReactorIndexTest {
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void testLookups() {
+    MavenProject a = createProject("a");
+    MavenProject b = createProject("b");
+    ReactorIndex index = new ReactorIndex(ImmutableList.of(a, b));
+
+    Assert.assertEquals(ImmutableList.of(a, b), index.getProjects());
+    Assert.assertSame(b, index.getProject("g", "b").get());
+    Assert.assertFalse(index.getProject("g", "external").isPresent());
+    Assert.assertTrue(index.contains("g", "a"));
+    Assert.assertFalse(index.contains("g", "external"));
+  }
+
+  @Test
+  public void testRawModelReflectsModifications() throws IOException {
+    MavenProject project = createProject("a");
+    File pom = this.tempFolder.newFile("pom.xml");
+    project.setFile(pom);
+    ReactorIndex index = new ReactorIndex(ImmutableList.of(project));
+
+    writePom(pom, "1-SNAPSHOT");
+    Model model = index.getRawModel(project);
+    Assert.assertEquals("1-SNAPSHOT", model.getVersion());
+    Assert.assertSame(model, index.getRawModel(project));
+
+    writePom(pom, "1");
+    Assert.assertEquals("1", index.getRawModel(project).getVersion());
+  }
+
+  private static void writePom(File pom, String version) throws IOException {
+    String content = "<project><modelVersion>4.0.0</modelVersion><groupId>g</groupId><artifactId>a</artifactId>"
+        + "<version>" + version + "</version></project>";
+    Files.write(pom.toPath(), content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static MavenProject createProject(String artifactId) {
+    Model model = new Model();
+    model.setGroupId("g");
+    model.setArtifactId(artifactId);
+    model.setVersion("1-SNAPSHOT");
+    return new MavenProject(model);
+  }
+}
@@ -0,0 +1,94 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.google.common.collect.ImmutableList;
+import com.itemis.maven.aether.ArtifactCoordinates;
+
+public class SnapshotFindingsTest {
+  @Test
+  public void testCollector() {
+    MavenProject module1 = createProject("a", "1-SNAPSHOT");
+    MavenProject module2 = createProject("b", "1-SNAPSHOT");
+    PomPropertyResolver propertyResolver = Mockito.mock(PomPropertyResolver.class);
+    Mockito.when(propertyResolver.expandPropertyReferences(Mockito.anyString()))
+        .thenAnswer(invocation -> invocation.getArguments()[0]);
+
+    SnapshotFindings.Collector collector = new SnapshotFindings.Collector(ImmutableList.of(module1, module2), null);
+    collector.visitDependency(module1, createDependency("b", "1-SNAPSHOT"), propertyResolver);
+    collector.visitDependency(module1, createDependency("x", "2-SNAPSHOT"), propertyResolver);
+    collector.visitDependency(module1, createDependency("y", "2"), propertyResolver);
+    Plugin plugin = createPlugin("p", "3-SNAPSHOT");
+    collector.visitPlugin(module2, plugin, propertyResolver);
+    collector.visitPluginDependency(module2, plugin, createDependency("z", "4-SNAPSHOT"), propertyResolver);
+    SnapshotFindings findings = collector.build();
+
+    Assert.assertFalse(findings.isEmpty());
+    Assert.assertEquals(ImmutableList.of(ArtifactCoordinates.of("g", "x", "2-SNAPSHOT", "jar")),
+        ImmutableList.copyOf(findings.getDependencies().get(module1)));
+    Assert.assertEquals(ImmutableList.of(ArtifactCoordinates.of("g", "p", "3-SNAPSHOT")),
+        ImmutableList.copyOf(findings.getPlugins().get(module2)));
+    Assert.assertEquals(ImmutableList.of(ArtifactCoordinates.of("g", "z", "4-SNAPSHOT", "jar")), ImmutableList
+        .copyOf(findings.getPluginDependencies().get(module2).get(ArtifactCoordinates.of("g", "p", "3-SNAPSHOT"))));
+    Assert.assertNull(findings.getPluginDependencies().get(module1));
+  }
+
+  @Test
+  public void testExportAndRestore() {
+    MavenProject module = createProject("a", "1-SNAPSHOT");
+    PomPropertyResolver propertyResolver = Mockito.mock(PomPropertyResolver.class);
+    Mockito.when(propertyResolver.expandPropertyReferences(Mockito.anyString()))
+        .thenAnswer(invocation -> invocation.getArguments()[0]);
+
+    SnapshotFindings.Collector collector = new SnapshotFindings.Collector(ImmutableList.of(module), null);
+    collector.visitDependency(module, createDependency("x", "2-SNAPSHOT"), propertyResolver);
+    Plugin plugin = createPlugin("p", "3-SNAPSHOT");
+    collector.visitPlugin(module, plugin, propertyResolver);
+    collector.visitPluginDependency(module, plugin, createDependency("z", "4-SNAPSHOT"), propertyResolver);
+    SnapshotFindings expected = collector.build();
+
+    SnapshotFindings.Collector restoringCollector = new SnapshotFindings.Collector(ImmutableList.of(module), null);
+    restoringCollector.restore(module, collector.export(module));
+    SnapshotFindings restored = restoringCollector.build();
+
+    Assert.assertEquals(expected.getDependencies(), restored.getDependencies());
+    Assert.assertEquals(expected.getPlugins(), restored.getPlugins());
+    Assert.assertEquals(expected.getPluginDependencies(), restored.getPluginDependencies());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRestoreMalformed() {
+    MavenProject module = createProject("a", "1-SNAPSHOT");
+    new SnapshotFindings.Collector(ImmutableList.of(module), null).restore(module, ImmutableList.of("D|g:x"));
+  }
+
+  private static MavenProject createProject(String artifactId, String version) {
+    Model model = new Model();
+    model.setGroupId("g");
+    model.setArtifactId(artifactId);
+    model.setVersion(version);
+    return new MavenProject(model);
+  }
+
+  private static Dependency createDependency(String artifactId, String version) {
+    Dependency d = new Dependency();
+    d.setGroupId("g");
+    d.setArtifactId(artifactId);
+    d.setVersion(version);
+    return d;
+  }
+
+  private static Plugin createPlugin(String artifactId, String version) {
+    Plugin p = new Plugin();
+    p.setGroupId("g");
+    p.setArtifactId(artifactId);
+    p.setVersion(version);
+    return p;
+  }
+}
@@ -15,33 +15,33 @@ import com.tngtech.java.junit.dataprovider.UseDataProvider;
 public class ProjectToCoordinatesTest {
   @DataProvider
   public static Object[][] projects_full() {
-    return new Object[][] { { createProject("x", "y", "2.0", null), new ArtifactCoordinates("x", "y", "2.0", null) },
-        { createProject("x", "y", "13", "war"), new ArtifactCoordinates("x", "y", "13", "war") } };
+    return new Object[][] { { createProject("x", "y", "2.0", null), ArtifactCoordinates.of("x", "y", "2.0", null) },
+        { createProject("x", "y", "13", "war"), ArtifactCoordinates.of("x", "y", "13", "war") } };
   }
 
   @DataProvider
   public static Object[][] projects_emptyVersion() {
     return new Object[][] {
         { createProject("x", "y", "3", null),
-            new ArtifactCoordinates("x", "y", MavenProject.EMPTY_PROJECT_VERSION, null) },
+            ArtifactCoordinates.of("x", "y", MavenProject.EMPTY_PROJECT_VERSION, null) },
         { createProject("x", "y", "13", "war"),
-            new ArtifactCoordinates("x", "y", MavenProject.EMPTY_PROJECT_VERSION, "war") } };
+            ArtifactCoordinates.of("x", "y", MavenProject.EMPTY_PROJECT_VERSION, "war") } };
   }
 
   @DataProvider
   public static Object[][] projects_pomPackaging() {
     return new Object[][] {
-        { createProject("x", "y", "3", null), new ArtifactCoordinates("x", "y", "3", PomUtil.ARTIFACT_TYPE_POM) },
-        { createProject("x", "y", "13", "war"), new ArtifactCoordinates("x", "y", "13", PomUtil.ARTIFACT_TYPE_POM) } };
+        { createProject("x", "y", "3", null), ArtifactCoordinates.of("x", "y", "3", PomUtil.ARTIFACT_TYPE_POM) },
+        { createProject("x", "y", "13", "war"), ArtifactCoordinates.of("x", "y", "13", PomUtil.ARTIFACT_TYPE_POM) } };
   }
 
   @DataProvider
   public static Object[][] projects_emptyVersion_pomPackaging() {
     return new Object[][] {
         { createProject("x", "y", "3", null),
-            new ArtifactCoordinates("x", "y", MavenProject.EMPTY_PROJECT_VERSION, PomUtil.ARTIFACT_TYPE_POM) },
+            ArtifactCoordinates.of("x", "y", MavenProject.EMPTY_PROJECT_VERSION, PomUtil.ARTIFACT_TYPE_POM) },
         { createProject("x", "y", "13", "war"),
-            new ArtifactCoordinates("x", "y", MavenProject.EMPTY_PROJECT_VERSION, PomUtil.ARTIFACT_TYPE_POM) } };
+            ArtifactCoordinates.of("x", "y", MavenProject.EMPTY_PROJECT_VERSION, PomUtil.ARTIFACT_TYPE_POM) } };
   }
 
   @Test
@@ -24,7 +24,13 @@ public final class MavenVersionUtil {
    * @return {@code true} if the version String represents a SNAPSHOT version.
    */
   public static boolean isSnapshot(String version) {
-    return version.toUpperCase().endsWith(VERSION_QUALIFIER_SNAPSHOT) || version.toUpperCase().equals(VERSION_LATEST);
+    return hasSnapshotQualifier(version) || VERSION_LATEST.equalsIgnoreCase(version);
+  }
+
+  private static boolean hasSnapshotQualifier(String version) {
+    int offset = version.length() - VERSION_QUALIFIER_SNAPSHOT.length();
+    return offset >= 0 && version.regionMatches(true, offset, VERSION_QUALIFIER_SNAPSHOT, 0,
+        VERSION_QUALIFIER_SNAPSHOT.length());
   }
 
   /**
@@ -120,14 +126,15 @@ public final class MavenVersionUtil {
    * @return the calculated release version which might be identical to the passed version.
    */
   public static String calculateReleaseVersion(String version) {
-    if (version.toUpperCase().endsWith(VERSION_QUALIFIER_SNAPSHOT)) {
+    if (hasSnapshotQualifier(version)) {
       return version.substring(0, version.length() - VERSION_QUALIFIER_SNAPSHOT.length());
     }
     return version;
   }
 
   /**
-   * Checks whether version1 is newer than version 2.
+   * Checks whether version1 is newer than version 2. Apart from {@value #VERSION_LATEST} which is newer than any other
+   * version the versions are compared using the {@link VersionComparator}.
    *
    * @param version1 the first version to check
    * @param version2 the second version to check (the anchestor)
@@ -149,27 +156,6 @@ public final class MavenVersionUtil {
       return false;
     }
 
-    String commonPrefix = Strings.commonPrefix(v1, v2);
-    v1 = v1.substring(commonPrefix.length());
-    v2 = v2.substring(commonPrefix.length());
-    String commonSuffix = Strings.commonSuffix(v1, v2);
-    v1 = v1.substring(0, v1.length() - commonSuffix.length());
-    v2 = v2.substring(0, v2.length() - commonSuffix.length());
-
-    if (v1.isEmpty()) {
-      if (Objects.equal(VERSION_QUALIFIER_SNAPSHOT, v2.toUpperCase())) {
-        return true;
-      } else {
-        return false;
-      }
-    } else if (Objects.equal(VERSION_QUALIFIER_SNAPSHOT, v1.toUpperCase())) {
-      return false;
-    } else {
-      if (Objects.equal(VERSION_QUALIFIER_SNAPSHOT, v2.toUpperCase())) {
-        return true;
-      } else {
-        return v1.compareTo(v2) > 0;
-      }
-    }
+    return VersionComparator.INSTANCE.compare(v1, v2) > 0;
   }
 }
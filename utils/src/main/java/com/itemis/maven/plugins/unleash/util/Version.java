@@ -1,130 +1,180 @@
 package com.itemis.maven.plugins.unleash.util;
 
-import java.util.Iterator;
-import java.util.List;
-
-import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
-import com.google.common.collect.Lists;
 
+/**
+ * A tokenized version String. The version is split into segments at dashes and dots. The segments are stored as
+ * offsets into the version String together with the position and the numeric value of the rightmost number of each
+ * segment, so tokenizing and increasing a version neither allocate per-character objects nor rely on exceptions.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ */
 class Version {
   private static final char SEPARATOR_DASH = '-';
   private static final char SEPARATOR_DOT = '.';
-
-  private List<String> segments;
-  private List<Character> separators;
-
-  private Version() {
-    this.segments = Lists.newArrayList();
-    this.separators = Lists.newArrayList();
+  // numbers with more digits might exceed the range of long
+  private static final int MAX_NUMBER_DIGITS = 18;
+
+  private String value;
+  private int segmentCount;
+  // segment i spans [segmentStarts[i], segmentEnds[i]) of the value, followed by a separator if it isn't the last one
+  private int[] segmentStarts;
+  private int[] segmentEnds;
+  // the rightmost number of segment i spans [numberStarts[i], numberEnds[i]) or numberStarts[i] is -1
+  private int[] numberStarts;
+  private int[] numberEnds;
+  // the value of the rightmost number of segment i or -1 if the segment has no number or the number is too large
+  private long[] numbers;
+
+  private Version(String value) {
+    tokenize(value);
   }
 
   protected static Version parse(String versionString) {
     Preconditions.checkArgument(!Strings.isNullOrEmpty(versionString), "Please provide a version String!");
-
-    Version version = new Version();
-    StringBuilder sb = new StringBuilder();
-    for (int i = 0; i < versionString.length(); i++) {
-      char c = versionString.charAt(i);
-      if (SEPARATOR_DASH == c || SEPARATOR_DOT == c) {
-        version.segments.add(sb.toString());
-        version.separators.add(c);
-        sb.setLength(0);
-      } else {
-        sb.append(c);
-      }
-    }
-    version.segments.add(sb.toString());
-
-    return version;
+    return new Version(versionString);
   }
 
-  public void increase(VersionUpgradeStrategy strategy) {
-    if (strategy == VersionUpgradeStrategy.DEFAULT) {
-      increaseLowestPossibleSegment();
-    } else {
-      increaseSpecificSegment(strategy.getVersionSegmentIndex());
-    }
-  }
+  private void tokenize(String value) {
+    this.value = value;
 
-  private void increaseLowestPossibleSegment() {
-    for (int i = this.segments.size() - 1; i >= 0; i--) {
-      String segment = this.segments.get(i);
-      String increasedSegment = increaseSegment(segment);
-      if (Objects.equal(segment, increasedSegment)) {
-        continue;
-      } else {
-        this.segments.set(i, increasedSegment);
-        break;
+    int count = 1;
+    for (int i = 0; i < value.length(); i++) {
+      if (isSeparator(value.charAt(i))) {
+        count++;
       }
     }
-  }
 
-  private void increaseSpecificSegment(short index) {
-    if (index >= this.segments.size() || index < 0) {
-      increaseLowestPossibleSegment();
-    } else {
-      String segment = this.segments.get(index);
-      String increasedSegment = increaseSegment(segment);
-      if (Objects.equal(segment, increasedSegment)) {
-        increaseLowestPossibleSegment();
-      } else {
-        this.segments.set(index, increasedSegment);
+    this.segmentCount = count;
+    this.segmentStarts = new int[count];
+    this.segmentEnds = new int[count];
+    this.numberStarts = new int[count];
+    this.numberEnds = new int[count];
+    this.numbers = new long[count];
+
+    int segment = 0;
+    int start = 0;
+    for (int i = 0; i <= value.length(); i++) {
+      if (i == value.length() || isSeparator(value.charAt(i))) {
+        this.segmentStarts[segment] = start;
+        this.segmentEnds[segment] = i;
+        tokenizeNumber(segment);
+        segment++;
+        start = i + 1;
       }
     }
   }
 
-  private String increaseSegment(String segment) {
-    StringBuilder sb = new StringBuilder(segment);
-    int start = -1;
+  private void tokenizeNumber(int segment) {
     int end = -1;
-    for (int i = sb.length() - 1; i >= 0; i--) {
-      try {
-        Integer.parseInt(sb.substring(i, i + 1));
+    int start = -1;
+    for (int i = this.segmentEnds[segment] - 1; i >= this.segmentStarts[segment]; i--) {
+      if (isDigit(this.value.charAt(i))) {
         if (end == -1) {
-          end = i;
-        }
-      } catch (NumberFormatException e) {
-        if (end > 0 && start == -1) {
-          start = i + 1;
-          break;
+          end = i + 1;
         }
+        start = i;
+      } else if (end != -1) {
+        break;
       }
     }
 
-    if (end >= 0) {
-      if (start == -1) {
-        start = 0;
+    this.numberStarts[segment] = start;
+    this.numberEnds[segment] = end;
+    this.numbers[segment] = -1;
+    if (start != -1 && end - start <= MAX_NUMBER_DIGITS) {
+      long number = 0;
+      for (int i = start; i < end; i++) {
+        number = number * 10 + (this.value.charAt(i) - '0');
       }
-      int toIncrease = Integer.parseInt(sb.substring(start, end + 1));
-      sb.replace(start, end + 1, Integer.toString(toIncrease + 1));
+      this.numbers[segment] = number;
     }
+  }
 
-    return sb.toString();
+  /**
+   * @return the number of segments of the version.
+   */
+  int getSegmentCount() {
+    return this.segmentCount;
   }
 
-  @Override
-  public String toString() {
-    if (this.segments.isEmpty()) {
-      return "";
+  /**
+   * @param segment the index of the segment.
+   * @return the value of the rightmost number of the segment or {@code -1} if the segment doesn't contain a number or
+   *         the number exceeds the range of long.
+   */
+  long getNumber(int segment) {
+    return this.numbers[segment];
+  }
+
+  public void increase(VersionUpgradeStrategy strategy) {
+    int index = strategy.getVersionSegmentIndex();
+    if (strategy == VersionUpgradeStrategy.DEFAULT || index >= this.segmentCount || index < 0
+        || this.numberStarts[index] == -1) {
+      index = getLowestIncreasableSegment();
+    }
+
+    if (index != -1) {
+      increaseSegment(index);
+    }
+  }
+
+  private int getLowestIncreasableSegment() {
+    for (int i = this.segmentCount - 1; i >= 0; i--) {
+      if (this.numberStarts[i] != -1) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private void increaseSegment(int segment) {
+    int start = this.numberStarts[segment];
+    int end = this.numberEnds[segment];
+
+    StringBuilder sb = new StringBuilder(this.value.length() + 1);
+    sb.append(this.value, 0, start);
+    if (this.numbers[segment] >= 0) {
+      sb.append(this.numbers[segment] + 1);
+    } else {
+      appendIncreasedNumber(sb, start, end);
     }
+    sb.append(this.value, end, this.value.length());
+    tokenize(sb.toString());
+  }
 
-    Iterator<String> segmentsIterator = this.segments.iterator();
-    Iterator<Character> separatorsIterator = this.separators.iterator();
+  // decimal increment of numbers that do not fit into a long
+  private void appendIncreasedNumber(StringBuilder sb, int start, int end) {
+    while (start < end - 1 && this.value.charAt(start) == '0') {
+      start++;
+    }
 
-    StringBuilder sb = new StringBuilder(segmentsIterator.next());
-    while (separatorsIterator.hasNext()) {
-      sb.append(separatorsIterator.next());
-      sb.append(segmentsIterator.next());
+    char[] digits = new char[end - start + 1];
+    int carry = 1;
+    for (int i = end - 1, j = digits.length - 1; i >= start; i--, j--) {
+      int digit = this.value.charAt(i) - '0' + carry;
+      carry = digit / 10;
+      digits[j] = (char) ('0' + digit % 10);
+    }
+    if (carry > 0) {
+      digits[0] = '1';
+      sb.append(digits);
+    } else {
+      sb.append(digits, 1, digits.length - 1);
     }
+  }
+
+  private static boolean isSeparator(char c) {
+    return SEPARATOR_DASH == c || SEPARATOR_DOT == c;
+  }
 
-    return sb.toString();
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
   }
 
-  public static void main(String[] args) {
-    Version v = Version.parse("1.0.7-12-SNAPSHOT");
-    v.increase(VersionUpgradeStrategy.DEFAULT);
-    System.out.println(v);
+  @Override
+  public String toString() {
+    return this.value;
   }
 }
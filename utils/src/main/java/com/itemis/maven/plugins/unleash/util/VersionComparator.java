@@ -0,0 +1,305 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+
+import com.google.common.base.Optional;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
+/**
+ * A comparator for Maven version Strings that orders versions the same way as Maven's {@code ComparableVersion} does,
+ * f.e. {@code 1.9 < 1.10}, {@code 1-alpha1 < 1-beta < 1-rc1 < 1-SNAPSHOT < 1 = 1.0 = 1-final < 1-sp1}.<br>
+ * <br>
+ * Each distinct version String is parsed only once into its canonical comparable form which is kept in a bounded
+ * cache. {@code null} versions are ordered before all other versions.
+ *
+ * @author <a href="mailto:stanley.hillner@itemis.de">Stanley Hillner</a>
+ * @since 2.11.0
+ */
+public enum VersionComparator implements Comparator<String> {
+  INSTANCE;
+
+  private static final int CACHE_SIZE = 4096;
+
+  private final LoadingCache<String, ListItem> parsedVersions = CacheBuilder.newBuilder().maximumSize(CACHE_SIZE)
+      .build(new CacheLoader<String, ListItem>() {
+        @Override
+        public ListItem load(String version) throws Exception {
+          return parse(version);
+        }
+      });
+
+  @Override
+  public int compare(String version1, String version2) {
+    if (version1 == version2) {
+      return 0;
+    } else if (version1 == null) {
+      return -1;
+    } else if (version2 == null) {
+      return 1;
+    }
+    return this.parsedVersions.getUnchecked(version1).compareTo(this.parsedVersions.getUnchecked(version2));
+  }
+
+  /**
+   * @param version a version String.
+   * @return the canonical form of the version, f.e. {@code 1-rc-1} for {@code 1.0.0-CR1}. Versions having the same
+   *         canonical form are equal.
+   */
+  public String getCanonical(String version) {
+    return this.parsedVersions.getUnchecked(version).toString();
+  }
+
+  /**
+   * @param versions the versions to search.
+   * @return the highest of the passed versions or {@link Optional#absent()} if no version has been passed.
+   */
+  public Optional<String> max(Iterable<String> versions) {
+    String max = null;
+    ListItem maxItem = null;
+    for (String version : versions) {
+      if (version == null) {
+        continue;
+      }
+      ListItem item = this.parsedVersions.getUnchecked(version);
+      if (maxItem == null || item.compareTo(maxItem) > 0) {
+        max = version;
+        maxItem = item;
+      }
+    }
+    return Optional.fromNullable(max);
+  }
+
+  /**
+   * @param versions the versions to sort.
+   * @return a new list containing the passed versions in ascending order.
+   */
+  public List<String> sort(Collection<String> versions) {
+    List<String> sorted = Lists.newArrayList(versions);
+    sorted.sort(this);
+    return sorted;
+  }
+
+  private static ListItem parse(String version) {
+    String v = version.toLowerCase(Locale.ENGLISH);
+    ListItem list = new ListItem();
+    ListItem root = list;
+    Deque<ListItem> stack = new ArrayDeque<>();
+    stack.push(list);
+
+    boolean isDigit = false;
+    int start = 0;
+    for (int i = 0; i < v.length(); i++) {
+      char c = v.charAt(i);
+      if (c == '.') {
+        list.add(i == start ? IntItem.ZERO : parseItem(isDigit, v.substring(start, i)));
+        start = i + 1;
+      } else if (c == '-') {
+        list.add(i == start ? IntItem.ZERO : parseItem(isDigit, v.substring(start, i)));
+        start = i + 1;
+        list.add(list = new ListItem());
+        stack.push(list);
+      } else if (Character.isDigit(c)) {
+        if (!isDigit && i > start) {
+          // 1.0.0.x1 < 1.0.0-x2: .x is treated as -x for any string qualifier x
+          if (!list.isEmpty()) {
+            list.add(list = new ListItem());
+            stack.push(list);
+          }
+          list.add(new StringItem(v.substring(start, i), true));
+          start = i;
+          list.add(list = new ListItem());
+          stack.push(list);
+        }
+        isDigit = true;
+      } else {
+        if (isDigit && i > start) {
+          list.add(parseItem(true, v.substring(start, i)));
+          start = i;
+          list.add(list = new ListItem());
+          stack.push(list);
+        }
+        isDigit = false;
+      }
+    }
+    if (v.length() > start) {
+      if (!isDigit && !list.isEmpty()) {
+        list.add(list = new ListItem());
+        stack.push(list);
+      }
+      list.add(parseItem(isDigit, v.substring(start)));
+    }
+
+    while (!stack.isEmpty()) {
+      stack.pop().normalize();
+    }
+    return root;
+  }
+
+  private static Item parseItem(boolean isDigit, String value) {
+    return isDigit ? new IntItem(value) : new StringItem(value, false);
+  }
+
+  private interface Item {
+    int compareTo(Item item);
+
+    boolean isNull();
+  }
+
+  private static class IntItem implements Item {
+    private static final IntItem ZERO = new IntItem("0");
+
+    private final BigInteger value;
+
+    private IntItem(String value) {
+      this.value = new BigInteger(value);
+    }
+
+    @Override
+    public int compareTo(Item item) {
+      if (item == null) {
+        return BigInteger.ZERO.equals(this.value) ? 0 : 1;
+      } else if (item instanceof IntItem) {
+        return this.value.compareTo(((IntItem) item).value);
+      }
+      // 1.1 > 1-sp and 1.1 > 1-1
+      return 1;
+    }
+
+    @Override
+    public boolean isNull() {
+      return BigInteger.ZERO.equals(this.value);
+    }
+
+    @Override
+    public String toString() {
+      return this.value.toString();
+    }
+  }
+
+  private static class StringItem implements Item {
+    private static final List<String> QUALIFIERS = ImmutableList.of("alpha", "beta", "milestone", "rc", "snapshot", "",
+        "sp");
+    private static final ImmutableMap<String, String> ALIASES = ImmutableMap.of("ga", "", "final", "", "release", "",
+        "cr", "rc");
+    private static final String RELEASE_VERSION_INDEX = String.valueOf(QUALIFIERS.indexOf(""));
+
+    private final String value;
+    private final String comparableQualifier;
+
+    private StringItem(String value, boolean followedByDigit) {
+      if (followedByDigit && value.length() == 1) {
+        // a1 = alpha-1, b1 = beta-1, m1 = milestone-1
+        switch (value.charAt(0)) {
+          case 'a':
+            value = "alpha";
+            break;
+          case 'b':
+            value = "beta";
+            break;
+          case 'm':
+            value = "milestone";
+            break;
+          default:
+            break;
+        }
+      }
+      this.value = ALIASES.containsKey(value) ? ALIASES.get(value) : value;
+
+      int index = QUALIFIERS.indexOf(this.value);
+      this.comparableQualifier = index == -1 ? QUALIFIERS.size() + "-" + this.value : String.valueOf(index);
+    }
+
+    @Override
+    public int compareTo(Item item) {
+      if (item == null) {
+        // 1-rc < 1, 1-ga = 1
+        return this.comparableQualifier.compareTo(RELEASE_VERSION_INDEX);
+      } else if (item instanceof StringItem) {
+        return this.comparableQualifier.compareTo(((StringItem) item).comparableQualifier);
+      }
+      // 1.any < 1.1 and 1-any < 1-1
+      return -1;
+    }
+
+    @Override
+    public boolean isNull() {
+      return RELEASE_VERSION_INDEX.equals(this.comparableQualifier);
+    }
+
+    @Override
+    public String toString() {
+      return this.value;
+    }
+  }
+
+  private static class ListItem extends ArrayList<Item> implements Item {
+    private static final long serialVersionUID = 1L;
+
+    private void normalize() {
+      for (int i = size() - 1; i >= 0; i--) {
+        Item lastItem = get(i);
+        if (lastItem.isNull()) {
+          // 1.0.0 = 1 and 1-ga = 1
+          remove(i);
+        } else if (!(lastItem instanceof ListItem)) {
+          break;
+        }
+      }
+    }
+
+    @Override
+    public int compareTo(Item item) {
+      if (item == null) {
+        return isEmpty() ? 0 : get(0).compareTo(null);
+      } else if (item instanceof IntItem) {
+        // 1-1 < 1.0.x
+        return -1;
+      } else if (item instanceof StringItem) {
+        // 1-1 > 1-sp
+        return 1;
+      }
+
+      Iterator<Item> left = iterator();
+      Iterator<Item> right = ((ListItem) item).iterator();
+      while (left.hasNext() || right.hasNext()) {
+        Item l = left.hasNext() ? left.next() : null;
+        Item r = right.hasNext() ? right.next() : null;
+        int result = l == null ? (r == null ? 0 : -1 * r.compareTo(l)) : l.compareTo(r);
+        if (result != 0) {
+          return result;
+        }
+      }
+      return 0;
+    }
+
+    @Override
+    public boolean isNull() {
+      return isEmpty();
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder();
+      for (Item item : this) {
+        if (sb.length() > 0) {
+          sb.append(item instanceof ListItem ? '-' : '.');
+        }
+        sb.append(item);
+      }
+      return sb.toString();
+    }
+  }
+}
@@ -22,7 +22,10 @@ public class MavenVersionUtilTest {
   public static Object[][] calculateNextSnapshotVersion() {
     return new Object[][] { { "3.8.1", "3.8.2-SNAPSHOT" }, { "1.0.0-SNAPSHOT", "1.0.1-SNAPSHOT" },
         { "1.12", "1.13-SNAPSHOT" }, { "1.3-SNAPSH", "1.4-SNAPSH-SNAPSHOT" }, { "3-Alpha1", "3-Alpha2-SNAPSHOT" },
-        { "3-Alpha1-SNAPSHOT", "3-Alpha2-SNAPSHOT" }, { "1-SNAPSHOT", "2-SNAPSHOT" }, { "3", "4-SNAPSHOT" } };
+        { "3-Alpha1-SNAPSHOT", "3-Alpha2-SNAPSHOT" }, { "1-SNAPSHOT", "2-SNAPSHOT" }, { "3", "4-SNAPSHOT" },
+        { "1.0.09", "1.0.10-SNAPSHOT" }, { "1.0-rc1b", "1.0-rc2b-SNAPSHOT" }, { "Final", "Final-SNAPSHOT" },
+        { "1.0.20170101235959123456", "1.0.20170101235959123457-SNAPSHOT" },
+        { "1.999999999999999999999", "1.1000000000000000000000-SNAPSHOT" } };
   }
 
   @DataProvider
@@ -52,7 +55,8 @@ public class MavenVersionUtilTest {
         { "1.0.1-SNAPSHOT", "1.0-SNAPSHOT", true }, { "3.Alpha1", "3.Alpha2", false }, { "3.Alpha2", "3.Alpha1", true },
         { "1-Alpha", "1-Final", false }, { "1.2.Final", "1.2.Alpha", true },
         { MavenVersionUtil.VERSION_LATEST, "1.2", true }, { "3.17.9-SNAPSHOT", MavenVersionUtil.VERSION_LATEST, false },
-        { "3", null, true }, { "1.0-SNAPSHOT", "", true }, { "", "1", false }, { null, "1-SNAPSHOT", false } };
+        { "3", null, true }, { "1.0-SNAPSHOT", "", true }, { "", "1", false }, { null, "1-SNAPSHOT", false },
+        { "1.10", "1.9", true }, { "1.9", "1.10", false }, { "1.0-RC1", "1.0-beta2", true } };
   }
 
   @Test
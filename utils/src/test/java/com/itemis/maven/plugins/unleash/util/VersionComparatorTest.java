@@ -0,0 +1,48 @@
+package com.itemis.maven.plugins.unleash.util;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.common.collect.ImmutableList;
+import com.tngtech.java.junit.dataprovider.DataProvider;
+import com.tngtech.java.junit.dataprovider.DataProviderRunner;
+import com.tngtech.java.junit.dataprovider.UseDataProvider;
+
+@RunWith(DataProviderRunner.class)
+public class VersionComparatorTest {
+  @DataProvider
+  public static Object[][] compare() {
+    return new Object[][] { { "1.9", "1.10", -1 }, { "1.0", "1", 0 }, { "1.0.0-Final", "1", 0 },
+        { "1-alpha1", "1-beta", -1 }, { "1-a1", "1-alpha-1", 0 }, { "1.0-CR1", "1.0-rc1", 0 },
+        { "1-rc1", "1-SNAPSHOT", -1 }, { "1-SNAPSHOT", "1", -1 }, { "1", "1-sp1", -1 }, { "1-sp1", "1.1", -1 },
+        { "2.0.0", "10.0.0", -1 }, { "1.0.0.x1", "1.0.0-x2", -1 }, { null, "1", -1 } };
+  }
+
+  @Test
+  @UseDataProvider("compare")
+  public void testCompare(String v1, String v2, int expected) {
+    Assert.assertEquals(expected, Integer.signum(VersionComparator.INSTANCE.compare(v1, v2)));
+    Assert.assertEquals(-expected, Integer.signum(VersionComparator.INSTANCE.compare(v2, v1)));
+  }
+
+  @Test
+  public void testGetCanonical() {
+    Assert.assertEquals("1-rc-1", VersionComparator.INSTANCE.getCanonical("1.0.0-CR1"));
+  }
+
+  @Test
+  public void testMax() {
+    Assert.assertEquals("1.10",
+        VersionComparator.INSTANCE.max(Arrays.asList("1.9", null, "1.10", "1.10-SNAPSHOT", "1.2")).get());
+    Assert.assertFalse(VersionComparator.INSTANCE.max(ImmutableList.<String> of()).isPresent());
+  }
+
+  @Test
+  public void testSort() {
+    Assert.assertEquals(ImmutableList.of("1.2", "1.9", "1.10-SNAPSHOT", "1.10"),
+        VersionComparator.INSTANCE.sort(ImmutableList.of("1.10", "1.9", "1.10-SNAPSHOT", "1.2")));
+  }
+}